@@ -0,0 +1,35 @@
+package es.edu.ull.esit.benchmark;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded mazes shared by the benchmarks, so every run measures the same work.
+ */
+final class BenchmarkMazes {
+
+    private BenchmarkMazes() {
+    }
+
+    /**
+     * Builds a maze of random walls with the start in the top left corner and
+     * the end in the bottom right one.
+     *
+     * @param width       The number of columns
+     * @param height      The number of rows
+     * @param wallDensity The probability of every other cell being a wall
+     * @param seed        The random seed
+     * @return The maze
+     */
+    static MazeGrid randomWalls(int width, int height, double wallDensity, long seed) {
+        MazeGrid maze = new MazeGrid(width, height);
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] cells = maze.getCells();
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = random.nextDouble() < wallDensity ? MazeGrid.WALL : MazeGrid.PATH;
+        }
+        maze.set(0, 0, MazeGrid.START);
+        maze.set(width - 1, height - 1, MazeGrid.END);
+        return maze;
+    }
+}
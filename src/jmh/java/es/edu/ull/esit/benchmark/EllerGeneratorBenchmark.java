@@ -0,0 +1,74 @@
+package es.edu.ull.esit.benchmark;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.generator.EllerMazeGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The streaming {@link EllerMazeGenerator} on square grids. It does not
+ * implement {@link es.edu.ull.esit.generator.MazeGridGenerator}, so it is
+ * measured apart from {@link GeneratorBenchmark}: into a discarding writer
+ * (the algorithm alone), into a compact {@link MazeGrid}, and streamed to a
+ * text maze file as the application does for mazes larger than the heap.
+ * <p>
+ * The seed changes on every invocation so the generator cannot profit from
+ * carving the same maze again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EllerGeneratorBenchmark {
+
+    /** Side of the square maze: small, medium and huge. */
+    @Param({ "64", "512", "2048" })
+    public int size;
+
+    private Path file;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = Files.createTempFile("eller-benchmark", ".maze");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void generateRows(Blackhole blackhole) throws IOException {
+        new EllerMazeGenerator(size, size, seed++).generate(blackhole::consume);
+    }
+
+    @Benchmark
+    public MazeGrid generateGrid() throws IOException {
+        return new EllerMazeGenerator(size, size, seed++).generateGrid();
+    }
+
+    @Benchmark
+    public Path generateFile() throws IOException {
+        new EllerMazeGenerator(size, size, seed++).generate(file);
+        return file;
+    }
+}
@@ -0,0 +1,97 @@
+package es.edu.ull.esit.benchmark;
+
+import es.edu.ull.esit.MazeGenerator;
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.Node;
+import es.edu.ull.esit.generator.BacktrackerMazeGenerator;
+import es.edu.ull.esit.generator.KruskalMazeGenerator;
+import es.edu.ull.esit.generator.MazeGridGenerator;
+import es.edu.ull.esit.generator.ParallelTiledMazeGenerator;
+import es.edu.ull.esit.generator.PrimMazeGenerator;
+import es.edu.ull.esit.generator.WilsonMazeGenerator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every maze generator on square grids, both on a compact {@link MazeGrid}
+ * and through {@link MazeGenerator#generate(MazeGridGenerator, long)}, which
+ * also copies the maze to a node grid as the application does.
+ * <p>
+ * The seed changes on every invocation so the generators cannot profit from
+ * carving the same maze again. The streaming Eller generator is measured by
+ * {@link EllerGeneratorBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /**
+     * The generators implementing {@link MazeGridGenerator}.
+     */
+    public enum Generator {
+        BACKTRACKER(BacktrackerMazeGenerator::new),
+        KRUSKAL(KruskalMazeGenerator::new),
+        PRIM(PrimMazeGenerator::new),
+        WILSON(WilsonMazeGenerator::new),
+        PARALLEL_TILED(ParallelTiledMazeGenerator::new);
+
+        private final Supplier<MazeGridGenerator> factory;
+
+        Generator(Supplier<MazeGridGenerator> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param
+    public Generator generator;
+
+    /** Side of the square maze: small, medium and huge. */
+    @Param({ "64", "512", "2048" })
+    public int size;
+
+    private MazeGridGenerator algorithm;
+    private MazeGrid grid;
+    private MazeGenerator nodeGenerator;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createGrids() {
+        algorithm = generator.factory.get();
+        grid = new MazeGrid(size, size);
+        Node[][] nodes = new Node[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                nodes[i][j] = new Node(i, j);
+            }
+        }
+        nodeGenerator = new MazeGenerator(size, size, nodes);
+    }
+
+    @Benchmark
+    public MazeGrid generateGrid() {
+        algorithm.generate(grid, seed++);
+        return grid;
+    }
+
+    @Benchmark
+    public MazeGenerator generateNodes() {
+        nodeGenerator.generate(algorithm, seed++);
+        return nodeGenerator;
+    }
+}
@@ -0,0 +1,109 @@
+package es.edu.ull.esit.benchmark;
+
+import es.edu.ull.esit.Algorithm;
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.Node;
+import es.edu.ull.esit.algorithm.AstarAlgorithm;
+import es.edu.ull.esit.algorithm.BfsAlgorithm;
+import es.edu.ull.esit.algorithm.BidirectionalSearchAlgorithm;
+import es.edu.ull.esit.algorithm.DfsAlgorithm;
+import es.edu.ull.esit.algorithm.DijkstraAlgorithm;
+import es.edu.ull.esit.algorithm.FocalSearchAlgorithm;
+import es.edu.ull.esit.algorithm.GreedyBestFirstAlgorithm;
+import es.edu.ull.esit.algorithm.NearestGoalAlgorithm;
+import es.edu.ull.esit.algorithm.SearchAlgorithm;
+import es.edu.ull.esit.algorithm.WeightedAstarAlgorithm;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Every search strategy on seeded mazes of random walls, from corner to
+ * corner, with the visualization delay set to 0.
+ * <p>
+ * The strategies colour the nodes and change their costs as they go, so a
+ * fresh copy of the maze is built before every invocation, outside the
+ * measured time. A search here takes a millisecond or more, so the timing
+ * around each invocation is small next to it; the 32x32 mazes, which are far
+ * quicker, are measured in batches by {@link SmallSearchBenchmark}. Restrict
+ * the combinations from the command line, e.g.
+ * {@code -p strategy=ASTAR,DIJKSTRA -p size=128}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    /**
+     * The strategies implementing {@link SearchAlgorithm}.
+     */
+    public enum Strategy {
+        BFS(BfsAlgorithm::new),
+        DFS(DfsAlgorithm::new),
+        ASTAR(AstarAlgorithm::new),
+        DIJKSTRA(DijkstraAlgorithm::new),
+        GREEDY(GreedyBestFirstAlgorithm::new),
+        BIDIRECTIONAL(BidirectionalSearchAlgorithm::new),
+        WEIGHTED_ASTAR(WeightedAstarAlgorithm::new),
+        FOCAL(FocalSearchAlgorithm::new),
+        NEAREST_GOAL(NearestGoalAlgorithm::new);
+
+        private final Supplier<SearchAlgorithm> factory;
+
+        Strategy(Supplier<SearchAlgorithm> factory) {
+            this.factory = factory;
+        }
+
+        SearchAlgorithm create() {
+            return factory.get();
+        }
+    }
+
+    @Param
+    public Strategy strategy;
+
+    /** Side of the square maze: medium and huge. */
+    @Param({ "128", "512" })
+    public int size;
+
+    @Param({ "0.0", "0.2", "0.35" })
+    public double wallDensity;
+
+    private MazeGrid maze;
+    private Algorithm algorithm;
+    private Node[][] nodes;
+
+    @Setup(Level.Trial)
+    public void createMaze() {
+        maze = BenchmarkMazes.randomWalls(size, size, wallDensity, 42);
+        algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setStrategy(strategy.create());
+    }
+
+    @Setup(Level.Invocation)
+    public void resetNodes() {
+        nodes = maze.toNodes();
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        algorithm.performSearch(nodes[0][0], nodes[size - 1][size - 1], size, size);
+        blackhole.consume(algorithm.getStats().getExpanded());
+    }
+}
@@ -0,0 +1,75 @@
+package es.edu.ull.esit.benchmark;
+
+import es.edu.ull.esit.Algorithm;
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.Node;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Every search strategy on the 32x32 mazes of {@link SearchBenchmark}.
+ * <p>
+ * These searches take well under a millisecond, too little to time each one
+ * after a {@code Level.Invocation} setup. Instead every iteration builds
+ * {@link #BATCH} fresh copies of the maze beforehand and runs exactly that
+ * many searches, one per copy. The score is the time of the whole batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = SmallSearchBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = SmallSearchBenchmark.BATCH)
+@Fork(1)
+public class SmallSearchBenchmark {
+
+    /** Searches per iteration, each on its own copy of the maze. */
+    static final int BATCH = 256;
+
+    private static final int SIZE = 32;
+
+    @Param
+    public SearchBenchmark.Strategy strategy;
+
+    @Param({ "0.0", "0.2", "0.35" })
+    public double wallDensity;
+
+    private MazeGrid maze;
+    private Algorithm algorithm;
+    private final Node[][][] copies = new Node[BATCH][][];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createMaze() {
+        maze = BenchmarkMazes.randomWalls(SIZE, SIZE, wallDensity, 42);
+        algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setStrategy(strategy.create());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetNodes() {
+        for (int i = 0; i < BATCH; i++) {
+            copies[i] = maze.toNodes();
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        Node[][] nodes = copies[next++];
+        algorithm.performSearch(nodes[0][0], nodes[SIZE - 1][SIZE - 1], SIZE, SIZE);
+        blackhole.consume(algorithm.getStats().getExpanded());
+    }
+}
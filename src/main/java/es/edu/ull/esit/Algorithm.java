@@ -1,16 +1,28 @@
 package es.edu.ull.esit;
 
+import es.edu.ull.esit.algorithm.AbstractSearchAlgorithm;
+import es.edu.ull.esit.algorithm.BoundedSearchAlgorithm;
 import es.edu.ull.esit.algorithm.SearchAlgorithm;
+import es.edu.ull.esit.algorithm.SearchHeatmap;
+import es.edu.ull.esit.algorithm.SearchStats;
 
 /**
  * Context class for pathfinding algorithms using the Strategy pattern.
  * Supports DFS, BFS, A*, Dijkstra, Greedy Best-First Search, and Bidirectional Search.
  * Each algorithm is implemented as a separate strategy class.
+ * An automatic mode picks the strategy from cheap maze features.
  */
 public class Algorithm {
 	
 	private int searchtime = 100;
+	private double suboptimalityBound = 1.5;
 	private SearchAlgorithm strategy;
+	private StrategySelector selector = new StrategySelector();
+	private MazeFeatures lastFeatures;
+	private final SearchStats stats = new SearchStats();
+	private volatile boolean recordHeatmap;
+	// Published only once the search that filled it has returned
+	private volatile SearchHeatmap lastHeatmap;
 	
 	/**
 	 * Sets the search algorithm strategy.
@@ -23,6 +35,8 @@ public class Algorithm {
 	
 	/**
 	 * Performs the search using the currently set strategy.
+	 * Strategies that report counters update {@link #getStats()}, which is
+	 * reset when the search starts and stopped when it ends.
 	 * 
 	 * @param start The starting node
 	 * @param end The target/end node
@@ -30,11 +44,118 @@ public class Algorithm {
 	 * @param graphHeight The height of the grid
 	 */
 	public void performSearch(Node start, Node end, int graphWidth, int graphHeight) {
-		if (strategy != null) {
+		performSearch(strategy, start, end, graphWidth, graphHeight);
+	}
+
+	private void performSearch(SearchAlgorithm strategy, Node start, Node end, int graphWidth, int graphHeight) {
+		if (strategy instanceof BoundedSearchAlgorithm) {
+			((BoundedSearchAlgorithm) strategy).setSuboptimalityBound(suboptimalityBound);
+		}
+		if (strategy instanceof AbstractSearchAlgorithm) {
+			AbstractSearchAlgorithm counted = (AbstractSearchAlgorithm) strategy;
+			counted.setStats(stats);
+			SearchHeatmap heatmap = recordHeatmap ? new SearchHeatmap(graphWidth, graphHeight) : null;
+			counted.setHeatmap(heatmap);
+			stats.begin();
+			try {
+				strategy.search(start, end, graphWidth, graphHeight, searchtime);
+			} finally {
+				stats.end();
+			}
+			if (heatmap != null) {
+				lastHeatmap = heatmap;
+			}
+		} else if (strategy != null) {
 			strategy.search(start, end, graphWidth, graphHeight, searchtime);
 		}
 	}
 	
+	/**
+	 * Performs the search with the strategy predicted to be fastest.
+	 * Computes the maze features in a single pass over the grid, asks the
+	 * selector for a strategy and heuristic, and runs it. The strategy set
+	 * with {@link #setStrategy(SearchAlgorithm)} is kept for later searches.
+	 * 
+	 * @param grid The 2D array of nodes representing the maze
+	 * @param start The starting node
+	 * @param end The target/end node
+	 * @return The choice that was run
+	 */
+	public StrategySelector.Choice performAutoSearch(Node[][] grid, Node start, Node end) {
+		lastFeatures = MazeFeatures.compute(grid, start, end);
+		StrategySelector.Choice choice = selector.select(lastFeatures);
+		performSearch(choice.create(), start, end, grid.length, grid.length == 0 ? 0 : grid[0].length);
+		return choice;
+	}
+
+	/**
+	 * Gets the counters of the running or last search.
+	 * They can be read from any thread while the search runs.
+	 * 
+	 * @return The search counters
+	 */
+	public SearchStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Sets whether the next searches count the expansions and frontier
+	 * entries of every cell into a new {@link SearchHeatmap}.
+	 * 
+	 * @param recordHeatmap true to record a heatmap per search
+	 */
+	public void setRecordHeatmap(boolean recordHeatmap) {
+		this.recordHeatmap = recordHeatmap;
+	}
+
+	/**
+	 * Checks whether the searches record a heatmap.
+	 * 
+	 * @return true if every search fills a new heatmap
+	 */
+	public boolean isRecordHeatmap() {
+		return recordHeatmap;
+	}
+
+	/**
+	 * Gets the heatmap of the last finished search that recorded one.
+	 * A search still running keeps its heatmap to itself, so this can be
+	 * read from any thread.
+	 * 
+	 * @return The heatmap, or null if no search recorded one
+	 */
+	public SearchHeatmap getLastHeatmap() {
+		return lastHeatmap;
+	}
+
+	/**
+	 * Gets the features computed by the last automatic search.
+	 * 
+	 * @return The last maze features, or null if no automatic search ran
+	 */
+	public MazeFeatures getLastFeatures() {
+		return lastFeatures;
+	}
+
+	/**
+	 * Gets the selector used by automatic searches.
+	 * 
+	 * @return The strategy selector
+	 */
+	public StrategySelector getSelector() {
+		return selector;
+	}
+
+	/**
+	 * Sets the selector used by automatic searches, e.g. one tuned from
+	 * recorded benchmark results.
+	 * 
+	 * @param selector The strategy selector
+	 */
+	public void setSelector(StrategySelector selector) {
+		this.selector = selector;
+	}
+
 	/**
 	 * Gets the current search time delay in milliseconds.
 	 * 
@@ -53,4 +174,28 @@ public class Algorithm {
 	public void setSearchTime(int searchtime) {
 		this.searchtime = searchtime;
 	}
+
+	/**
+	 * Gets the suboptimality bound applied to bounded-suboptimal strategies.
+	 * 
+	 * @return The factor by which paths may exceed the optimal cost
+	 */
+	public double getSuboptimalityBound() {
+		return suboptimalityBound;
+	}
+
+	/**
+	 * Sets the suboptimality bound applied to bounded-suboptimal strategies
+	 * such as Weighted A* and Focal Search. A bound of 1 asks for optimal paths;
+	 * larger bounds expand fewer nodes.
+	 * 
+	 * @param suboptimalityBound The factor w >= 1 by which paths may exceed the optimal cost
+	 * @throws IllegalArgumentException If the bound is smaller than 1
+	 */
+	public void setSuboptimalityBound(double suboptimalityBound) {
+		if (!(suboptimalityBound >= 1)) {
+			throw new IllegalArgumentException("Suboptimality bound must be at least 1: " + suboptimalityBound);
+		}
+		this.suboptimalityBound = suboptimalityBound;
+	}
 }
@@ -5,32 +5,61 @@ import es.edu.ull.esit.algorithm.BfsAlgorithm;
 import es.edu.ull.esit.algorithm.BidirectionalSearchAlgorithm;
 import es.edu.ull.esit.algorithm.DfsAlgorithm;
 import es.edu.ull.esit.algorithm.DijkstraAlgorithm;
+import es.edu.ull.esit.algorithm.FocalSearchAlgorithm;
 import es.edu.ull.esit.algorithm.GreedyBestFirstAlgorithm;
+import es.edu.ull.esit.algorithm.NearestGoalAlgorithm;
+import es.edu.ull.esit.algorithm.SearchAlgorithm;
+import es.edu.ull.esit.algorithm.SearchHeatmap;
+import es.edu.ull.esit.algorithm.WeightedAstarAlgorithm;
+import es.edu.ull.esit.io.MazeBinaryFormat;
+import es.edu.ull.esit.io.MazeCompressedFormat;
+import es.edu.ull.esit.io.MazeFiles;
+import es.edu.ull.esit.io.MazeImageFormat;
+import es.edu.ull.esit.io.MazeTextFormat;
+import es.edu.ull.esit.io.SearchHeatmapFormat;
+import es.edu.ull.esit.io.SearchTraceFormat;
+import es.edu.ull.esit.render.GridRenderer;
+import es.edu.ull.esit.render.TelemetryOverlay;
+import es.edu.ull.esit.render.Viewport;
 import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Container;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferStrategy;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.swing.JCheckBox;
 
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.JTextField;
+import javax.swing.Timer;
 
 /**
  * Main application class for the Maze Solver.
@@ -41,9 +70,23 @@ public class Main extends Canvas implements Runnable, MouseListener {
 
 	private static Node start = null;
 	private static Node target = null;
+	private static final List<Node> targets = new ArrayList<>();
 	private static JFrame frame;
 
 	private Node[][] nodeList;
+	private MazeIndex mazeIndex;
+	private Path mazeFile;
+	private final GridRenderer renderer = new GridRenderer(WIDTH, HEIGHT);
+	private final SearchRunner searchRunner = new SearchRunner();
+	private Timer progressTimer;
+	private boolean recordTrace;
+	private volatile SearchTrace lastTrace;
+	private volatile String searchResult;
+	private TracePlayer player;
+	private volatile boolean showTelemetry;
+	private final TelemetryOverlay telemetryOverlay = new TelemetryOverlay();
+	private Timer replayTimer;
+	private long lastReplayTick;
 	private static Main runTimeMain;
 	private static Algorithm algorithm;
 	private static MazeGenerator mazeGenerator;
@@ -53,6 +96,10 @@ public class Main extends Canvas implements Runnable, MouseListener {
 
 	private final static int NODES_WIDTH = 28;
 	private final static int NODES_HEIGHT = 19;
+	// Longest wait between two frames while the telemetry overlay is shown
+	private final static int TELEMETRY_REFRESH_MILLIS = 250;
+	// Longest wait for a cancelled search to stop before the grid is changed
+	private final static int CANCEL_TIMEOUT_MILLIS = 5000;
 
 	/**
 	 * Main entry point for the application.
@@ -67,6 +114,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		frame.setResizable(false);
 		frame.setLayout(null);
 		Main m = new Main();
+		m.getRenderer().setMaxFps(Integer.getInteger("maze.maxFps", GridRenderer.DEFAULT_MAX_FPS));
 		algorithm =  new Algorithm();
 		mazeGenerator = new MazeGenerator(NODES_WIDTH, NODES_HEIGHT, m.nodeList);
 		// check
@@ -100,10 +148,14 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		JMenuItem saveMaze = new JMenuItem("Save Maze");
 		JMenuItem openMaze = new JMenuItem("Open Maze");
 		JMenuItem exit = new JMenuItem("Exit");
+		JMenuItem saveTrace = new JMenuItem("Save Search Trace");
+		JMenuItem replayTrace = new JMenuItem("Replay Search Trace");
+		JMenuItem exportHeatmap = new JMenuItem("Export Heatmap");
 
 		JMenuItem newGrid = new JMenuItem("New Board");
 		JMenuItem generateMaze = new JMenuItem("Generate Maze");
 		JMenuItem clearSearch = new JMenuItem("Clear Search Results");
+		JCheckBoxMenuItem telemetryItem = new JCheckBoxMenuItem("Show Telemetry");
 
 		JMenuItem bfsItem = new JMenuItem("Breadth-First Search");
 		JMenuItem dfsItem = new JMenuItem("Depth-First Search");
@@ -111,11 +163,23 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		JMenuItem dijkstraItem = new JMenuItem("Dijkstra's Algorithm");
 		JMenuItem greedyBfsItem = new JMenuItem("Greedy Best-First Search");
 		JMenuItem bidirectionalItem = new JMenuItem("Bidirectional Search");
+		JMenuItem weightedAstarItem = new JMenuItem("Weighted A-star Search");
+		JMenuItem focalItem = new JMenuItem("Focal Search (A-star epsilon)");
+		JMenuItem nearestGoalItem = new JMenuItem("Nearest Goal Search");
+		JMenuItem autoItem = new JMenuItem("Auto (Fastest Predicted)");
 		JMenuItem searchTime = new JMenuItem("Exploring time per Node");
+		JMenuItem suboptimalityBound = new JMenuItem("Suboptimality bound");
+		JMenuItem cancelSearch = new JMenuItem("Cancel Search");
+		JCheckBoxMenuItem recordTraceItem = new JCheckBoxMenuItem("Record Search Trace");
+		JMenuItem raceItem = new JMenuItem("Race Strategies");
+		JCheckBoxMenuItem heatmapItem = new JCheckBoxMenuItem("Record Heatmap");
 
 		openMaze.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
 
+				if (!runTimeMain.cancelSearch()) {
+					return;
+				}
 				try {
 					runTimeMain.openMaze();
 				} catch (IOException e) {
@@ -127,6 +191,9 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		});
 		saveMaze.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
+				if (!runTimeMain.cancelSearch()) {
+					return;
+				}
 				runTimeMain.clearSearchResults();
 				try {
 					runTimeMain.saveMaze();
@@ -144,52 +211,78 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		});
 		newGrid.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
-				runTimeMain.createNodes(true);
+				if (runTimeMain.cancelSearch()) {
+					runTimeMain.createNodes(true);
+				}
 			}
 		});
 		generateMaze.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				runTimeMain.generateMazeLogic();
+				if (runTimeMain.cancelSearch()) {
+					runTimeMain.generateMazeLogic();
+				}
 			}
 		});
 		clearSearch.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
-				runTimeMain.clearSearchResults();
+				if (runTimeMain.cancelSearch()) {
+					runTimeMain.clearSearchResults();
+				}
 			}
 		});
 
 		bfsItem.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
-				runTimeMain.runBfs();
+				runTimeMain.startSearch(bfsItem.getText(), () -> runTimeMain.runBfs());
 			}
 
 		});
 		dfsItem.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
-				runTimeMain.runDfs();
+				runTimeMain.startSearch(dfsItem.getText(), () -> runTimeMain.runDfs());
 			}
 
 		});
 		astarItem.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent arg0) {
-				runTimeMain.runAstar();
+				runTimeMain.startSearch(astarItem.getText(), () -> runTimeMain.runAstar());
 			}
 
 		});		dijkstraItem.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				runTimeMain.runDijkstra();
+				runTimeMain.startSearch(dijkstraItem.getText(), () -> runTimeMain.runDijkstra());
 			}
 		});
 
 		greedyBfsItem.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				runTimeMain.runGreedyBfs();
+				runTimeMain.startSearch(greedyBfsItem.getText(), () -> runTimeMain.runGreedyBfs());
 			}
 		});
 
 		bidirectionalItem.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				runTimeMain.runBidirectional();
+				runTimeMain.startSearch(bidirectionalItem.getText(), () -> runTimeMain.runBidirectional());
+			}
+		});
+		weightedAstarItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				runTimeMain.startSearch(weightedAstarItem.getText(), () -> runTimeMain.runWeightedAstar());
+			}
+		});
+		focalItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				runTimeMain.startSearch(focalItem.getText(), () -> runTimeMain.runFocal());
+			}
+		});
+		nearestGoalItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				runTimeMain.startSearch(nearestGoalItem.getText(), () -> runTimeMain.runNearestGoal());
+			}
+		});
+		autoItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				runTimeMain.startSearch(autoItem.getText(), () -> runTimeMain.runAuto());
 			}
 		});
 		searchTime.addActionListener(new ActionListener() {
@@ -198,26 +291,102 @@ public class Main extends Canvas implements Runnable, MouseListener {
 				runTimeMain.changeSearchTime(input);
 			}
 		});
+		saveTrace.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				try {
+					runTimeMain.saveTraceToFile(null);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		replayTrace.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				if (!runTimeMain.cancelSearch()) {
+					return;
+				}
+				try {
+					runTimeMain.replayTraceFromFile(null);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		telemetryItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				runTimeMain.setShowTelemetry(telemetryItem.isSelected());
+			}
+		});
+		exportHeatmap.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				try {
+					runTimeMain.exportHeatmapToFile(null);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		heatmapItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				runTimeMain.setRecordHeatmap(heatmapItem.isSelected());
+			}
+		});
+		raceItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				runTimeMain.showRaceDialog();
+			}
+		});
+		recordTraceItem.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				runTimeMain.setRecordTrace(recordTraceItem.isSelected());
+			}
+		});
+		cancelSearch.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				runTimeMain.cancelSearch();
+			}
+		});
+		suboptimalityBound.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				String input = JOptionPane.showInputDialog(null, "Enter the factor w by which bounded searches may exceed the optimal path (default = 1.5) ", "Suboptimality Bound", JOptionPane.QUESTION_MESSAGE);
+				runTimeMain.changeSuboptimalityBound(input);
+			}
+		});
 
 		fileMenu.add(exit);
 		fileMenu.add(saveMaze);
 		fileMenu.add(openMaze);
+		fileMenu.add(saveTrace);
+		fileMenu.add(replayTrace);
+		fileMenu.add(exportHeatmap);
 		boardMenu.add(newGrid);
 		boardMenu.add(generateMaze);
 		boardMenu.add(clearSearch);
+		boardMenu.add(telemetryItem);
 		algorithmsMenu.add(dfsItem);
 		algorithmsMenu.add(bfsItem);
 		algorithmsMenu.add(astarItem);
 		algorithmsMenu.add(dijkstraItem);
 		algorithmsMenu.add(greedyBfsItem);
 		algorithmsMenu.add(bidirectionalItem);
+		algorithmsMenu.add(weightedAstarItem);
+		algorithmsMenu.add(focalItem);
+		algorithmsMenu.add(nearestGoalItem);
+		algorithmsMenu.add(autoItem);
 		algorithmsMenu.add(searchTime);
+		algorithmsMenu.add(suboptimalityBound);
+		algorithmsMenu.add(cancelSearch);
+		algorithmsMenu.add(recordTraceItem);
+		algorithmsMenu.add(raceItem);
+		algorithmsMenu.add(heatmapItem);
 
 	}
 
 	/**
 	 * Main render loop for the application.
-	 * Continuously updates the display using double buffering.
+	 * Waits until some node changes, repaints only the changed nodes into the
+	 * renderer's backing image and shows it using double buffering.
+	 * Frames are capped by the renderer (see the {@code maze.maxFps} system property).
 	 */
 	public void run() {
 		init();
@@ -230,21 +399,51 @@ public class Main extends Canvas implements Runnable, MouseListener {
 				createBufferStrategy(2);
 				continue;
 			}
-			// check
-			Graphics2D grap = (Graphics2D) bs.getDrawGraphics(); // check
-			render(grap);
-			bs.show();
+			boolean telemetry = showTelemetry;
 			try {
-				Thread.sleep(1);
+				// The overlay's rates keep updating while the grid is idle
+				renderer.awaitFrame(telemetry ? TELEMETRY_REFRESH_MILLIS : 0);
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				e.printStackTrace();
                 firstRun = false;
+                continue;
 			}
+			long begin = telemetry ? System.nanoTime() : 0;
+			renderer.paint(nodeList);
+			do {
+				Graphics2D grap = (Graphics2D) bs.getDrawGraphics(); // check
+				grap.drawImage(renderer.getFrame(), 0, 0, null);
+				if (telemetry) {
+					drawTelemetry(grap, begin);
+				}
+				grap.dispose();
+				bs.show();
+			} while (bs.contentsLost());
 		}
 
 	}
 
+	/**
+	 * Shows the last frame again when the window is exposed.
+	 * The frame itself is drawn by the render loop.
+	 * 
+	 * @param g The graphics context (not used)
+	 */
+	@Override
+	public void paint(Graphics g) {
+		renderer.requestFrame();
+	}
+
+	/**
+	 * Gets the renderer that draws the grid on screen.
+	 * 
+	 * @return The grid renderer
+	 */
+	public GridRenderer getRenderer() {
+		return renderer;
+	}
+
 	/**
 	 * Initializes the application components.
 	 * Creates the node grid, sets up mouse listeners, and configures maze directions.
@@ -253,12 +452,66 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		// check
 		requestFocus();
 		addMouseListener(this);
+		addMouseWheelListener(new MouseWheelListener() {
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				renderer.zoom(-e.getWheelRotation(), e.getX(), e.getY());
+			}
+		});
+		addKeyListener(new KeyAdapter() {
+			public void keyPressed(KeyEvent e) {
+				if (!handleReplayKey(e.getKeyCode())) {
+					handleViewKey(e.getKeyCode());
+				}
+			}
+		});
 		nodeList = new Node[NODES_WIDTH][NODES_HEIGHT];
 		createNodes(false);
 		setMazeDirections();
 		mazeGenerator = new MazeGenerator(NODES_WIDTH, NODES_HEIGHT, nodeList);
 	}
 	
+	/**
+	 * Moves or zooms the view from the keyboard.
+	 * Arrow keys scroll a quarter of the window, + and - zoom around the
+	 * center, Home goes back to the default view and Escape cancels the
+	 * running search.
+	 * 
+	 * @param keyCode The key code of the pressed key
+	 */
+	public void handleViewKey(int keyCode) {
+		switch (keyCode) {
+		case KeyEvent.VK_LEFT:
+			renderer.scroll(WIDTH / 4, 0);
+			break;
+		case KeyEvent.VK_RIGHT:
+			renderer.scroll(-WIDTH / 4, 0);
+			break;
+		case KeyEvent.VK_UP:
+			renderer.scroll(0, HEIGHT / 4);
+			break;
+		case KeyEvent.VK_DOWN:
+			renderer.scroll(0, -HEIGHT / 4);
+			break;
+		case KeyEvent.VK_PLUS:
+		case KeyEvent.VK_ADD:
+		case KeyEvent.VK_EQUALS:
+			renderer.zoom(1, WIDTH / 2, HEIGHT / 2);
+			break;
+		case KeyEvent.VK_MINUS:
+		case KeyEvent.VK_SUBTRACT:
+			renderer.zoom(-1, WIDTH / 2, HEIGHT / 2);
+			break;
+		case KeyEvent.VK_HOME:
+			renderer.resetView();
+			break;
+		case KeyEvent.VK_ESCAPE:
+			cancelSearch();
+			break;
+		default:
+			break;
+		}
+	}
+
 	/**
 	 * Sets up the directional connections between adjacent nodes.
 	 * Establishes left, right, up, and down neighbors for each node in the grid.
@@ -273,9 +526,9 @@ public class Main extends Canvas implements Runnable, MouseListener {
 				int r = i + 1;
 				
 				if(u >= 0) up = nodeList[i][u];
-				if(d < NODES_HEIGHT) down =  nodeList[i][d];
+				if(d < nodeList[i].length) down =  nodeList[i][d];
 				if(l >= 0) left = nodeList[l][j];
-				if(r < NODES_WIDTH) right =  nodeList[r][j];
+				if(r < nodeList.length) right =  nodeList[r][j];
 				
 				nodeList[i][j].setDirections(left, right, up, down);
 			}	
@@ -288,14 +541,19 @@ public class Main extends Canvas implements Runnable, MouseListener {
 	 * @param ref If true, only clears existing nodes; if false, creates new nodes
 	 */
 	public void createNodes(boolean ref) {
+		mazeIndex = null;
+		mazeFile = null;
 		for (int i = 0; i < nodeList.length; i++) {
 			for (int j = 0; j < nodeList[i].length; j++) {
 				if(!ref) nodeList[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
 				nodeList[i][j].clearNode();
 			}
 		}
+		if (!ref) {
+			renderer.attach(nodeList);
+		}
 		if (mazeGenerator == null) {
-			mazeGenerator = new MazeGenerator(NODES_WIDTH, NODES_HEIGHT, nodeList);
+			mazeGenerator = new MazeGenerator(nodeList.length, nodeList[0].length, nodeList);
 		}
 	}
 
@@ -306,6 +564,10 @@ public class Main extends Canvas implements Runnable, MouseListener {
 	 * - 1: Wall
 	 * - 2: Start point
 	 * - 3: End point
+	 * Files named with the .mzb extension are saved in the bit-packed binary format instead,
+	 * files named with the .mzz extension in the compressed container and .png files
+	 * as an image with one pixel per cell.
+	 * The file is replaced atomically, so a failed save keeps the previous version.
 	 * 
 	 * @throws IOException If an I/O error occurs during file writing
 	 */
@@ -324,23 +586,16 @@ public class Main extends Canvas implements Runnable, MouseListener {
 			}
 		}
 		
-		String ext = file.getAbsolutePath().endsWith(".maze") ? "" : ".maze";
-		try (BufferedWriter outputWriter = new BufferedWriter(new FileWriter(file.getAbsolutePath() + ext))) {
-			for (int i = 0; i < nodeList.length; i++) {
-				for (int j = 0; j < nodeList[i].length; j++) {
-					if (nodeList[i][j].isWall()) {
-						outputWriter.write("1");
-					} else if (nodeList[i][j].isStart()) {
-						outputWriter.write("2");
-					} else if (nodeList[i][j].isEnd()) {
-						outputWriter.write("3");
-					} else {
-						outputWriter.write("0");
-					}
-				}
-				outputWriter.newLine();
-			}
-			outputWriter.flush();
+		MazeGrid grid = MazeGrid.fromNodes(nodeList);
+		if (file.getName().endsWith(MazeBinaryFormat.EXTENSION)) {
+			MazeBinaryFormat.write(grid, file.toPath());
+		} else if (file.getName().endsWith(MazeCompressedFormat.EXTENSION)) {
+			MazeCompressedFormat.write(grid, file.toPath());
+		} else if (file.getName().endsWith(MazeImageFormat.EXTENSION)) {
+			MazeImageFormat.write(grid, file.toPath());
+		} else {
+			String ext = file.getAbsolutePath().endsWith(".maze") ? "" : ".maze";
+			MazeTextFormat.write(grid, new File(file.getAbsolutePath() + ext).toPath());
 		}
 	}
 
@@ -365,37 +620,50 @@ public class Main extends Canvas implements Runnable, MouseListener {
 			}
 		}
 
-		try (BufferedReader reader = new BufferedReader(new FileReader(file.getAbsolutePath()))) {
-			String line = null;
-			for (int i = 0; i < NODES_WIDTH; i++) {
-				line = reader.readLine();
-				for (int j = 0; j < NODES_HEIGHT; j++) {
-					
-					//nodeList[i][j].setColor(Color.BLACK);
-					int nodeType = Character.getNumericValue(line.charAt(j));
-					System.out.println("node is " + nodeType);
-					switch (nodeType) {
-					case 0:
-						nodeList[i][j].setColor(Color.LIGHT_GRAY);
-						break;
-					case 1:
-						nodeList[i][j].setColor(Color.BLACK);
-						break;
-
-					case 2:
-						nodeList[i][j].setColor(Color.GREEN);
-						start = nodeList[i][j];
-						break;
-					case 3:
-						nodeList[i][j].setColor(Color.RED);
-						target = nodeList[i][j];
-						break;
-					}
-				}
+		MazeGrid grid = MazeFiles.read(file.toPath());
+		if (grid.getWidth() == 0 || grid.getHeight() == 0) {
+			throw new IOException("Invalid maze file " + file + ": the maze has no cells");
+		}
+		loadGrid(grid);
+		// The index is only built when a search needs it
+		mazeFile = file.toPath();
+	}
 
+	/**
+	 * Replaces the current maze with a compact grid.
+	 * The node grid is rebuilt when the dimensions differ from the current ones,
+	 * and the start and end points are taken from the grid.
+	 * 
+	 * @param grid The maze to show
+	 */
+	public void loadGrid(MazeGrid grid) {
+		int width = grid.getWidth();
+		int height = grid.getHeight();
+		if (nodeList == null || nodeList.length != width || nodeList[0].length != height) {
+			nodeList = new Node[width][height];
+			createNodes(false);
+			setMazeDirections();
+			mazeGenerator = new MazeGenerator(width, height, nodeList);
+		}
+
+		start = null;
+		target = null;
+		targets.clear();
+		mazeIndex = null;
+		mazeFile = null;
+		byte[] cells = grid.getCells();
+		for (int i = 0; i < width; i++) {
+			for (int j = 0; j < height; j++) {
+				int nodeType = cells[i * height + j];
+				nodeList[i][j].setColor(MazeGrid.colorOf(nodeType));
+				if (nodeType == MazeGrid.START) {
+					start = nodeList[i][j];
+				} else if (nodeType == MazeGrid.END) {
+					target = nodeList[i][j];
+					targets.add(target);
+				}
 			}
 		}
-		// System.out.println(stringMaze);
 	}
 
 	/**
@@ -411,7 +679,9 @@ public class Main extends Canvas implements Runnable, MouseListener {
 			}
 		}
 		if (isMazeValid()) {
-			target.setColor(Color.RED);
+			for (Node goal : getTargets()) {
+				goal.setColor(Color.RED);
+			}
 			start.setColor(Color.GREEN);
 		}
 	}
@@ -429,18 +699,58 @@ public class Main extends Canvas implements Runnable, MouseListener {
 	}
 
 	/**
-	 * Renders all nodes on the graphics context.
+	 * Renders the visible part of the grid on the graphics context.
 	 * 
 	 * @param g The Graphics2D context to render on
 	 */
 	public void render(Graphics2D g) {
-		g.setColor(Color.WHITE);
-		g.fillRect(0, 0, WIDTH, HEIGHT);
-		for (int i = 0; i < nodeList.length; i++) {
-			for (int j = 0; j < nodeList[i].length; j++) {
-				nodeList[i][j].render(g);
-			}
+		boolean telemetry = showTelemetry;
+		long begin = telemetry ? System.nanoTime() : 0;
+		renderer.invalidate();
+		renderer.paint(nodeList);
+		g.drawImage(renderer.getFrame(), 0, 0, null);
+		if (telemetry) {
+			drawTelemetry(g, begin);
+		}
+	}
+
+	private void drawTelemetry(Graphics2D g, long frameStart) {
+		long now = System.nanoTime();
+		telemetryOverlay.frameRendered(algorithm.getStats(), now - frameStart, now);
+		telemetryOverlay.draw(g);
+	}
+
+	/**
+	 * Shows or hides the telemetry overlay: nodes expanded per second,
+	 * frontier size and peak, path length, frame time and frames per second.
+	 * Nothing is measured while it is hidden.
+	 * 
+	 * @param show true to show the overlay
+	 */
+	public void setShowTelemetry(boolean show) {
+		if (show && !showTelemetry) {
+			telemetryOverlay.reset();
 		}
+		showTelemetry = show;
+		renderer.requestFrame();
+	}
+
+	/**
+	 * Checks whether the telemetry overlay is shown.
+	 * 
+	 * @return true if the overlay is drawn over the grid
+	 */
+	public boolean isShowTelemetry() {
+		return showTelemetry;
+	}
+
+	/**
+	 * Gets the telemetry overlay.
+	 * 
+	 * @return The overlay, updated only while it is shown
+	 */
+	public TelemetryOverlay getTelemetryOverlay() {
+		return telemetryOverlay;
 	}
 
 	/**
@@ -454,13 +764,21 @@ public class Main extends Canvas implements Runnable, MouseListener {
 	/**
 	 * Handles mouse press events on the canvas.
 	 * Allows users to create walls, set start/end points by clicking nodes.
+	 * Clicks are ignored while a search is running.
 	 * 
 	 * @param e The mouse event
 	 */
 	public void mousePressed(MouseEvent e) {
+		// The running search owns the grid until it stops
+		if (searchRunner.isRunning()) {
+			return;
+		}
 		Node clickedNode = getNodeAt(e.getX(), e.getY());
 		if (clickedNode == null)
 			return;
+		// The edited maze no longer matches the file it came from
+		mazeIndex = null;
+		mazeFile = null;
 
 		if (clickedNode.isWall()) {
 			clickedNode.clearNode();
@@ -470,8 +788,17 @@ public class Main extends Canvas implements Runnable, MouseListener {
 		clickedNode.Clicked(e.getButton());
 
 		if (clickedNode.isEnd()) {
-			if (target != null) {
-				target.clearNode();
+			if (!e.isControlDown()) {
+				// A plain right click moves the single target
+				for (Node goal : getTargets()) {
+					if (goal != clickedNode) {
+						goal.clearNode();
+					}
+				}
+				targets.clear();
+			}
+			if (!targets.contains(clickedNode)) {
+				targets.add(clickedNode);
 			}
 			target = clickedNode;
 		} else if (clickedNode.isStart()) {
@@ -480,6 +807,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
 				start.clearNode();
 			}
 			start = clickedNode;
+			targets.remove(clickedNode);
 		}
 
 	}
@@ -494,23 +822,63 @@ public class Main extends Canvas implements Runnable, MouseListener {
 	}
 
 	/**
-	 * Finds and returns the start node in the grid.
+	 * Gets all goal nodes of the maze.
+	 * Extra goals are added with Ctrl + right click or loaded from files with
+	 * several end cells.
+	 * 
+	 * @return The goal nodes, or just the target if no goal list was built
+	 */
+	public List<Node> getTargets() {
+		if (targets.isEmpty() && target != null) {
+			return Collections.singletonList(target);
+		}
+		return Collections.unmodifiableList(new ArrayList<>(targets));
+	}
+
+	/**
+	 * Gets the precomputed index of the current maze, built on first use.
+	 * For a maze opened from a file the index is kept next to the file, so the
+	 * next time that maze is opened it starts from the stored index. Opening
+	 * alone writes nothing. Editing the maze discards the index.
+	 * 
+	 * @return The maze index
+	 */
+	public MazeIndex getMazeIndex() {
+		if (mazeIndex == null) {
+			MazeGrid grid = MazeGrid.fromNodes(nodeList);
+			mazeIndex = mazeFile != null ? MazeIndex.load(mazeFile, grid) : MazeIndex.compute(grid);
+		}
+		return mazeIndex;
+	}
+
+	/**
+	 * Checks with the maze index whether some goal can be reached from the
+	 * start node.
 	 * 
-	 * @return The start node, or null if not found
+	 * @return true if the start shares a connected component with some goal
+	 */
+	public boolean isGoalReachable() {
+		MazeIndex index = getMazeIndex();
+		for (Node goal : getTargets()) {
+			if (index.isConnected(start, goal)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
-	 * Gets the node at the specified pixel coordinates.
+	 * Gets the node at the specified pixel coordinates of the current view.
 	 * 
 	 * @param x The x-coordinate in pixels
 	 * @param y The y-coordinate in pixels
 	 * @return The node at the coordinates, or null if out of bounds
 	 */
 	public Node getNodeAt(int x, int y) {
-		x -= 15;
-		x /= 35;
-		y -= 15;
-		y /= 35;
+		Viewport view = renderer.getViewport().copy();
+		x = view.cellX(x);
+		y = view.cellY(y);
 
-		System.out.println(x + ":" + y);
 		if (x >= 0 && y >= 0 && x < nodeList.length && y < nodeList[x].length) {
 			return nodeList[x][y];
 		}
@@ -557,7 +925,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
         if (isMazeValid()) {
             resetCosts();
             algorithm.setStrategy(new BfsAlgorithm());
-            algorithm.performSearch(start, target, NODES_WIDTH, NODES_HEIGHT);
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
         } else {
             System.out.println("DIDNT LAUNCH");
         }
@@ -567,9 +935,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
         if (isMazeValid()) {
             resetCosts();
             algorithm.setStrategy(new DfsAlgorithm());
-            algorithm.performSearch(start, target, NODES_WIDTH, NODES_HEIGHT);
-        } else {
-            JOptionPane.showMessageDialog(frame, "You must have a starting and ending point.", "Invalid Maze", JOptionPane.ERROR_MESSAGE);
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
         }
     }
 
@@ -577,7 +943,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
         if (isMazeValid()) {
             resetCosts();
             algorithm.setStrategy(new AstarAlgorithm());
-            algorithm.performSearch(start, target, NODES_WIDTH, NODES_HEIGHT);
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
         } else {
             System.out.println("DIDNT LAUNCH");
         }
@@ -587,7 +953,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
         if (isMazeValid()) {
             resetCosts();
             algorithm.setStrategy(new DijkstraAlgorithm());
-            algorithm.performSearch(start, target, NODES_WIDTH, NODES_HEIGHT);
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
         }
     }
 
@@ -595,7 +961,7 @@ public class Main extends Canvas implements Runnable, MouseListener {
         if (isMazeValid()) {
             resetCosts();
             algorithm.setStrategy(new GreedyBestFirstAlgorithm());
-            algorithm.performSearch(start, target, NODES_WIDTH, NODES_HEIGHT);
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
         }
     }
 
@@ -603,10 +969,460 @@ public class Main extends Canvas implements Runnable, MouseListener {
         if (isMazeValid()) {
             resetCosts();
             algorithm.setStrategy(new BidirectionalSearchAlgorithm());
-            algorithm.performSearch(start, target, NODES_WIDTH, NODES_HEIGHT);
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
+        }
+    }
+
+    public void runWeightedAstar() {
+        if (isMazeValid()) {
+            resetCosts();
+            algorithm.setStrategy(new WeightedAstarAlgorithm());
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
+        }
+    }
+
+    public void runFocal() {
+        if (isMazeValid()) {
+            resetCosts();
+            algorithm.setStrategy(new FocalSearchAlgorithm());
+            algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
+        }
+    }
+
+    /**
+     * Searches from the start node to the nearest of all goals in one
+     * multi-source pass. The goal reached is shown in the window title once
+     * the search has finished.
+     *
+     * @return The nearest goal, or null if no goal is reachable or the maze is not valid
+     */
+    public Node runNearestGoal() {
+        if (!isMazeValid()) {
+            return null;
         }
+        resetCosts();
+        NearestGoalAlgorithm nearestGoal = new NearestGoalAlgorithm();
+        algorithm.setStrategy(nearestGoal);
+        algorithm.performSearch(start, target, nodeList.length, nodeList[0].length);
+        Node goal = nearestGoal.getNearestGoal();
+        searchResult = goal == null ? "no goal reachable"
+                : String.format("nearest goal %d:%d at %d steps", goal.getX(), goal.getY(),
+                        algorithm.getStats().getPathLength());
+        return goal;
+    }
+
+    /**
+     * Searches with the strategy predicted to be fastest for the maze. The
+     * choice is shown in the window title once the search has finished.
+     *
+     * @return The choice that was run, or null if the maze is not valid
+     */
+    public StrategySelector.Choice runAuto() {
+        if (!isMazeValid()) {
+            return null;
+        }
+        resetCosts();
+        StrategySelector.Choice choice = algorithm.performAutoSearch(nodeList, start, target);
+        searchResult = "auto selected " + choice;
+        return choice;
     }
     
+    /**
+     * Starts a search on the search thread, so the window stays responsive.
+     * While it runs, the window title shows its name, elapsed time and the
+     * number of explored cells.
+     *
+     * @param name   The name of the search, shown in the title
+     * @param search The search to run, usually one of the run methods
+     * @return true if the search started, false if the maze has no start or target, no goal is connected to the
+     *         start or another search is still running
+     */
+    public boolean startSearch(String name, Runnable search) {
+        // Checked here, on the event thread, so the search thread never opens dialogs
+        if (!isMazeValid()) {
+            if (frame != null) {
+                JOptionPane.showMessageDialog(frame, "You must have a starting and ending point.", "Invalid Maze",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+            return false;
+        }
+        if (!isGoalReachable()) {
+            // Nothing to search: no path can join the start to any goal
+            if (frame != null) {
+                frame.setTitle("Maze Solver - " + name + ": the start is not connected to any goal");
+            }
+            return false;
+        }
+        stopReplay();
+        if (recordTrace) {
+            SearchTrace trace = new SearchTrace(MazeGrid.fromNodes(nodeList));
+            Node[][] nodes = nodeList;
+            Runnable untraced = search;
+            search = () -> {
+                setListeners(nodes, trace.recorder(renderer));
+                try {
+                    untraced.run();
+                } finally {
+                    setListeners(nodes, renderer);
+                    lastTrace = trace;
+                }
+            };
+        }
+        searchResult = null;
+        if (!searchRunner.submit(name, search)) {
+            JOptionPane.showMessageDialog(frame, searchRunner.getName() + " is still running. Cancel it first.",
+                    "Search Running", JOptionPane.WARNING_MESSAGE);
+            return false;
+        }
+        if (frame != null) {
+            if (progressTimer == null) {
+                progressTimer = new Timer(250, new ActionListener() {
+                    public void actionPerformed(ActionEvent e) {
+                        showProgress();
+                    }
+                });
+            }
+            progressTimer.start();
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the running search or replay, if any, and waits for the search
+     * to stop, so the grid can be changed afterwards.
+     *
+     * @return true if no search is running any more, false if it did not stop in time
+     */
+    public boolean cancelSearch() {
+        stopReplay();
+        if (searchRunner.cancel()) {
+            try {
+                if (!searchRunner.await(CANCEL_TIMEOUT_MILLIS)) {
+                    if (frame != null) {
+                        JOptionPane.showMessageDialog(frame, searchRunner.getName() + " has not stopped yet. Try again.",
+                                "Search Running", JOptionPane.WARNING_MESSAGE);
+                    }
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                e.printStackTrace();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets what the last search found, as shown in the window title.
+     *
+     * @return The result summary, or null if the last search does not report one
+     */
+    public String getSearchResult() {
+        return searchResult;
+    }
+
+    /**
+     * Gets the runner that executes the searches started from the menu.
+     *
+     * @return The search runner
+     */
+    public SearchRunner getSearchRunner() {
+        return searchRunner;
+    }
+
+    private void showProgress() {
+        int explored = 0;
+        for (Node[] column : nodeList) {
+            for (Node node : column) {
+                if (node.isSearched()) {
+                    explored++;
+                }
+            }
+        }
+        String status = String.format("%s %s %.1f s, %d cells explored", searchRunner.getName(),
+                searchRunner.isRunning() ? "running" : searchRunner.isCancelled() ? "cancelled after" : "finished in",
+                searchRunner.getElapsedMillis() / 1000.0, explored);
+        if (!searchRunner.isRunning() && searchResult != null) {
+            status += ", " + searchResult;
+        }
+        frame.setTitle("Maze Solver - " + status);
+        if (!searchRunner.isRunning()) {
+            progressTimer.stop();
+        }
+    }
+
+    /**
+     * Sets whether the next searches count the expansions and frontier
+     * entries of every cell, to be exported with
+     * {@link #exportHeatmapToFile(File)}.
+     *
+     * @param recordHeatmap true to record a heatmap per search
+     */
+    public void setRecordHeatmap(boolean recordHeatmap) {
+        algorithm.setRecordHeatmap(recordHeatmap);
+    }
+
+    /**
+     * Exports the heatmap of the last search that recorded one (see
+     * "Record Heatmap"). Files named with the .csv extension get the counts of
+     * every visited cell as CSV. Otherwise two PNG images are written: the
+     * expansions per cell in the chosen file and the frontier entries per cell
+     * next to it, with "-frontier" added to the name.
+     *
+     * @param file The destination file, or null to ask for one
+     * @throws IOException If the file cannot be written
+     */
+    public void exportHeatmapToFile(File file) throws IOException {
+        SearchHeatmap heatmap = algorithm.getLastHeatmap();
+        if (heatmap == null) {
+            JOptionPane.showMessageDialog(frame, "No heatmap has been recorded yet. Enable \"Record Heatmap\" first.",
+                    "No Heatmap", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        if (file == null) {
+            JFileChooser fileChooser = new JFileChooser();
+            int option = fileChooser.showSaveDialog(frame);
+            if (option == JFileChooser.APPROVE_OPTION) {
+                file = fileChooser.getSelectedFile();
+            } else {
+                return;
+            }
+        }
+        String path = file.getAbsolutePath();
+        if (path.endsWith(SearchHeatmapFormat.CSV_EXTENSION)) {
+            SearchHeatmapFormat.writeCsv(heatmap, file.toPath());
+            return;
+        }
+        if (path.endsWith(SearchHeatmapFormat.PNG_EXTENSION)) {
+            path = path.substring(0, path.length() - SearchHeatmapFormat.PNG_EXTENSION.length());
+        }
+        MazeGrid maze = MazeGrid.fromNodes(nodeList);
+        if (maze.getWidth() != heatmap.getWidth() || maze.getHeight() != heatmap.getHeight()) {
+            maze = null;
+        }
+        SearchHeatmapFormat.writePng(heatmap, SearchHeatmap.Count.EXPANDED, maze,
+                new File(path + SearchHeatmapFormat.PNG_EXTENSION).toPath());
+        SearchHeatmapFormat.writePng(heatmap, SearchHeatmap.Count.GENERATED, maze,
+                new File(path + "-frontier" + SearchHeatmapFormat.PNG_EXTENSION).toPath());
+    }
+
+    /**
+     * Asks which strategies should race and starts the race.
+     */
+    public void showRaceDialog() {
+        Map<String, Supplier<SearchAlgorithm>> strategies = SearchRace.strategies();
+        JPanel choices = new JPanel(new GridLayout(0, 1));
+        List<JCheckBox> boxes = new ArrayList<>();
+        for (String name : strategies.keySet()) {
+            JCheckBox box = new JCheckBox(name, true);
+            boxes.add(box);
+            choices.add(box);
+        }
+        int option = JOptionPane.showConfirmDialog(frame, choices, "Race Strategies", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            return;
+        }
+        for (JCheckBox box : boxes) {
+            if (!box.isSelected()) {
+                strategies.remove(box.getText());
+            }
+        }
+        startRace(strategies);
+    }
+
+    /**
+     * Runs several strategies at the same time on copies of the current maze
+     * and shows them side by side, each with its live counters, in a new
+     * window. The maze in the main window is not changed.
+     *
+     * @param strategies The strategies by name, in display order
+     * @return The race panel, or null if the race could not start
+     */
+    public RacePanel startRace(Map<String, ? extends Supplier<? extends SearchAlgorithm>> strategies) {
+        SearchRace race;
+        try {
+            race = new SearchRace(MazeGrid.fromNodes(nodeList), strategies, algorithm.getSearchTime(),
+                    algorithm.getSuboptimalityBound());
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(frame, e.getMessage(), "Cannot Start Race", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+        RacePanel panel = new RacePanel(race);
+        if (frame != null) {
+            JFrame window = new JFrame("Maze Solver - Race");
+            window.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            window.addWindowListener(new WindowAdapter() {
+                public void windowClosed(WindowEvent e) {
+                    panel.stop();
+                }
+            });
+            window.add(new JScrollPane(panel));
+            window.pack();
+            window.setLocationRelativeTo(frame);
+            window.setVisible(true);
+        }
+        panel.start();
+        return panel;
+    }
+
+    private static void setListeners(Node[][] nodes, Node.Listener listener) {
+        for (Node[] column : nodes) {
+            for (Node node : column) {
+                node.setListener(listener);
+            }
+        }
+    }
+
+    /**
+     * Sets whether the searches started from the menu record a trace that
+     * can be saved and replayed later.
+     *
+     * @param recordTrace true to record the next searches
+     */
+    public void setRecordTrace(boolean recordTrace) {
+        this.recordTrace = recordTrace;
+    }
+
+    /**
+     * Gets the trace of the last recorded search.
+     *
+     * @return The trace, or null if no search was recorded
+     */
+    public SearchTrace getLastTrace() {
+        return lastTrace;
+    }
+
+    /**
+     * Saves the trace of the last recorded search.
+     *
+     * @param file The destination file, or null to ask for one
+     * @throws IOException If the file cannot be written
+     */
+    public void saveTraceToFile(File file) throws IOException {
+        SearchTrace trace = lastTrace;
+        if (trace == null) {
+            JOptionPane.showMessageDialog(frame, "No search has been recorded yet. Enable \"Record Search Trace\" first.",
+                    "No Search Trace", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        if (file == null) {
+            JFileChooser fileChooser = new JFileChooser();
+            int option = fileChooser.showSaveDialog(frame);
+            if (option == JFileChooser.APPROVE_OPTION) {
+                file = fileChooser.getSelectedFile();
+            } else {
+                return;
+            }
+        }
+        if (!file.getName().endsWith(SearchTraceFormat.EXTENSION)) {
+            file = new File(file.getAbsolutePath() + SearchTraceFormat.EXTENSION);
+        }
+        SearchTraceFormat.write(trace, file.toPath());
+    }
+
+    /**
+     * Loads a recorded trace with its maze and starts playing it.
+     * While it plays, Space pauses, ']' and '[' double and halve the speed,
+     * 'R' reverses the direction and ',' and '.' step one event.
+     *
+     * @param file The trace file, or null to ask for one
+     * @throws IOException If the file cannot be read or is not a trace
+     */
+    public void replayTraceFromFile(File file) throws IOException {
+        if (file == null) {
+            JFileChooser fileChooser = new JFileChooser();
+            int option = fileChooser.showOpenDialog(frame);
+            if (option == JFileChooser.APPROVE_OPTION) {
+                file = fileChooser.getSelectedFile();
+            } else {
+                return;
+            }
+        }
+        SearchTrace trace = SearchTraceFormat.read(file.toPath());
+        replayTrace(trace);
+    }
+
+    /**
+     * Shows the maze of a trace and starts playing the trace on it.
+     *
+     * @param trace The trace to play
+     * @return The player, to control the playback
+     */
+    public TracePlayer replayTrace(SearchTrace trace) {
+        stopReplay();
+        loadGrid(trace.getMaze());
+        player = new TracePlayer(trace, nodeList);
+        if (frame != null) {
+            if (replayTimer == null) {
+                replayTimer = new Timer(16, new ActionListener() {
+                    public void actionPerformed(ActionEvent e) {
+                        tickReplay();
+                    }
+                });
+            }
+            lastReplayTick = System.nanoTime();
+            replayTimer.start();
+        }
+        return player;
+    }
+
+    private void tickReplay() {
+        if (player == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        player.advance(now - lastReplayTick);
+        lastReplayTick = now;
+        frame.setTitle(String.format("Maze Solver - Replay %d/%d at %.0f events/s%s", player.getPosition(),
+                player.getTrace().size(), player.getSpeed(), player.isPaused() ? " (paused)" : ""));
+    }
+
+    /**
+     * Stops the trace being replayed, if any. The grid keeps its colours.
+     */
+    public void stopReplay() {
+        player = null;
+        if (replayTimer != null) {
+            replayTimer.stop();
+        }
+    }
+
+    /**
+     * Controls the replay from the keyboard.
+     *
+     * @param keyCode The key code of the pressed key
+     * @return true if a trace is playing and the key controls it
+     */
+    public boolean handleReplayKey(int keyCode) {
+        if (player == null) {
+            return false;
+        }
+        switch (keyCode) {
+        case KeyEvent.VK_SPACE:
+            player.setPaused(!player.isPaused());
+            return true;
+        case KeyEvent.VK_CLOSE_BRACKET:
+            player.setSpeed(player.getSpeed() * 2);
+            return true;
+        case KeyEvent.VK_OPEN_BRACKET:
+            player.setSpeed(player.getSpeed() / 2);
+            return true;
+        case KeyEvent.VK_R:
+            player.setSpeed(-player.getSpeed());
+            return true;
+        case KeyEvent.VK_PERIOD:
+            player.step(1);
+            return true;
+        case KeyEvent.VK_COMMA:
+            player.step(-1);
+            return true;
+        default:
+            return false;
+        }
+    }
+
     public void exitApp() {
         System.exit(0);
     }
@@ -620,8 +1436,20 @@ public class Main extends Canvas implements Runnable, MouseListener {
             }
         }
     }
+
+    public void changeSuboptimalityBound(String input) {
+        if (input != null && !input.isEmpty()) {
+            try {
+                algorithm.setSuboptimalityBound(Double.parseDouble(input));
+            } catch (IllegalArgumentException e) {
+                // Ignore invalid input (NumberFormatException included)
+            }
+        }
+    }
     
     public void generateMazeLogic() {
+        mazeIndex = null;
+        mazeFile = null;
         mazeGenerator.generate();
         repaint();
     }
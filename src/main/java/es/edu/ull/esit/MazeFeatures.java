@@ -0,0 +1,211 @@
+package es.edu.ull.esit;
+
+/**
+ * Cheap structural features of a maze, used to predict which search strategy
+ * will be fastest on it.
+ * All features are computed in a single pass over the grid: open cells are
+ * joined with a union-find as they are scanned, so connectivity and cycles are
+ * known without running a search.
+ */
+public class MazeFeatures {
+
+    private final int width;
+    private final int height;
+    private final int openCells;
+    private final int corridorCells;
+    private final int components;
+    private final int cycles;
+    private final int startTargetDistance;
+
+    private MazeFeatures(int width, int height, int openCells, int corridorCells,
+                         int components, int cycles, int startTargetDistance) {
+        this.width = width;
+        this.height = height;
+        this.openCells = openCells;
+        this.corridorCells = corridorCells;
+        this.components = components;
+        this.cycles = cycles;
+        this.startTargetDistance = startTargetDistance;
+    }
+
+    /**
+     * Computes the features of a grid in a single pass.
+     *
+     * @param grid   The 2D array of nodes representing the maze
+     * @param start  The starting node, or null if not set
+     * @param target The target node, or null if not set
+     * @return The features of the maze
+     */
+    public static MazeFeatures compute(Node[][] grid, Node start, Node target) {
+        int width = grid.length;
+        int height = width == 0 ? 0 : grid[0].length;
+        int[] parent = new int[width * height];
+
+        int openCells = 0;
+        int corridorCells = 0;
+        int edges = 0;
+        int unions = 0;
+
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                if (grid[i][j].isWall()) {
+                    continue;
+                }
+                int index = i * height + j;
+                parent[index] = index;
+                openCells++;
+
+                int degree = 0;
+                if (i > 0 && !grid[i - 1][j].isWall()) {
+                    degree++;
+                    // Left neighbour was already scanned, so it is in the union-find
+                    edges++;
+                    if (union(parent, index, index - height)) {
+                        unions++;
+                    }
+                }
+                if (j > 0 && !grid[i][j - 1].isWall()) {
+                    degree++;
+                    edges++;
+                    if (union(parent, index, index - 1)) {
+                        unions++;
+                    }
+                }
+                if (i < width - 1 && !grid[i + 1][j].isWall()) {
+                    degree++;
+                }
+                if (j < height - 1 && !grid[i][j + 1].isWall()) {
+                    degree++;
+                }
+                if (degree == 2) {
+                    corridorCells++;
+                }
+            }
+        }
+
+        int distance = -1;
+        if (start != null && target != null) {
+            distance = Math.abs(start.getX() - target.getX()) + Math.abs(start.getY() - target.getY());
+        }
+        return new MazeFeatures(width, height, openCells, corridorCells,
+                openCells - unions, edges - unions, distance);
+    }
+
+    private static boolean union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return false;
+        }
+        parent[rootA] = rootB;
+        return true;
+    }
+
+    private static int find(int[] parent, int a) {
+        while (parent[a] != a) {
+            // Path halving
+            parent[a] = parent[parent[a]];
+            a = parent[a];
+        }
+        return a;
+    }
+
+    /**
+     * Gets the fraction of cells that are walls.
+     *
+     * @return The wall density in [0, 1]
+     */
+    public double getWallDensity() {
+        int cells = width * height;
+        return cells == 0 ? 0 : (double) (cells - openCells) / cells;
+    }
+
+    /**
+     * Gets the fraction of open cells that have exactly two open neighbours.
+     *
+     * @return The corridor ratio in [0, 1]
+     */
+    public double getCorridorRatio() {
+        return openCells == 0 ? 0 : (double) corridorCells / openCells;
+    }
+
+    /**
+     * Checks whether the open cells form a perfect maze, that is, a single
+     * connected region without loops.
+     *
+     * @return true if there is exactly one path between any two open cells
+     */
+    public boolean isPerfect() {
+        return openCells > 0 && components == 1 && cycles == 0;
+    }
+
+    /**
+     * Gets the number of disconnected open regions.
+     *
+     * @return The number of connected components of open cells
+     */
+    public int getComponents() {
+        return components;
+    }
+
+    /**
+     * Gets the number of independent loops in the open cells.
+     *
+     * @return The cycle rank of the open cells
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Gets the Manhattan distance in cells between start and target.
+     *
+     * @return The distance, or -1 if start or target is missing
+     */
+    public int getStartTargetDistance() {
+        return startTargetDistance;
+    }
+
+    /**
+     * Gets the start/target distance relative to the grid size.
+     *
+     * @return The distance divided by width + height, or 0 if unknown
+     */
+    public double getRelativeDistance() {
+        int span = width + height;
+        return startTargetDistance < 0 || span == 0 ? 0 : (double) startTargetDistance / span;
+    }
+
+    /**
+     * Gets the width of the grid.
+     *
+     * @return The grid width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the grid.
+     *
+     * @return The grid height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of non-wall cells.
+     *
+     * @return The number of open cells
+     */
+    public int getOpenCells() {
+        return openCells;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("density=%.2f corridors=%.2f perfect=%b components=%d cycles=%d distance=%d",
+                getWallDensity(), getCorridorRatio(), isPerfect(), components, cycles, startTargetDistance);
+    }
+}
@@ -1,13 +1,14 @@
 package es.edu.ull.esit;
 
+import es.edu.ull.esit.generator.BacktrackerMazeGenerator;
+import es.edu.ull.esit.generator.MazeGridGenerator;
+import es.edu.ull.esit.generator.ParallelTiledMazeGenerator;
 import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Stack;
 
 /**
- * Generates random mazes using a depth-first search algorithm.
+ * Generates random mazes on the node grid.
+ * By default a depth-first search (recursive backtracker) is used; any other
+ * {@link MazeGridGenerator} can be set with {@link #setAlgorithm}.
  * The maze generator creates complex paths by carving through a grid of walls.
  */
 public class MazeGenerator {
@@ -16,6 +17,7 @@ public class MazeGenerator {
     private final int height;
     private final Node[][] grid;
     private final SecureRandom random = new SecureRandom();
+    private MazeGridGenerator algorithm = new BacktrackerMazeGenerator();
 
     /**
      * Constructs a new MazeGenerator with the specified dimensions.
@@ -31,81 +33,80 @@ public class MazeGenerator {
     }
 
     /**
-     * Generates a random maze using a depth-first search algorithm.
+     * Generates a random maze with the current algorithm, by default a depth-first search.
      * The algorithm starts from a random cell and carves paths by removing walls
      * between cells, creating a perfect maze with exactly one path between any two points.
      */
     public void generate() {
-        // Initialize grid
-        for (int i = 0; i < width; i++) {
-            for (int j = 0; j < height; j++) {
-                grid[i][j].setAsWall(); // Or a method that makes it a wall
-            }
-        }
+        generate(random.nextLong());
+    }
 
-        Stack<Node> stack = new Stack<>();
-        Node startNode = grid[random.nextInt(width)][random.nextInt(height)];
-        startNode.clearNode(); // Make it a path
-        stack.push(startNode);
+    /**
+     * Generates the maze of a given seed with the current algorithm.
+     * The same seed always gives the same maze.
+     *
+     * @param seed The random seed
+     */
+    public void generate(long seed) {
+        generate(algorithm, seed);
+    }
 
-        while (!stack.isEmpty()) {
-            Node currentNode = stack.peek();
-            List<Node> neighbors = getUnvisitedNeighbors(currentNode);
+    /**
+     * Generates the maze of a given seed with {@link ParallelTiledMazeGenerator},
+     * which carves tiles of the grid on all cores. Meant for large grids.
+     *
+     * @param seed The random seed
+     */
+    public void generateTiled(long seed) {
+        generate(new ParallelTiledMazeGenerator(), seed);
+    }
 
-            if (!neighbors.isEmpty()) {
-                Node neighbor = neighbors.get(random.nextInt(neighbors.size()));
-                stack.push(neighbor);
-                removeWall(currentNode, neighbor);
-                neighbor.clearNode();
-            } else {
-                stack.pop();
-            }
-        }
+    /**
+     * Generates a maze with the given algorithm. The maze is carved on a
+     * compact grid and then copied to the nodes.
+     *
+     * @param generator The generation algorithm
+     * @param seed      The random seed
+     */
+    public void generate(MazeGridGenerator generator, long seed) {
+        MazeGrid maze = new MazeGrid(width, height);
+        generator.generate(maze, seed);
+        apply(maze);
     }
 
     /**
-     * Gets the list of unvisited neighboring cells for maze generation.
-     * Checks cells that are 2 steps away in each direction to ensure proper wall spacing.
-     * 
-     * @param node The current node to find neighbors for
-     * @return A shuffled list of unvisited neighbor nodes
+     * Gets the algorithm used by {@link #generate()}.
+     *
+     * @return The generation algorithm
      */
-    private List<Node> getUnvisitedNeighbors(Node node) {
-        List<Node> neighbors = new ArrayList<>();
-        int x = node.getX();
-        int y = node.getY();
+    public MazeGridGenerator getAlgorithm() {
+        return algorithm;
+    }
 
-        // Up
-        if (y > 1 && grid[x][y - 2].isWall()) {
-            neighbors.add(grid[x][y - 2]);
-        }
-        // Down
-        if (y < height - 2 && grid[x][y + 2].isWall()) {
-            neighbors.add(grid[x][y + 2]);
-        }
-        // Left
-        if (x > 1 && grid[x - 2][y].isWall()) {
-            neighbors.add(grid[x - 2][y]);
-        }
-        // Right
-        if (x < width - 2 && grid[x + 2][y].isWall()) {
-            neighbors.add(grid[x + 2][y]);
-        }
-        
-        Collections.shuffle(neighbors);
-        return neighbors;
+    /**
+     * Sets the algorithm used by {@link #generate()}.
+     *
+     * @param algorithm The generation algorithm
+     */
+    public void setAlgorithm(MazeGridGenerator algorithm) {
+        this.algorithm = algorithm;
     }
 
     /**
-     * Removes the wall between two adjacent cells.
-     * Calculates the midpoint between the two cells and clears it to create a passage.
-     * 
-     * @param a The first node
-     * @param b The second node
+     * Copies a generated maze to the nodes.
+     *
+     * @param maze The generated maze
      */
-    private void removeWall(Node a, Node b) {
-        int x = (a.getX() + b.getX()) / 2;
-        int y = (a.getY() + b.getY()) / 2;
-        grid[x][y].clearNode();
+    private void apply(MazeGrid maze) {
+        byte[] cells = maze.getCells();
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                if (cells[i * height + j] == MazeGrid.WALL) {
+                    grid[i][j].setAsWall();
+                } else {
+                    grid[i][j].clearNode();
+                }
+            }
+        }
     }
 }
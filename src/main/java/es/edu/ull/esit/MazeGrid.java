@@ -0,0 +1,187 @@
+package es.edu.ull.esit;
+
+import java.awt.Color;
+
+/**
+ * Compact representation of a maze: one byte per cell holding the cell type.
+ * Used to load, save and generate mazes without creating a {@link Node} per
+ * cell. Cells are stored column by column, at index {@code x * height + y},
+ * which is also the order of the .maze text format and the index used by the
+ * search algorithms.
+ */
+public class MazeGrid {
+
+    /** Traversable cell. */
+    public static final byte PATH = 0;
+    /** Wall cell. */
+    public static final byte WALL = 1;
+    /** Start cell. */
+    public static final byte START = 2;
+    /** End/target cell. */
+    public static final byte END = 3;
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+
+    /**
+     * Constructs a grid with every cell set to {@link #PATH}.
+     *
+     * @param width  The number of columns
+     * @param height The number of rows
+     */
+    public MazeGrid(int width, int height) {
+        this(width, height, new byte[checkedSize(width, height)]);
+    }
+
+    /**
+     * Constructs a grid backed by an existing cell array.
+     *
+     * @param width  The number of columns
+     * @param height The number of rows
+     * @param cells  The cell types, indexed by {@code x * height + y}
+     */
+    public MazeGrid(int width, int height, byte[] cells) {
+        if (cells.length != checkedSize(width, height)) {
+            throw new IllegalArgumentException("Expected " + (long) width * height + " cells, got " + cells.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+    }
+
+    private static int checkedSize(int width, int height) {
+        long size = (long) width * height;
+        if (width < 0 || height < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid maze size " + width + "x" + height);
+        }
+        return (int) size;
+    }
+
+    /**
+     * Builds a grid from the current state of a node grid.
+     * Searched cells are stored as paths.
+     *
+     * @param nodes The 2D array of nodes
+     * @return The compact grid
+     */
+    public static MazeGrid fromNodes(Node[][] nodes) {
+        int width = nodes.length;
+        int height = width == 0 ? 0 : nodes[0].length;
+        MazeGrid grid = new MazeGrid(width, height);
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                grid.cells[i * height + j] = typeOf(nodes[i][j]);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Builds a node grid showing this maze, with the four neighbours of every
+     * node linked, ready to be searched.
+     *
+     * @return A new 2D array of nodes
+     */
+    public Node[][] toNodes() {
+        Node[][] nodes = new Node[width][height];
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                nodes[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+                nodes[i][j].setColor(colorOf(cells[i * height + j]));
+            }
+        }
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                nodes[i][j].setDirections(i > 0 ? nodes[i - 1][j] : null, i < width - 1 ? nodes[i + 1][j] : null,
+                        j > 0 ? nodes[i][j - 1] : null, j < height - 1 ? nodes[i][j + 1] : null);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Gets the cell type of a node.
+     *
+     * @param node The node
+     * @return {@link #WALL}, {@link #START}, {@link #END} or {@link #PATH}
+     */
+    public static byte typeOf(Node node) {
+        if (node.isWall()) {
+            return WALL;
+        } else if (node.isStart()) {
+            return START;
+        } else if (node.isEnd()) {
+            return END;
+        }
+        return PATH;
+    }
+
+    /**
+     * Gets the node colour of a cell type.
+     *
+     * @param type The cell type
+     * @return The colour used by {@link Node} for that type
+     */
+    public static Color colorOf(int type) {
+        switch (type) {
+        case WALL:
+            return Color.BLACK;
+        case START:
+            return Color.GREEN;
+        case END:
+            return Color.RED;
+        default:
+            return Color.LIGHT_GRAY;
+        }
+    }
+
+    /**
+     * Gets the type of a cell.
+     *
+     * @param x The column
+     * @param y The row
+     * @return The cell type
+     */
+    public byte get(int x, int y) {
+        return cells[x * height + y];
+    }
+
+    /**
+     * Sets the type of a cell.
+     *
+     * @param x    The column
+     * @param y    The row
+     * @param type The cell type
+     */
+    public void set(int x, int y, byte type) {
+        cells[x * height + y] = type;
+    }
+
+    /**
+     * Gets the backing cell array, indexed by {@code x * height + y}.
+     *
+     * @return The cell types
+     */
+    public byte[] getCells() {
+        return cells;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return The grid width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The grid height
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,204 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.io.MazeIndexFile;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed data about a maze that does not change while the maze is not
+ * edited. Currently holds the connected component of every cell, which
+ * answers whether two cells are connected without searching.
+ * <p>
+ * {@link #load(Path, MazeGrid)} keeps the index in a sidecar file next to the
+ * maze (see {@link MazeIndexFile}), so opening the same maze again maps the
+ * stored labels instead of computing them. {@link #read(Path, MazeGrid)} only
+ * uses a sidecar that already exists.
+ */
+public class MazeIndex {
+
+    /** Name of the section with the component label of every cell. */
+    public static final String COMPONENTS = "components";
+    /** Name of the section with the number of components. */
+    public static final String COMPONENT_COUNT = "componentCount";
+
+    private final int height;
+    private final IntBuffer components;
+    private final int componentCount;
+    private final boolean cached;
+
+    private MazeIndex(int height, IntBuffer components, int componentCount, boolean cached) {
+        this.height = height;
+        this.components = components;
+        this.componentCount = componentCount;
+        this.cached = cached;
+    }
+
+    /**
+     * Computes the index of a maze.
+     *
+     * @param grid The maze
+     * @return The index
+     */
+    public static MazeIndex compute(MazeGrid grid) {
+        int[] labels = labelComponents(grid);
+        return new MazeIndex(grid.getHeight(), IntBuffer.wrap(labels), count(labels), false);
+    }
+
+    /**
+     * Gets the index of a maze loaded from a file, reading it from the
+     * sidecar when it is up to date and computing and storing it otherwise.
+     * Failing to store the sidecar is not an error; the index is still returned.
+     *
+     * @param mazeFile The file the maze was loaded from
+     * @param grid     The maze
+     * @return The index
+     */
+    public static MazeIndex load(Path mazeFile, MazeGrid grid) {
+        MazeIndex stored = read(mazeFile, grid);
+        if (stored != null) {
+            return stored;
+        }
+
+        Path sidecar = MazeIndexFile.sidecarOf(mazeFile);
+        long hash = MazeIndexFile.hash(grid);
+        int[] labels = labelComponents(grid);
+        int componentCount = count(labels);
+        Map<String, int[]> sections = new LinkedHashMap<>();
+        sections.put(COMPONENT_COUNT, new int[] { componentCount });
+        sections.put(COMPONENTS, labels);
+        try {
+            MazeIndexFile.write(sidecar, hash, sections);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new MazeIndex(grid.getHeight(), IntBuffer.wrap(labels), componentCount, false);
+    }
+
+    /**
+     * Reads the index of a maze from its sidecar, without computing or
+     * writing anything.
+     *
+     * @param mazeFile The file the maze was loaded from
+     * @param grid     The maze
+     * @return The stored index, or null if there is no up to date sidecar
+     */
+    public static MazeIndex read(Path mazeFile, MazeGrid grid) {
+        int cells = grid.getCells().length;
+        try {
+            MazeIndexFile file = MazeIndexFile.open(MazeIndexFile.sidecarOf(mazeFile), MazeIndexFile.hash(grid));
+            if (file != null) {
+                IntBuffer components = file.getSection(COMPONENTS);
+                IntBuffer count = file.getSection(COMPONENT_COUNT);
+                if (components != null && components.remaining() == cells && count != null && count.remaining() == 1) {
+                    return new MazeIndex(grid.getHeight(), components, count.get(0), true);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Labels the open cells with the id of their connected component using a
+     * BFS over an int queue.
+     *
+     * @return The component of every cell, or -1 for walls
+     */
+    private static int[] labelComponents(MazeGrid grid) {
+        byte[] cells = grid.getCells();
+        int height = grid.getHeight();
+        int[] labels = new int[cells.length];
+        int[] queue = new int[cells.length];
+        Arrays.fill(labels, -1);
+        int next = 0;
+        for (int seed = 0; seed < cells.length; seed++) {
+            if (cells[seed] == MazeGrid.WALL || labels[seed] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            labels[seed] = next;
+            queue[tail++] = seed;
+            while (head < tail) {
+                int cell = queue[head++];
+                int y = cell % height;
+                if (cell >= height) {
+                    tail = visit(cells, labels, queue, tail, cell - height, next);
+                }
+                if (cell + height < cells.length) {
+                    tail = visit(cells, labels, queue, tail, cell + height, next);
+                }
+                if (y > 0) {
+                    tail = visit(cells, labels, queue, tail, cell - 1, next);
+                }
+                if (y < height - 1) {
+                    tail = visit(cells, labels, queue, tail, cell + 1, next);
+                }
+            }
+            next++;
+        }
+        return labels;
+    }
+
+    private static int visit(byte[] cells, int[] labels, int[] queue, int tail, int cell, int label) {
+        if (cells[cell] != MazeGrid.WALL && labels[cell] < 0) {
+            labels[cell] = label;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    private static int count(int[] labels) {
+        int max = -1;
+        for (int label : labels) {
+            max = Math.max(max, label);
+        }
+        return max + 1;
+    }
+
+    /**
+     * Gets the connected component of a cell.
+     *
+     * @param x The column
+     * @param y The row
+     * @return The component id, or -1 for walls
+     */
+    public int getComponent(int x, int y) {
+        return components.get(x * height + y);
+    }
+
+    /**
+     * Checks whether two nodes are connected through open cells.
+     *
+     * @param a The first node
+     * @param b The second node
+     * @return true if a path exists between the nodes
+     */
+    public boolean isConnected(Node a, Node b) {
+        int component = getComponent(a.getX(), a.getY());
+        return component >= 0 && component == getComponent(b.getX(), b.getY());
+    }
+
+    /**
+     * Gets the number of connected components of open cells.
+     *
+     * @return The component count
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Checks whether the index was read from a sidecar file instead of computed.
+     *
+     * @return true if the index came from the sidecar
+     */
+    public boolean isCached() {
+        return cached;
+    }
+}
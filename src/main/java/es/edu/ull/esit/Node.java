@@ -20,6 +20,7 @@ public class Node {
 	private final int WIDTH = 35;
 	private final int HEIGHT = 35;
 	private Node left, right, up, down;
+	private Listener listener;
 
 	private double gcost = Double.MAX_VALUE;
 	private double fcost;
@@ -73,6 +74,18 @@ public class Node {
 		return Math.sqrt(x + y);
 	}
 
+	/**
+	 * Calculates the Manhattan distance between two nodes.
+	 * Uses the same pixel coordinates as {@link #distance(Node, Node)}.
+	 * 
+	 * @param a The first node
+	 * @param b The second node
+	 * @return The sum of the horizontal and vertical offsets between the nodes
+	 */
+	public static double manhattanDistance(Node a, Node b) {
+		return Math.abs((double) a.Xpos - b.Xpos) + Math.abs((double) a.Ypos - b.Ypos);
+	}
+
 	/**
 	 * Renders the node on the graphics context.
 	 * 
@@ -99,20 +112,20 @@ public class Node {
 		System.out.print("called:");
 		if (buttonCode == 1) {
 			// WALL
-			nodeColor = Color.BLACK;
+			changeColor(Color.BLACK);
             System.out.println("Wall");
 
 		}
 		if (buttonCode == 2) {
 			// START
-			nodeColor = Color.GREEN;
+			changeColor(Color.GREEN);
             System.out.println("Green");
 
 
         }
 		if (buttonCode == 3) {
 			// END
-			nodeColor = Color.RED;
+			changeColor(Color.RED);
             System.out.println("Red");
 
 
@@ -128,7 +141,7 @@ public class Node {
 	 * Sets this node as a wall (black color).
 	 */
 	public void setAsWall() {
-		nodeColor = Color.BLACK;
+		changeColor(Color.BLACK);
 	}
 
 	/**
@@ -155,7 +168,25 @@ public class Node {
 	 * @param c The color to set
 	 */
 	public void setColor(Color c) {
-		nodeColor = c;
+		changeColor(c);
+	}
+
+	/**
+	 * Sets the listener notified whenever the color of this node changes.
+	 * 
+	 * @param listener The listener, or null to stop notifying
+	 */
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	private void changeColor(Color c) {
+		if (nodeColor != c) {
+			nodeColor = c;
+			if (listener != null) {
+				listener.nodeChanged(this);
+			}
+		}
 	}
 
 	/**
@@ -206,7 +237,7 @@ public class Node {
 	 * Clears the node to its default state (light gray path).
 	 */
 	public void clearNode() {
-		nodeColor = Color.LIGHT_GRAY;
+		changeColor(Color.LIGHT_GRAY);
 	}
 
 	/**
@@ -294,4 +325,17 @@ public class Node {
 		return (nodeColor == Color.BLUE || nodeColor == Color.ORANGE || nodeColor == Color.CYAN || nodeColor == Color.MAGENTA);
 	}
 
+	/**
+	 * Receives the changes of the nodes it is attached to.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after the color of a node changed.
+		 * 
+		 * @param node The node that changed
+		 */
+		void nodeChanged(Node node);
+	}
+
 }
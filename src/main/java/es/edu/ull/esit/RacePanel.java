@@ -0,0 +1,158 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.SearchStats;
+import es.edu.ull.esit.render.GridRenderer;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+/**
+ * Shows a {@link SearchRace} side by side: one panel per strategy with its
+ * grid and its live counters (expanded nodes, frontier size, path length and
+ * elapsed time).
+ * <p>
+ * Each lane is drawn by its own {@link GridRenderer}, fitted to the panel, so
+ * only the cells a strategy changed are repainted. A Swing timer refreshes
+ * the panels and counters while the race runs.
+ */
+public class RacePanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Size of the grid view of every lane, in pixels. */
+    public static final int LANE_WIDTH = 320;
+    /** Height of the grid view of every lane, in pixels. */
+    public static final int LANE_HEIGHT = 220;
+    /** Time between two refreshes, in milliseconds. */
+    public static final int REFRESH_MILLIS = 33;
+
+    private final SearchRace race;
+    private final List<LaneView> views = new ArrayList<>();
+    private final Timer timer;
+
+    /**
+     * Constructs the panels of a race. The race is not started.
+     *
+     * @param race The race to show
+     */
+    public RacePanel(SearchRace race) {
+        this.race = race;
+        List<SearchRace.Lane> lanes = race.getLanes();
+        int columns = (int) Math.ceil(Math.sqrt(lanes.size()));
+        setLayout(new GridLayout(0, columns, 4, 4));
+        for (SearchRace.Lane lane : lanes) {
+            LaneView view = new LaneView(lane);
+            views.add(view);
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBorder(BorderFactory.createTitledBorder(lane.getName()));
+            panel.add(view, BorderLayout.CENTER);
+            panel.add(view.counters, BorderLayout.SOUTH);
+            add(panel);
+        }
+        timer = new Timer(REFRESH_MILLIS, new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                refresh();
+                if (!race.isRunning()) {
+                    timer.stop();
+                }
+            }
+        });
+        refresh();
+    }
+
+    /**
+     * Starts the race and the refresh timer.
+     */
+    public void start() {
+        race.start();
+        timer.start();
+    }
+
+    /**
+     * Cancels the race and stops the refresh timer after a last refresh.
+     */
+    public void stop() {
+        race.cancel();
+        timer.stop();
+        refresh();
+    }
+
+    /**
+     * Repaints the cells every lane changed and updates the counters.
+     */
+    public void refresh() {
+        for (LaneView view : views) {
+            view.refresh();
+        }
+    }
+
+    /**
+     * Gets the race shown.
+     *
+     * @return The race
+     */
+    public SearchRace getRace() {
+        return race;
+    }
+
+    /**
+     * Gets the counters text of a lane, as shown under its grid.
+     *
+     * @param index The lane index
+     * @return The counters text
+     */
+    public String getCountersText(int index) {
+        return views.get(index).counters.getText();
+    }
+
+    /**
+     * Formats the counters of a search for display.
+     *
+     * @param stats The counters
+     * @return A one-line summary
+     */
+    static String format(SearchStats stats) {
+        return String.format("Expanded %d | Frontier %d (peak %d) | Path %d | %.2f s", stats.getExpanded(),
+                stats.getFrontier(), stats.getPeakFrontier(), stats.getPathLength(), stats.getElapsedNanos() / 1e9);
+    }
+
+    private static final class LaneView extends JComponent {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SearchRace.Lane lane;
+        private final GridRenderer renderer = new GridRenderer(LANE_WIDTH, LANE_HEIGHT);
+        private final JLabel counters = new JLabel();
+
+        LaneView(SearchRace.Lane lane) {
+            this.lane = lane;
+            Node[][] nodes = lane.getNodes();
+            renderer.setMaxFps(0);
+            renderer.attach(nodes);
+            renderer.fit(nodes.length, nodes[0].length);
+            setPreferredSize(new Dimension(LANE_WIDTH, LANE_HEIGHT));
+        }
+
+        void refresh() {
+            if (renderer.paint(lane.getNodes()) > 0) {
+                repaint();
+            }
+            counters.setText(format(lane.getStats()));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.drawImage(renderer.getFrame(), 0, 0, null);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.AstarAlgorithm;
+import es.edu.ull.esit.algorithm.BfsAlgorithm;
+import es.edu.ull.esit.algorithm.BidirectionalSearchAlgorithm;
+import es.edu.ull.esit.algorithm.DfsAlgorithm;
+import es.edu.ull.esit.algorithm.DijkstraAlgorithm;
+import es.edu.ull.esit.algorithm.FocalSearchAlgorithm;
+import es.edu.ull.esit.algorithm.GreedyBestFirstAlgorithm;
+import es.edu.ull.esit.algorithm.NearestGoalAlgorithm;
+import es.edu.ull.esit.algorithm.SearchAlgorithm;
+import es.edu.ull.esit.algorithm.SearchStats;
+import es.edu.ull.esit.algorithm.WeightedAstarAlgorithm;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs several search strategies on the same maze at the same time.
+ * <p>
+ * Every strategy gets its own lane: a copy of the maze as a separate node
+ * grid, its own {@link Algorithm} context and its own thread, so the searches
+ * share nothing and can be watched side by side. The counters of each lane
+ * ({@link SearchStats}) can be read from any thread while the race runs.
+ */
+public class SearchRace {
+
+    /**
+     * One strategy of the race with the grid it searches.
+     */
+    public static final class Lane {
+
+        private final String name;
+        private final Node[][] nodes;
+        private final Algorithm algorithm = new Algorithm();
+        private final Node start;
+        private final Node end;
+
+        private Lane(String name, SearchAlgorithm strategy, MazeGrid maze, int searchTime, double bound) {
+            this.name = name;
+            nodes = maze.toNodes();
+            algorithm.setStrategy(strategy);
+            algorithm.setSearchTime(searchTime);
+            algorithm.setSuboptimalityBound(bound);
+            Node first = null;
+            Node goal = null;
+            for (Node[] column : nodes) {
+                for (Node node : column) {
+                    if (first == null && node.isStart()) {
+                        first = node;
+                    } else if (goal == null && node.isEnd()) {
+                        goal = node;
+                    }
+                }
+            }
+            start = first;
+            end = goal;
+        }
+
+        private void run() {
+            algorithm.performSearch(start, end, nodes.length, nodes[0].length);
+        }
+
+        /**
+         * Gets the name of the strategy.
+         *
+         * @return The strategy name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the grid the strategy searches.
+         *
+         * @return The node grid of this lane
+         */
+        public Node[][] getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Gets the live counters of the strategy.
+         *
+         * @return The search counters
+         */
+        public SearchStats getStats() {
+            return algorithm.getStats();
+        }
+    }
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private CountDownLatch finished;
+
+    /**
+     * Creates a race on a copy of a maze. The searches do not start yet.
+     *
+     * @param maze       The maze every strategy searches
+     * @param strategies The strategies by name, in display order
+     * @param searchTime The delay of every visualization step, in milliseconds
+     * @param bound      The suboptimality bound of bounded strategies
+     * @throws IllegalArgumentException If the maze has no start or no end, or there is no strategy
+     */
+    public SearchRace(MazeGrid maze, Map<String, ? extends Supplier<? extends SearchAlgorithm>> strategies,
+            int searchTime, double bound) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("A race needs at least one strategy");
+        }
+        for (Map.Entry<String, ? extends Supplier<? extends SearchAlgorithm>> entry : strategies.entrySet()) {
+            Lane lane = new Lane(entry.getKey(), entry.getValue().get(), maze, searchTime, bound);
+            if (lane.start == null || lane.end == null) {
+                throw new IllegalArgumentException("The maze needs a start and an end");
+            }
+            lanes.add(lane);
+        }
+    }
+
+    /**
+     * Gets the strategies that can race, by the names of the Algorithms menu.
+     *
+     * @return The strategy factories in menu order
+     */
+    public static Map<String, Supplier<SearchAlgorithm>> strategies() {
+        Map<String, Supplier<SearchAlgorithm>> strategies = new LinkedHashMap<>();
+        strategies.put("Breadth-First Search", BfsAlgorithm::new);
+        strategies.put("Depth-First Search", DfsAlgorithm::new);
+        strategies.put("A-star Search", AstarAlgorithm::new);
+        strategies.put("Dijkstra's Algorithm", DijkstraAlgorithm::new);
+        strategies.put("Greedy Best-First Search", GreedyBestFirstAlgorithm::new);
+        strategies.put("Bidirectional Search", BidirectionalSearchAlgorithm::new);
+        strategies.put("Weighted A-star Search", WeightedAstarAlgorithm::new);
+        strategies.put("Focal Search (A-star epsilon)", FocalSearchAlgorithm::new);
+        strategies.put("Nearest Goal Search", NearestGoalAlgorithm::new);
+        return strategies;
+    }
+
+    /**
+     * Starts every lane on its own daemon thread.
+     *
+     * @throws IllegalStateException If the race was already started
+     */
+    public synchronized void start() {
+        if (finished != null) {
+            throw new IllegalStateException("The race was already started");
+        }
+        finished = new CountDownLatch(lanes.size());
+        for (Lane lane : lanes) {
+            Thread thread = new Thread(() -> {
+                try {
+                    lane.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                } finally {
+                    finished.countDown();
+                }
+            }, "maze-race-" + lane.getName());
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops every lane at its next visualization step.
+     */
+    public synchronized void cancel() {
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Waits until every lane has finished.
+     *
+     * @param timeoutMillis The longest time to wait
+     * @return true if every lane finished, false if the wait timed out
+     * @throws InterruptedException If the calling thread is interrupted
+     * @throws IllegalStateException If the race was not started
+     */
+    public boolean await(long timeoutMillis) throws InterruptedException {
+        CountDownLatch latch;
+        synchronized (this) {
+            latch = finished;
+        }
+        if (latch == null) {
+            throw new IllegalStateException("The race was not started");
+        }
+        return latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether some lane is still searching.
+     *
+     * @return true from {@link #start()} until every lane has finished
+     */
+    public synchronized boolean isRunning() {
+        return finished != null && finished.getCount() > 0;
+    }
+
+    /**
+     * Gets the lanes in display order.
+     *
+     * @return The lanes
+     */
+    public List<Lane> getLanes() {
+        return Collections.unmodifiableList(lanes);
+    }
+}
@@ -0,0 +1,188 @@
+package es.edu.ull.esit;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one search at a time off the event dispatch thread.
+ * <p>
+ * Searches are handed to a dedicated executor, so the menus and the canvas
+ * stay responsive while the animation plays. A new search is rejected while
+ * another one is running. {@link #cancel()} interrupts the running search;
+ * the strategies stop at their next visualization step (see
+ * {@code AbstractSearchAlgorithm.pause}).
+ */
+public class SearchRunner {
+
+    private final ExecutorService executor;
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private boolean running;
+    private boolean cancelled;
+    private Thread worker;
+    private String name;
+    private long startedAt;
+    private long finishedAt;
+
+    /**
+     * Constructs a runner with its own daemon search thread.
+     */
+    public SearchRunner() {
+        this(Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "maze-search");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructs a runner on an executor.
+     *
+     * @param executor The executor the searches run on
+     */
+    public SearchRunner(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a search unless another one is running.
+     *
+     * @param name   The name shown while the search runs
+     * @param search The search to run
+     * @return true if the search was started, false if another one is still running
+     */
+    public boolean submit(String name, Runnable search) {
+        synchronized (lock) {
+            if (running) {
+                return false;
+            }
+            running = true;
+            cancelled = false;
+            this.name = name;
+            startedAt = System.nanoTime();
+        }
+        executor.execute(() -> run(search));
+        return true;
+    }
+
+    private void run(Runnable search) {
+        synchronized (lock) {
+            if (cancelled) {
+                finish();
+                return;
+            }
+            worker = Thread.currentThread();
+        }
+        try {
+            search.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        } finally {
+            synchronized (lock) {
+                worker = null;
+                // Do not leak a late cancel into the next task of the thread
+                Thread.interrupted();
+                finish();
+            }
+        }
+    }
+
+    private void finish() {
+        running = false;
+        finishedAt = System.nanoTime();
+        lock.notifyAll();
+    }
+
+    /**
+     * Cancels the running search, if any.
+     *
+     * @return true if a search was running
+     */
+    public boolean cancel() {
+        synchronized (lock) {
+            if (!running) {
+                return false;
+            }
+            cancelled = true;
+            if (worker != null) {
+                worker.interrupt();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Waits until no search is running.
+     *
+     * @param timeoutMillis The longest time to wait
+     * @return true if no search is running, false if the wait timed out
+     * @throws InterruptedException If the calling thread is interrupted
+     */
+    public boolean await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            while (running) {
+                long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (left <= 0) {
+                    return false;
+                }
+                lock.wait(left);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether a search is running.
+     *
+     * @return true while a search is running
+     */
+    public boolean isRunning() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /**
+     * Checks whether the last search was cancelled.
+     *
+     * @return true if {@link #cancel()} was called during the last search
+     */
+    public boolean isCancelled() {
+        synchronized (lock) {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Gets the name of the running or last search.
+     *
+     * @return The search name, or null if no search was started
+     */
+    public String getName() {
+        synchronized (lock) {
+            return name;
+        }
+    }
+
+    /**
+     * Gets the time since the running or last search started.
+     *
+     * @return The elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        synchronized (lock) {
+            return TimeUnit.NANOSECONDS.toMillis((running ? System.nanoTime() : finishedAt) - startedAt);
+        }
+    }
+
+    /**
+     * Cancels the running search and stops the executor.
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
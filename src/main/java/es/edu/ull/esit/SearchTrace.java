@@ -0,0 +1,160 @@
+package es.edu.ull.esit;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Recorded sequence of the cells a search opened, closed and marked as path,
+ * together with the maze it ran on, so the search can be watched again at
+ * any speed without running it (see {@link TracePlayer}).
+ * <p>
+ * Events are stored as two parallel primitive arrays, cell index
+ * ({@code x * height + y}) and event type, so recording does not allocate per
+ * event. {@link es.edu.ull.esit.io.SearchTraceFormat} stores traces on disk.
+ */
+public class SearchTrace {
+
+    /** A cell entered the frontier and is being expanded (orange). */
+    public static final byte OPENED = 0;
+    /** A cell was expanded (blue). */
+    public static final byte CLOSED = 1;
+    /** A cell is part of the reconstructed path (magenta). */
+    public static final byte PATH = 2;
+    /** The two frontiers of a bidirectional search met at a cell (cyan). */
+    public static final byte MEETING = 3;
+
+    private final MazeGrid maze;
+    private int[] cells = new int[256];
+    private byte[] types = new byte[256];
+    private int size;
+
+    /**
+     * Constructs an empty trace.
+     *
+     * @param maze The maze the search runs on, before it starts
+     */
+    public SearchTrace(MazeGrid maze) {
+        this.maze = maze;
+    }
+
+    /**
+     * Gets the event type shown by a node colour.
+     *
+     * @param color The node colour
+     * @return The event type, or -1 if the colour is not set by searches
+     */
+    public static int typeOf(Color color) {
+        if (color == Color.ORANGE) {
+            return OPENED;
+        } else if (color == Color.BLUE) {
+            return CLOSED;
+        } else if (color == Color.MAGENTA) {
+            return PATH;
+        } else if (color == Color.CYAN) {
+            return MEETING;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the node colour of an event type.
+     *
+     * @param type The event type
+     * @return The colour searches use for it
+     */
+    public static Color colorOf(int type) {
+        switch (type) {
+        case OPENED:
+            return Color.ORANGE;
+        case CLOSED:
+            return Color.BLUE;
+        case PATH:
+            return Color.MAGENTA;
+        case MEETING:
+            return Color.CYAN;
+        default:
+            throw new IllegalArgumentException("Unknown trace event type " + type);
+        }
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param type The event type
+     * @param cell The cell index
+     */
+    public void add(int type, int cell) {
+        if (type < OPENED || type > MEETING) {
+            throw new IllegalArgumentException("Unknown trace event type " + type);
+        }
+        if (cell < 0 || cell >= maze.getCells().length) {
+            throw new IllegalArgumentException("Cell " + cell + " is outside the maze");
+        }
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+        }
+        cells[size] = cell;
+        types[size] = (byte) type;
+        size++;
+    }
+
+    /**
+     * Gets the maze the search ran on.
+     *
+     * @return The maze before the search
+     */
+    public MazeGrid getMaze() {
+        return maze;
+    }
+
+    /**
+     * Gets the number of events.
+     *
+     * @return The event count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the cell of an event.
+     *
+     * @param index The event index
+     * @return The cell index
+     */
+    public int getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Gets the type of an event.
+     *
+     * @param index The event index
+     * @return The event type
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Creates a node listener that records the search colours into this
+     * trace and passes every change on. It must only be attached while a
+     * single thread changes the nodes.
+     *
+     * @param next The listener the changes are passed to, or null
+     * @return The recording listener
+     */
+    public Node.Listener recorder(Node.Listener next) {
+        int height = maze.getHeight();
+        return node -> {
+            int type = typeOf(node.getColor());
+            if (type >= 0) {
+                add(type, node.getX() * height + node.getY());
+            }
+            if (next != null) {
+                next.nodeChanged(node);
+            }
+        };
+    }
+}
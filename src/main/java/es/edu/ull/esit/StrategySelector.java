@@ -0,0 +1,260 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.AbstractSearchAlgorithm;
+import es.edu.ull.esit.algorithm.AstarAlgorithm;
+import es.edu.ull.esit.algorithm.BfsAlgorithm;
+import es.edu.ull.esit.algorithm.BidirectionalSearchAlgorithm;
+import es.edu.ull.esit.algorithm.DfsAlgorithm;
+import es.edu.ull.esit.algorithm.DijkstraAlgorithm;
+import es.edu.ull.esit.algorithm.GreedyBestFirstAlgorithm;
+import es.edu.ull.esit.algorithm.Heuristic;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Chooses the search strategy predicted to be fastest for a maze.
+ * Mazes are classified into buckets from their {@link MazeFeatures} and each
+ * bucket maps to a strategy/heuristic pair through a decision table.
+ * The table starts with built-in defaults and can be retuned from recorded
+ * benchmark timings or loaded from a properties file.
+ */
+public class StrategySelector {
+
+    /**
+     * Search strategies the selector can choose from.
+     */
+    public enum Strategy {
+        BFS, DFS, ASTAR, DIJKSTRA, GREEDY, BIDIRECTIONAL;
+
+        /**
+         * Creates a new instance of the strategy.
+         *
+         * @return A new search algorithm
+         */
+        public AbstractSearchAlgorithm create() {
+            switch (this) {
+            case BFS:
+                return new BfsAlgorithm();
+            case DFS:
+                return new DfsAlgorithm();
+            case ASTAR:
+                return new AstarAlgorithm();
+            case DIJKSTRA:
+                return new DijkstraAlgorithm();
+            case GREEDY:
+                return new GreedyBestFirstAlgorithm();
+            default:
+                return new BidirectionalSearchAlgorithm();
+            }
+        }
+    }
+
+    /**
+     * A strategy together with the heuristic it should use.
+     */
+    public static final class Choice {
+
+        private final Strategy strategy;
+        private final Heuristic heuristic;
+
+        /**
+         * Constructs a new choice.
+         *
+         * @param strategy  The search strategy
+         * @param heuristic The heuristic for informed strategies
+         */
+        public Choice(Strategy strategy, Heuristic heuristic) {
+            this.strategy = strategy;
+            this.heuristic = heuristic;
+        }
+
+        /**
+         * Parses a choice written as {@code STRATEGY:HEURISTIC}.
+         *
+         * @param text The text to parse
+         * @return The parsed choice
+         * @throws IllegalArgumentException If the text is not a valid choice
+         */
+        public static Choice parse(String text) {
+            String[] parts = text.trim().split(":");
+            Heuristic heuristic = parts.length > 1 ? Heuristic.valueOf(parts[1]) : Heuristic.EUCLIDEAN;
+            return new Choice(Strategy.valueOf(parts[0]), heuristic);
+        }
+
+        /**
+         * Creates the configured search algorithm.
+         *
+         * @return A new search algorithm using this choice's heuristic
+         */
+        public AbstractSearchAlgorithm create() {
+            AbstractSearchAlgorithm algorithm = strategy.create();
+            algorithm.setHeuristic(heuristic);
+            return algorithm;
+        }
+
+        /**
+         * Gets the chosen strategy.
+         *
+         * @return The search strategy
+         */
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * Gets the chosen heuristic.
+         *
+         * @return The heuristic for informed strategies
+         */
+        public Heuristic getHeuristic() {
+            return heuristic;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Choice)) {
+                return false;
+            }
+            Choice other = (Choice) o;
+            return strategy == other.strategy && heuristic == other.heuristic;
+        }
+
+        @Override
+        public int hashCode() {
+            return strategy.hashCode() * 31 + heuristic.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return strategy + ":" + heuristic;
+        }
+    }
+
+    private static final double OPEN_DENSITY = 0.2;
+    private static final double DENSE_DENSITY = 0.4;
+    private static final double NEAR_DISTANCE = 0.25;
+
+    private final Map<String, Choice> table = new HashMap<>();
+    private final Map<String, Map<Choice, long[]>> timings = new HashMap<>();
+
+    /**
+     * Classifies a maze into a decision table bucket.
+     * Buckets combine wall density (OPEN, MIXED, DENSE), topology (PERFECT,
+     * LOOPY) and how far apart start and target are (NEAR, FAR).
+     *
+     * @param features The maze features
+     * @return The bucket key, e.g. {@code MIXED.LOOPY.FAR}
+     */
+    public static String bucket(MazeFeatures features) {
+        double density = features.getWallDensity();
+        String densityClass = density < OPEN_DENSITY ? "OPEN" : density < DENSE_DENSITY ? "MIXED" : "DENSE";
+        String topology = features.isPerfect() ? "PERFECT" : "LOOPY";
+        String distance = features.getRelativeDistance() < NEAR_DISTANCE ? "NEAR" : "FAR";
+        return densityClass + "." + topology + "." + distance;
+    }
+
+    /**
+     * Chooses the strategy predicted to be fastest for a maze.
+     *
+     * @param features The maze features
+     * @return The tuned choice for the maze's bucket, or the built-in default
+     */
+    public Choice select(MazeFeatures features) {
+        Choice tuned = table.get(bucket(features));
+        return tuned != null ? tuned : defaultChoice(features);
+    }
+
+    /**
+     * Built-in rules used for buckets that have not been tuned.
+     * Perfect mazes have a single route, so a heuristic cannot prune anything
+     * and plain breadth-first expansion from both ends is cheapest. Loopy
+     * mazes with room to move benefit from A* with the tight Manhattan bound.
+     */
+    private static Choice defaultChoice(MazeFeatures features) {
+        boolean near = features.getRelativeDistance() < NEAR_DISTANCE;
+        if (features.isPerfect()) {
+            return new Choice(near ? Strategy.BFS : Strategy.BIDIRECTIONAL, Heuristic.ZERO);
+        }
+        if (features.getWallDensity() >= DENSE_DENSITY && features.getCorridorRatio() > 0.5) {
+            return new Choice(near ? Strategy.BFS : Strategy.BIDIRECTIONAL, Heuristic.ZERO);
+        }
+        return new Choice(Strategy.ASTAR, Heuristic.MANHATTAN);
+    }
+
+    /**
+     * Records the measured running time of a choice on a maze.
+     * Call {@link #retune()} to fold the recorded timings into the table.
+     *
+     * @param features The features of the benchmarked maze
+     * @param choice   The strategy that was run
+     * @param nanos    The measured running time in nanoseconds
+     */
+    public void record(MazeFeatures features, Choice choice, long nanos) {
+        Map<Choice, long[]> bucketTimings = timings.get(bucket(features));
+        if (bucketTimings == null) {
+            bucketTimings = new HashMap<>();
+            timings.put(bucket(features), bucketTimings);
+        }
+        long[] sumAndCount = bucketTimings.get(choice);
+        if (sumAndCount == null) {
+            sumAndCount = new long[2];
+            bucketTimings.put(choice, sumAndCount);
+        }
+        sumAndCount[0] += nanos;
+        sumAndCount[1]++;
+    }
+
+    /**
+     * Updates the decision table so every benchmarked bucket maps to the
+     * choice with the lowest mean recorded time.
+     */
+    public void retune() {
+        for (Map.Entry<String, Map<Choice, long[]>> bucketTimings : timings.entrySet()) {
+            Choice best = null;
+            double bestMean = Double.MAX_VALUE;
+            for (Map.Entry<Choice, long[]> entry : bucketTimings.getValue().entrySet()) {
+                double mean = (double) entry.getValue()[0] / entry.getValue()[1];
+                if (mean < bestMean) {
+                    bestMean = mean;
+                    best = entry.getKey();
+                }
+            }
+            if (best != null) {
+                table.put(bucketTimings.getKey(), best);
+            }
+        }
+    }
+
+    /**
+     * Overrides the choice for a bucket.
+     *
+     * @param bucket The bucket key as returned by {@link #bucket(MazeFeatures)}
+     * @param choice The choice to use for that bucket
+     */
+    public void setChoice(String bucket, Choice choice) {
+        table.put(bucket, choice);
+    }
+
+    /**
+     * Loads decision table entries written as {@code bucket=STRATEGY:HEURISTIC}.
+     *
+     * @param properties The properties holding the table
+     */
+    public void load(Properties properties) {
+        for (String bucket : properties.stringPropertyNames()) {
+            table.put(bucket, Choice.parse(properties.getProperty(bucket)));
+        }
+    }
+
+    /**
+     * Stores the tuned decision table entries.
+     *
+     * @param properties The properties to write the table into
+     */
+    public void store(Properties properties) {
+        for (Map.Entry<String, Choice> entry : table.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package es.edu.ull.esit;
+
+import java.awt.Color;
+
+/**
+ * Plays a {@link SearchTrace} back on a node grid, forwards or backwards and
+ * at any speed, without running the search again.
+ * <p>
+ * Moving forward applies the colour of each event. To move backward, the
+ * colour every event replaced is worked out once when the player is created,
+ * so seeking costs one colour change per event crossed in either direction.
+ */
+public class TracePlayer {
+
+    /** Default playback speed, in events per second. */
+    public static final double DEFAULT_SPEED = 50;
+
+    // Colour codes: the MazeGrid types, then FIRST_EVENT_CODE + event type
+    private static final int FIRST_EVENT_CODE = 4;
+
+    private final SearchTrace trace;
+    private final Node[][] nodes;
+    private final byte[] previous;
+    private int position;
+    private double speed = DEFAULT_SPEED;
+    private double pendingSteps;
+    private boolean paused;
+
+    /**
+     * Constructs a player at the start of the trace.
+     * The nodes are expected to show the maze of the trace.
+     *
+     * @param trace The trace to play
+     * @param nodes The node grid to show it on
+     * @throws IllegalArgumentException If the grid does not have the size of the traced maze
+     */
+    public TracePlayer(SearchTrace trace, Node[][] nodes) {
+        MazeGrid maze = trace.getMaze();
+        if (nodes.length != maze.getWidth() || (nodes.length > 0 && nodes[0].length != maze.getHeight())) {
+            throw new IllegalArgumentException("The grid is not " + maze.getWidth() + "x" + maze.getHeight());
+        }
+        this.trace = trace;
+        this.nodes = nodes;
+        previous = new byte[trace.size()];
+        byte[] state = maze.getCells().clone();
+        for (int i = 0; i < previous.length; i++) {
+            int cell = trace.getCell(i);
+            previous[i] = state[cell];
+            state[cell] = (byte) (FIRST_EVENT_CODE + trace.getType(i));
+        }
+    }
+
+    /**
+     * Moves to a position, applying or undoing the events in between.
+     *
+     * @param target The number of events to show, clamped to the trace
+     */
+    public void seek(int target) {
+        target = Math.max(0, Math.min(trace.size(), target));
+        while (position < target) {
+            show(trace.getCell(position), FIRST_EVENT_CODE + trace.getType(position));
+            position++;
+        }
+        while (position > target) {
+            position--;
+            show(trace.getCell(position), previous[position]);
+        }
+    }
+
+    /**
+     * Moves by a number of events.
+     *
+     * @param events The number of events; negative moves backward
+     */
+    public void step(int events) {
+        seek((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, (long) position + events)));
+    }
+
+    /**
+     * Advances the playback by the time elapsed since the last call.
+     *
+     * @param elapsedNanos The elapsed time in nanoseconds
+     * @return true if the position changed
+     */
+    public boolean advance(long elapsedNanos) {
+        if (paused) {
+            return false;
+        }
+        pendingSteps += speed * elapsedNanos / 1e9;
+        int steps = (int) pendingSteps;
+        pendingSteps -= steps;
+        int before = position;
+        step(steps);
+        return position != before;
+    }
+
+    private void show(int cell, int code) {
+        int height = trace.getMaze().getHeight();
+        Color color = code < FIRST_EVENT_CODE ? MazeGrid.colorOf(code) : SearchTrace.colorOf(code - FIRST_EVENT_CODE);
+        nodes[cell / height][cell % height].setColor(color);
+    }
+
+    /**
+     * Gets the number of events shown.
+     *
+     * @return The position in the trace
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the trace being played.
+     *
+     * @return The trace
+     */
+    public SearchTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Gets the playback speed.
+     *
+     * @return The speed in events per second; negative plays backward
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Sets the playback speed.
+     *
+     * @param speed The speed in events per second; negative plays backward
+     */
+    public void setSpeed(double speed) {
+        this.speed = speed;
+        pendingSteps = 0;
+    }
+
+    /**
+     * Checks whether the playback is paused.
+     *
+     * @return true if {@link #advance(long)} does not move
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Pauses or resumes the playback.
+     *
+     * @param paused true to pause
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        pendingSteps = 0;
+    }
+}
@@ -10,6 +10,93 @@ import java.util.List;
  */
 public abstract class AbstractSearchAlgorithm implements SearchAlgorithm {
 
+    private Heuristic heuristic = Heuristic.EUCLIDEAN;
+    private SearchStats stats = new SearchStats();
+    private SearchHeatmap heatmap;
+
+    /**
+     * Gets the heuristic used to estimate the distance to the target.
+     *
+     * @return The current heuristic
+     */
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Sets the heuristic used to estimate the distance to the target.
+     * Only informed algorithms (A*, Greedy Best-First) take it into account.
+     *
+     * @param heuristic The heuristic to use
+     */
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Gets the counters of the running or last search.
+     *
+     * @return The search counters
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Sets the counters the searches update, e.g. to share them with a
+     * display.
+     *
+     * @param stats The search counters
+     */
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Gets the heatmap the searches fill.
+     *
+     * @return The heatmap, or null if the searches do not record one
+     */
+    public SearchHeatmap getHeatmap() {
+        return heatmap;
+    }
+
+    /**
+     * Sets a heatmap to count the expansions and frontier entries of every
+     * cell in, or null to stop counting them.
+     *
+     * @param heatmap The heatmap, with the size of the searched grid
+     */
+    public void setHeatmap(SearchHeatmap heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * Counts a node taken from the frontier and expanded.
+     *
+     * @param node         The expanded node
+     * @param frontierSize The number of nodes left in the frontier
+     */
+    protected void expanded(Node node, int frontierSize) {
+        stats.expanded(frontierSize);
+        if (heatmap != null) {
+            heatmap.expanded(node);
+        }
+    }
+
+    /**
+     * Counts a node added to the frontier.
+     *
+     * @param node         The generated node
+     * @param frontierSize The number of nodes in the frontier after adding it
+     */
+    protected void generated(Node node, int frontierSize) {
+        stats.generated(frontierSize);
+        if (heatmap != null) {
+            heatmap.generated(node);
+        }
+    }
+
     /**
      * Reconstructs and displays the shortest path from start to end.
      * Backtracks from the end node using the previous node array.
@@ -25,16 +112,36 @@ public abstract class AbstractSearchAlgorithm implements SearchAlgorithm {
 
             if (pathConstructor != null) {
                 pathConstructor.setColor(Color.MAGENTA);
+                stats.pathStep();
             }
-            try {
-                Thread.sleep(searchTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+            if (!pause(searchTime)) {
+                return;
             }
         }
     }
 
+    /**
+     * Waits between two steps of the visualization.
+     * An interrupted search is cancelled: the interrupt flag is kept and the
+     * caller is expected to stop. A delay of 0 or less does not sleep at all,
+     * so headless searches and benchmarks only pay for the interrupt check.
+     *
+     * @param searchTime The delay time in milliseconds
+     * @return true to go on, false if the thread was interrupted
+     */
+    protected static boolean pause(int searchTime) {
+        if (searchTime <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(searchTime);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     /**
      * Selects the node with the lowest heuristic cost from a list.
      * Calculates both the heuristic distance to the end and distance from the start.
@@ -49,12 +156,12 @@ public abstract class AbstractSearchAlgorithm implements SearchAlgorithm {
             Node leastH = nodes.get(0);
             for (int i = 1; i < nodes.size(); i++) {
                 // h-cost: heuristic distance to end
-                double h1 = Node.distance(nodes.get(i), end);
+                double h1 = heuristic.estimate(nodes.get(i), end);
                 // g-cost: actual distance from start
                 double g1 = nodes.get(i).getgCost();
 
                 // h-cost: heuristic distance to end
-                double h2 = Node.distance(leastH, end);
+                double h2 = heuristic.estimate(leastH, end);
                 // g-cost: actual distance from start
                 double g2 = leastH.getgCost();
 
@@ -15,6 +15,7 @@ public class AstarAlgorithm extends AbstractSearchAlgorithm {
     public void search(Node start, Node targetNode, int graphWidth, int graphHeight, int searchTime) {
         List<Node> openList = new ArrayList<Node>();
         Node[][] prev = new Node[graphWidth][graphHeight];
+        Node goal = null;
 
         // Initialize g-cost for start node
         start.setgCost(0);
@@ -27,16 +28,15 @@ public class AstarAlgorithm extends AbstractSearchAlgorithm {
 
             if (curNode.isEnd()) {
                 curNode.setColor(Color.MAGENTA);
+                goal = curNode;
                 break;
             }
             curNode.setColor(Color.ORANGE);
-            try {
-                Thread.sleep(searchTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+            if (!pause(searchTime)) {
+                return;
             }
             curNode.setColor(Color.BLUE);
+            expanded(curNode, openList.size());
             for (Node adjacent : curNode.getNeighbours()) {
                 if (adjacent.isSearched()) {
                     continue;
@@ -51,11 +51,15 @@ public class AstarAlgorithm extends AbstractSearchAlgorithm {
                     adjacent.setgCost(tentativeGCost);
                     if (!openList.contains(adjacent)) {
                         openList.add(adjacent);
+                        generated(adjacent, openList.size());
                     }
                 }
             }
 
         }
-        shortpath(prev, targetNode, searchTime);
+        // Any end node stops the search, so draw the path to the one reached
+        if (goal != null) {
+            shortpath(prev, goal, searchTime);
+        }
     }
 }
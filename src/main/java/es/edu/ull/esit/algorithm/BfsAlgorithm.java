@@ -16,31 +16,36 @@ public class BfsAlgorithm extends AbstractSearchAlgorithm {
         Queue<Node> queue = new LinkedList<>();
         Node[][] prev = new Node[graphWidth][graphHeight];
 
+        Node goal = null;
+
         queue.add(start);
         while (!queue.isEmpty()) {
 
             Node curNode = queue.poll();
             if (curNode.isEnd()) {
                 curNode.setColor(Color.MAGENTA);
+                goal = curNode;
                 break;
             }
 
             if (!curNode.isSearched()) {
                 curNode.setColor(Color.ORANGE);
-                try {
-                    Thread.sleep(searchTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
+                if (!pause(searchTime)) {
+                    return;
                 }
                 curNode.setColor(Color.BLUE);
+                expanded(curNode, queue.size());
                 for (Node adjacent : curNode.getNeighbours()) {
                     queue.add(adjacent);
+                    generated(adjacent, queue.size());
                     prev[adjacent.getX()][adjacent.getY()] = curNode;
                 }
             }
         }
 
-        shortpath(prev, end, searchTime);
+        // Any end node stops the search, so draw the path to the one reached
+        if (goal != null) {
+            shortpath(prev, goal, searchTime);
+        }
     }
 }
@@ -34,13 +34,11 @@ public class BidirectionalSearchAlgorithm extends AbstractSearchAlgorithm {
         while (!queueStart.isEmpty() && !queueEnd.isEmpty()) {
             Node nodeStart = queueStart.poll();
             nodeStart.setColor(Color.ORANGE);
-            try {
-                Thread.sleep(searchTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+            if (!pause(searchTime)) {
+                return;
             }
             nodeStart.setColor(Color.BLUE);
+            expanded(nodeStart, queueStart.size() + queueEnd.size());
 
             for (Node neighbor : nodeStart.getNeighbours()) {
                 int neighborIndex = neighbor.getX() * graphHeight + neighbor.getY();
@@ -48,6 +46,7 @@ public class BidirectionalSearchAlgorithm extends AbstractSearchAlgorithm {
                     visitedStart[neighborIndex] = true;
                     prevStart[neighbor.getX()][neighbor.getY()] = nodeStart;
                     queueStart.add(neighbor);
+                    generated(neighbor, queueStart.size() + queueEnd.size());
 
                     if (visitedEnd[neighborIndex]) {
                         meetingPoint = neighbor;
@@ -60,13 +59,11 @@ public class BidirectionalSearchAlgorithm extends AbstractSearchAlgorithm {
 
             Node nodeEnd = queueEnd.poll();
             nodeEnd.setColor(Color.ORANGE);
-            try {
-                Thread.sleep(searchTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+            if (!pause(searchTime)) {
+                return;
             }
             nodeEnd.setColor(Color.BLUE);
+            expanded(nodeEnd, queueStart.size() + queueEnd.size());
 
             for (Node neighbor : nodeEnd.getNeighbours()) {
                 int neighborIndex = neighbor.getX() * graphHeight + neighbor.getY();
@@ -74,6 +71,7 @@ public class BidirectionalSearchAlgorithm extends AbstractSearchAlgorithm {
                     visitedEnd[neighborIndex] = true;
                     prevEnd[neighbor.getX()][neighbor.getY()] = nodeEnd;
                     queueEnd.add(neighbor);
+                    generated(neighbor, queueStart.size() + queueEnd.size());
 
                     if (visitedStart[neighborIndex]) {
                         meetingPoint = neighbor;
@@ -0,0 +1,23 @@
+package es.edu.ull.esit.algorithm;
+
+/**
+ * Search algorithm that trades path quality for speed within a known bound.
+ * Implementations guarantee a path whose cost is at most {@code w} times the
+ * optimal cost, where {@code w} is the suboptimality bound.
+ */
+public interface BoundedSearchAlgorithm extends SearchAlgorithm {
+
+    /**
+     * Sets the suboptimality bound.
+     *
+     * @param bound The factor w >= 1 by which the path may exceed the optimal cost
+     */
+    void setSuboptimalityBound(double bound);
+
+    /**
+     * Gets the suboptimality bound.
+     *
+     * @return The factor w by which the path may exceed the optimal cost
+     */
+    double getSuboptimalityBound();
+}
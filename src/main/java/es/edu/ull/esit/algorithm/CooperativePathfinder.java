@@ -0,0 +1,454 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cooperative multi-agent pathfinder.
+ * Agents are planned one after another with a space-time A* that may wait in
+ * place, and each plan is written to a shared {@link ReservationTable} so the
+ * following agents route around it (Cooperative A*). Vertex conflicts (two
+ * agents on one cell) and swap conflicts (two agents crossing on one edge) are
+ * both avoided. The heuristic is the true distance to the goal ignoring other
+ * agents, computed once per goal with a reverse BFS.
+ * <p>
+ * The windowed variant (WHCA*) only reserves a window of steps ahead,
+ * executes half of it and replans with rotated priorities, which keeps
+ * planning cheap and lets agents that were blocked early get ahead later.
+ */
+public class CooperativePathfinder {
+
+    private final int graphHeight;
+    private final int cells;
+    private final Node[] nodes;
+    private final boolean[] blocked;
+    private final Map<Integer, int[]> distanceCache = new HashMap<>();
+
+    /**
+     * Constructs a pathfinder over a maze grid. Walls are read once, so the
+     * grid must not change while the pathfinder is in use.
+     *
+     * @param grid The 2D array of nodes representing the maze
+     */
+    public CooperativePathfinder(Node[][] grid) {
+        int graphWidth = grid.length;
+        graphHeight = graphWidth == 0 ? 0 : grid[0].length;
+        cells = graphWidth * graphHeight;
+        nodes = new Node[cells];
+        blocked = new boolean[cells];
+        for (int i = 0; i < graphWidth; i++) {
+            for (int j = 0; j < graphHeight; j++) {
+                nodes[i * graphHeight + j] = grid[i][j];
+                blocked[i * graphHeight + j] = grid[i][j].isWall();
+            }
+        }
+    }
+
+    /**
+     * Plans all agents over the full horizon with Cooperative A*.
+     * Agents are planned in list order; an agent that finds no collision-free
+     * path stays on its start cell and gets an empty path. If an agent planned
+     * earlier would pass over the start cell of such an agent, the blocked
+     * agent is moved to the front of the order and all agents are replanned.
+     * After one reorder per agent, unplanned agents keep their start cells
+     * until they are planned, which is always collision-free.
+     *
+     * @param starts The start node of each agent
+     * @param goals  The goal node of each agent
+     * @return For each agent, the node it occupies at every time step
+     */
+    public List<List<Node>> plan(List<Node> starts, List<Node> goals) {
+        int agents = starts.size();
+        int[] from = new int[agents];
+        int[] to = new int[agents];
+        int[] order = new int[agents];
+        for (int agent = 0; agent < agents; agent++) {
+            from[agent] = index(starts.get(agent));
+            to[agent] = index(goals.get(agent));
+            order[agent] = agent;
+        }
+
+        int[][] paths = new int[agents][];
+        for (int attempt = 0;; attempt++) {
+            int blockedAgent = planInOrder(from, to, order, attempt >= agents, paths);
+            if (blockedAgent < 0) {
+                break;
+            }
+            int k = 0;
+            while (order[k] != blockedAgent) {
+                k++;
+            }
+            System.arraycopy(order, 0, order, 1, k);
+            order[0] = blockedAgent;
+        }
+
+        List<List<Node>> result = new ArrayList<>(agents);
+        for (int[] path : paths) {
+            result.add(path == null ? Collections.<Node>emptyList() : toNodes(path, path.length));
+        }
+        return result;
+    }
+
+    /**
+     * Plans every agent once, in the given order.
+     *
+     * @param from  The start cell of each agent
+     * @param to    The goal cell of each agent
+     * @param order The agents, by priority
+     * @param hold  true to keep the start cells of unplanned agents free for them
+     * @param paths Receives the path of each agent, or null for agents without path
+     * @return An agent without path whose start cell was taken by an agent planned before it, or -1
+     */
+    private int planInOrder(int[] from, int[] to, int[] order, boolean hold, int[][] paths) {
+        ReservationTable table = new ReservationTable(cells);
+        int[] holders = new int[cells];
+        Arrays.fill(holders, -1);
+        for (int agent = 0; agent < from.length; agent++) {
+            table.reserve(from[agent], 0, agent);
+            if (hold) {
+                holders[from[agent]] = agent;
+            }
+        }
+
+        for (int agent : order) {
+            int start = from[agent];
+            holders[start] = -1;
+            // Once the table stops changing, any path needs at most one step per cell
+            int[] path = findPath(start, to[agent], 0, table.getLastTime() + cells, false, table, holders, agent);
+            paths[agent] = path;
+            if (path == null) {
+                if (!hold && !table.canPark(start, 1)) {
+                    return agent;
+                }
+                table.park(start, 1, agent);
+                continue;
+            }
+            reservePath(table, path, 0, agent);
+            table.park(path[path.length - 1], path.length - 1, agent);
+        }
+        return -1;
+    }
+
+    /**
+     * Plans all agents with Windowed Hierarchical Cooperative A*.
+     * Every round reserves {@code window} steps for each agent, executes half
+     * of them and replans from the new positions with the next agent first.
+     * An agent that cannot fill its window is moved to the front of the round
+     * and the round is replanned; after one reorder per agent, agents not
+     * planned yet keep their cell for the whole window, so they can always wait.
+     *
+     * @param starts   The start node of each agent
+     * @param goals    The goal node of each agent
+     * @param window   The number of time steps reserved ahead in each round
+     * @param maxSteps The maximum number of time steps to simulate
+     * @return For each agent, the node it occupies at every time step
+     */
+    public List<List<Node>> planWindowed(List<Node> starts, List<Node> goals, int window, int maxSteps) {
+        int agents = starts.size();
+        int[] positions = new int[agents];
+        int[] targets = new int[agents];
+        List<List<Node>> paths = new ArrayList<>();
+        for (int agent = 0; agent < agents; agent++) {
+            positions[agent] = index(starts.get(agent));
+            targets[agent] = index(goals.get(agent));
+            paths.add(new ArrayList<>(Collections.singletonList(starts.get(agent))));
+        }
+        int steps = Math.max(1, window / 2);
+        int[][] partial = new int[agents][];
+        int[] order = new int[agents];
+
+        for (int time = 0, round = 0; time < maxSteps && !Arrays.equals(positions, targets); time += steps, round++) {
+            for (int k = 0; k < agents; k++) {
+                order[k] = (k + round) % agents;
+            }
+            for (int attempt = 0;; attempt++) {
+                int blockedAgent = planRound(positions, targets, time, window, order, attempt >= agents, partial);
+                if (blockedAgent < 0) {
+                    break;
+                }
+                int k = 0;
+                while (order[k] != blockedAgent) {
+                    k++;
+                }
+                System.arraycopy(order, 0, order, 1, k);
+                order[0] = blockedAgent;
+            }
+            for (int agent = 0; agent < agents; agent++) {
+                for (int s = 1; s <= steps; s++) {
+                    paths.get(agent).add(nodes[partial[agent][s]]);
+                }
+                positions[agent] = partial[agent][steps];
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Plans one window for every agent, in the given order.
+     *
+     * @param positions The cell of each agent when the window starts
+     * @param targets   The goal cell of each agent
+     * @param time      The time step when the window starts
+     * @param window    The number of time steps to reserve
+     * @param order     The agents, by priority
+     * @param hold      true to keep the cells of unplanned agents free for them
+     * @param partial   Receives the {@code window + 1} cells of each agent
+     * @return An agent that could not fill its window, or -1
+     */
+    private int planRound(int[] positions, int[] targets, int time, int window, int[] order, boolean hold,
+            int[][] partial) {
+        ReservationTable table = new ReservationTable(cells);
+        int[] holders = new int[cells];
+        Arrays.fill(holders, -1);
+        for (int agent = 0; agent < positions.length; agent++) {
+            table.reserve(positions[agent], time, agent);
+            if (hold) {
+                holders[positions[agent]] = agent;
+            }
+        }
+        for (int agent : order) {
+            holders[positions[agent]] = -1;
+            int[] path = findPath(positions[agent], targets[agent], time, window, true, table, holders, agent);
+            if (path == null) {
+                if (!hold) {
+                    return agent;
+                }
+                // Nobody planned before may enter the held cell, so waiting is always free
+                path = new int[] { positions[agent] };
+            }
+            // Agents that arrive early keep their cell until the window ends
+            int[] padded = Arrays.copyOf(path, window + 1);
+            for (int t = path.length; t <= window; t++) {
+                padded[t] = path[path.length - 1];
+            }
+            reservePath(table, padded, time, agent);
+            partial[agent] = padded;
+        }
+        return -1;
+    }
+
+    private static void reservePath(ReservationTable table, int[] path, int t0, int agent) {
+        for (int t = 0; t < path.length; t++) {
+            if (!table.reserve(path[t], t0 + t, agent)) {
+                throw new IllegalStateException("Agent " + agent + " collides at step " + (t0 + t));
+            }
+        }
+    }
+
+    /**
+     * Space-time A* for one agent. After the last time step of the table the
+     * reservations no longer change, so from then on every cell is searched
+     * at most once, as in plain A*.
+     *
+     * @param start    The start cell
+     * @param goal     The goal cell
+     * @param t0       The time step at which the agent is on the start cell
+     * @param horizon  The number of steps the search may look ahead
+     * @param windowed true to stop at the end of the horizon (WHCA*)
+     * @param table    The reservations of the agents planned so far
+     * @param holders  The agent keeping each cell free for itself, or -1
+     * @param agent    The agent being planned
+     * @return The cell for each time step from {@code t0}, or null if no path exists
+     */
+    private int[] findPath(int start, int goal, int t0, int horizon, boolean windowed, ReservationTable table,
+            int[] holders, int agent) {
+        int[] h = distances(goal);
+        boolean reachable = h[start] >= 0;
+        if (!reachable && !windowed) {
+            return null;
+        }
+        int end = t0 + horizon;
+        int last = table.getLastTime();
+        boolean[] settled = null;
+        StateHeap open = new StateHeap();
+        LongIntHashMap parents = new LongIntHashMap();
+        parents.put(key(start, t0), -1);
+        open.push(reachable ? h[start] : 0, 0, start);
+
+        while (!open.isEmpty()) {
+            int t = t0 + open.peekSteps();
+            int cell = open.pop();
+            if (t > last) {
+                if (settled == null) {
+                    settled = new boolean[cells];
+                }
+                if (settled[cell]) {
+                    continue;
+                }
+                settled[cell] = true;
+            }
+
+            if ((cell == goal && table.canPark(cell, t)) || (windowed && t == end)) {
+                int[] path = new int[t - t0 + 1];
+                for (int step = t, c = cell; step >= t0; step--) {
+                    path[step - t0] = c;
+                    c = parents.get(key(c, step), -1);
+                }
+                return path;
+            }
+            if (t >= end) {
+                continue;
+            }
+            // Waiting only helps while reservations still change
+            for (int move = t > last ? 1 : 0; move < 5; move++) {
+                int next = move(cell, move);
+                if (next < 0 || blocked[next] || (reachable && h[next] < 0)) {
+                    continue;
+                }
+                if (holders[next] != -1 && holders[next] != agent) {
+                    continue;
+                }
+                int occupant = table.owner(next, t + 1);
+                if (occupant != -1 && occupant != agent) {
+                    continue;
+                }
+                // Swap conflict: the agent on the next cell moves onto ours
+                int swapper = table.owner(next, t);
+                if (next != cell && swapper != -1 && swapper != agent && swapper == table.owner(cell, t + 1)) {
+                    continue;
+                }
+                if (parents.putIfAbsent(key(next, t + 1), cell)) {
+                    open.push(t + 1 - t0 + (reachable ? h[next] : 0), t + 1 - t0, next);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the cell reached by a move: 0 waits, 1-4 go left, right, up, down.
+     *
+     * @return The destination cell, or -1 if it lies outside the grid
+     */
+    private int move(int cell, int move) {
+        int y = cell % graphHeight;
+        switch (move) {
+        case 0:
+            return cell;
+        case 1:
+            return cell >= graphHeight ? cell - graphHeight : -1;
+        case 2:
+            return cell + graphHeight < cells ? cell + graphHeight : -1;
+        case 3:
+            return y > 0 ? cell - 1 : -1;
+        default:
+            return y < graphHeight - 1 ? cell + 1 : -1;
+        }
+    }
+
+    /**
+     * Computes, with a reverse BFS, the number of steps from every cell to a
+     * goal ignoring other agents. Results are cached per goal.
+     *
+     * @return The distance of each cell, or -1 for unreachable cells
+     */
+    private int[] distances(int goal) {
+        int[] cached = distanceCache.get(goal);
+        if (cached != null) {
+            return cached;
+        }
+        int[] distance = new int[cells];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[cells];
+        int head = 0;
+        int tail = 0;
+        if (!blocked[goal]) {
+            distance[goal] = 0;
+            queue[tail++] = goal;
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int move = 1; move < 5; move++) {
+                int next = move(cell, move);
+                if (next >= 0 && !blocked[next] && distance[next] < 0) {
+                    distance[next] = distance[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        distanceCache.put(goal, distance);
+        return distance;
+    }
+
+    private long key(int cell, int time) {
+        return (long) time * cells + cell;
+    }
+
+    private int index(Node node) {
+        return node.getX() * graphHeight + node.getY();
+    }
+
+    private List<Node> toNodes(int[] path, int length) {
+        List<Node> result = new ArrayList<>(length);
+        for (int t = 0; t < length; t++) {
+            result.add(nodes[path[t]]);
+        }
+        return result;
+    }
+
+    /**
+     * Binary min-heap of space-time states ordered by f, preferring states
+     * further in time on ties. Stores primitives only.
+     */
+    private static final class StateHeap {
+
+        private long[] priorities = new long[64];
+        private int[] cellsOf = new int[64];
+        private int size;
+
+        void push(int f, int steps, int cell) {
+            if (size == priorities.length) {
+                priorities = Arrays.copyOf(priorities, size * 2);
+                cellsOf = Arrays.copyOf(cellsOf, size * 2);
+            }
+            long priority = ((long) f << 32) | (Integer.MAX_VALUE - steps);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (priorities[parent] <= priority) {
+                    break;
+                }
+                priorities[i] = priorities[parent];
+                cellsOf[i] = cellsOf[parent];
+                i = parent;
+            }
+            priorities[i] = priority;
+            cellsOf[i] = cell;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peekSteps() {
+            return Integer.MAX_VALUE - (int) priorities[0];
+        }
+
+        int pop() {
+            int top = cellsOf[0];
+            long priority = priorities[--size];
+            int cell = cellsOf[size];
+            int i = 0;
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    child++;
+                }
+                if (priority <= priorities[child]) {
+                    break;
+                }
+                priorities[i] = priorities[child];
+                cellsOf[i] = cellsOf[child];
+                i = child;
+            }
+            priorities[i] = priority;
+            cellsOf[i] = cell;
+            return top;
+        }
+    }
+}
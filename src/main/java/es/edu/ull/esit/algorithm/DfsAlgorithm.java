@@ -21,22 +21,21 @@ public class DfsAlgorithm extends AbstractSearchAlgorithm {
             Node curNode = nodes.pop();
             if (curNode.isEnd()) {
                 curNode.setColor(Color.MAGENTA);
-                shortpath(prev, end, searchTime);
+                shortpath(prev, curNode, searchTime);
                 break;
             }
 
             if (!curNode.isSearched()) {
                 curNode.setColor(Color.ORANGE);
-                try {
-                    Thread.sleep(searchTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
+                if (!pause(searchTime)) {
+                    return;
                 }
                 curNode.setColor(Color.BLUE);
+                expanded(curNode, nodes.size());
                 for (Node adjacent : curNode.getNeighbours()) {
                     if (!adjacent.isSearched()) {
                         nodes.push(adjacent);
+                        generated(adjacent, nodes.size());
                         prev[adjacent.getX()][adjacent.getY()] = curNode;
                     }
                 }
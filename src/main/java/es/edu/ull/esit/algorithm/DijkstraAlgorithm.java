@@ -28,18 +28,16 @@ public class DijkstraAlgorithm extends AbstractSearchAlgorithm {
 
             if (curNode.isEnd()) {
                 curNode.setColor(Color.MAGENTA);
-                shortpath(prev, end, searchTime);
+                shortpath(prev, curNode, searchTime);
                 return;
             }
 
             curNode.setColor(Color.ORANGE);
-            try {
-                Thread.sleep(searchTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+            if (!pause(searchTime)) {
+                return;
             }
             curNode.setColor(Color.BLUE);
+            expanded(curNode, openList.size());
 
             for (Node adjacent : curNode.getNeighbours()) {
                 if (adjacent.isSearched()) {
@@ -52,6 +50,7 @@ public class DijkstraAlgorithm extends AbstractSearchAlgorithm {
                     prev[adjacent.getX()][adjacent.getY()] = curNode;
                     if (!openList.contains(adjacent)) {
                         openList.add(adjacent);
+                        generated(adjacent, openList.size());
                     }
                 }
             }
@@ -0,0 +1,357 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.io.MappedMazeFile;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Breadth-First Search for grids larger than the heap.
+ * The grid stays in a memory-mapped maze file and every BFS level is kept on
+ * disk as a sorted file of {@code long} cell indices. The next level is built
+ * by spilling the neighbours of the current level as sorted runs, merging the
+ * runs and removing duplicates against the current and previous levels
+ * (Munagala-Ranade). In an undirected grid those two levels are the only
+ * places a neighbour can already have been seen, so no visited set is needed
+ * and the heap use is bounded by the spill buffer.
+ */
+public class ExternalMemoryBfs {
+
+    private static final int MERGE_FAN_IN = 64;
+    private static final int IO_BUFFER = 1 << 16;
+
+    /**
+     * Outcome of an external-memory search.
+     */
+    public static final class Result {
+
+        private final long distance;
+        private final long reachable;
+        private final int levels;
+
+        private Result(long distance, long reachable, int levels) {
+            this.distance = distance;
+            this.reachable = reachable;
+            this.levels = levels;
+        }
+
+        /**
+         * Gets the number of steps from start to target.
+         *
+         * @return The shortest distance, or -1 if the target was not reached
+         */
+        public long getDistance() {
+            return distance;
+        }
+
+        /**
+         * Gets the number of cells visited before the search stopped.
+         * When no target is given this is the size of the reachable region.
+         *
+         * @return The number of visited cells
+         */
+        public long getReachable() {
+            return reachable;
+        }
+
+        /**
+         * Gets the number of BFS levels that were built.
+         *
+         * @return The number of levels
+         */
+        public int getLevels() {
+            return levels;
+        }
+    }
+
+    private final MappedMazeFile grid;
+    private final Path workDir;
+    private final long[] buffer;
+    private int fileCounter;
+
+    /**
+     * Constructs a new external-memory BFS.
+     *
+     * @param grid        The memory-mapped maze
+     * @param workDir     Directory where level and run files are written
+     * @param bufferCells Number of cell indices held in memory before spilling a run
+     */
+    public ExternalMemoryBfs(MappedMazeFile grid, Path workDir, int bufferCells) {
+        this.grid = grid;
+        this.workDir = workDir;
+        this.buffer = new long[bufferCells];
+    }
+
+    /**
+     * Computes the shortest distance between two cells.
+     *
+     * @param start  The start cell index, {@code x * height + y}
+     * @param target The target cell index, or -1 to explore the whole reachable region
+     * @return The search result
+     * @throws IOException If a level or run file cannot be written or read
+     */
+    public Result search(long start, long target) throws IOException {
+        if (grid.isWall(start)) {
+            return new Result(-1, 0, 0);
+        }
+        Path previous = writeLevel(new long[0], 0);
+        Path current = writeLevel(new long[] { start }, 1);
+        long reachable = 0;
+        int depth = 0;
+        boolean found = start == target;
+
+        try {
+            while (true) {
+                reachable += Files.size(current) / Long.BYTES;
+                if (found) {
+                    return new Result(depth, reachable, depth + 1);
+                }
+                Path next = newFile("level");
+                found = expand(current, previous, next, target);
+                Files.delete(previous);
+                previous = current;
+                current = next;
+                depth++;
+                if (Files.size(current) == 0) {
+                    return new Result(-1, reachable, depth);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(previous);
+            Files.deleteIfExists(current);
+        }
+    }
+
+    /**
+     * Counts the cells reachable from a start cell.
+     *
+     * @param start The start cell index
+     * @return The number of reachable cells, including the start
+     * @throws IOException If a level or run file cannot be written or read
+     */
+    public long countReachable(long start) throws IOException {
+        return search(start, -1).getReachable();
+    }
+
+    /**
+     * Builds the next BFS level from the current one.
+     *
+     * @return true if the target is in the next level
+     */
+    private boolean expand(Path current, Path previous, Path next, long target) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long height = grid.getHeight();
+        long cells = grid.getCellCount();
+        int size = 0;
+
+        try (LongReader reader = new LongReader(current)) {
+            while (reader.hasNext()) {
+                long cell = reader.next();
+                long y = cell % height;
+                for (int direction = 0; direction < 4; direction++) {
+                    long neighbour = neighbour(cell, y, height, cells, direction);
+                    if (neighbour < 0 || grid.isWall(neighbour)) {
+                        continue;
+                    }
+                    if (size == buffer.length) {
+                        runs.add(spill(size));
+                        size = 0;
+                    }
+                    buffer[size++] = neighbour;
+                }
+            }
+        }
+        if (size > 0) {
+            runs.add(spill(size));
+        }
+
+        while (runs.size() > MERGE_FAN_IN) {
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += MERGE_FAN_IN) {
+                List<Path> group = runs.subList(i, Math.min(i + MERGE_FAN_IN, runs.size()));
+                Path out = newFile("run");
+                merge(group, new ArrayList<Path>(), out, -1);
+                merged.add(out);
+            }
+            runs = merged;
+        }
+        List<Path> exclude = new ArrayList<>();
+        exclude.add(current);
+        exclude.add(previous);
+        return merge(runs, exclude, next, target);
+    }
+
+    /**
+     * Gets the index of a neighbouring cell.
+     *
+     * @return The neighbour index, or -1 if it lies outside the grid
+     */
+    private static long neighbour(long cell, long y, long height, long cells, int direction) {
+        switch (direction) {
+        case 0:
+            return cell >= height ? cell - height : -1;
+        case 1:
+            return cell + height < cells ? cell + height : -1;
+        case 2:
+            return y > 0 ? cell - 1 : -1;
+        default:
+            return y < height - 1 ? cell + 1 : -1;
+        }
+    }
+
+    /**
+     * Sorts the buffer, removes duplicates and writes it as a run file.
+     */
+    private Path spill(int size) throws IOException {
+        Arrays.sort(buffer, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || buffer[unique - 1] != buffer[i]) {
+                buffer[unique++] = buffer[i];
+            }
+        }
+        return writeLevel(buffer, unique);
+    }
+
+    /**
+     * Merges sorted runs into one sorted file without duplicates, skipping any
+     * value present in the excluded sorted files. Deletes the runs afterwards.
+     *
+     * @return true if the target was written
+     */
+    private boolean merge(List<Path> runs, List<Path> exclude, Path out, long target) throws IOException {
+        boolean found = false;
+        PriorityQueue<LongReader> heap = new PriorityQueue<>();
+        List<LongReader> excluded = new ArrayList<>();
+        try (DataOutputStream output = openOutput(out)) {
+            for (Path run : runs) {
+                LongReader reader = new LongReader(run);
+                if (reader.hasNext()) {
+                    heap.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            for (Path file : exclude) {
+                excluded.add(new LongReader(file));
+            }
+
+            long last = -1;
+            while (!heap.isEmpty()) {
+                LongReader reader = heap.poll();
+                long value = reader.next();
+                if (reader.hasNext()) {
+                    heap.add(reader);
+                } else {
+                    reader.close();
+                }
+                if (value == last) {
+                    continue;
+                }
+                last = value;
+                if (!isExcluded(excluded, value)) {
+                    output.writeLong(value);
+                    found |= value == target;
+                }
+            }
+        } finally {
+            for (LongReader reader : heap) {
+                reader.close();
+            }
+            for (LongReader reader : excluded) {
+                reader.close();
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+        return found;
+    }
+
+    private static boolean isExcluded(List<LongReader> excluded, long value) throws IOException {
+        boolean hit = false;
+        for (LongReader reader : excluded) {
+            while (reader.hasNext() && reader.peek() < value) {
+                reader.next();
+            }
+            hit |= reader.hasNext() && reader.peek() == value;
+        }
+        return hit;
+    }
+
+    private Path writeLevel(long[] values, int size) throws IOException {
+        Path file = newFile("run");
+        try (DataOutputStream output = openOutput(file)) {
+            for (int i = 0; i < size; i++) {
+                output.writeLong(values[i]);
+            }
+        }
+        return file;
+    }
+
+    private Path newFile(String prefix) {
+        return workDir.resolve(prefix + "-" + (fileCounter++) + ".bin");
+    }
+
+    private static DataOutputStream openOutput(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER));
+    }
+
+    /**
+     * Sequential reader of a sorted long file with one value of look-ahead.
+     */
+    private static final class LongReader implements Closeable, Comparable<LongReader> {
+
+        private final DataInputStream input;
+        private long head;
+        private boolean hasHead;
+
+        LongReader(Path file) throws IOException {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER));
+            advance();
+        }
+
+        private void advance() throws IOException {
+            try {
+                head = input.readLong();
+                hasHead = true;
+            } catch (EOFException e) {
+                hasHead = false;
+            }
+        }
+
+        boolean hasNext() {
+            return hasHead;
+        }
+
+        long peek() {
+            return head;
+        }
+
+        long next() throws IOException {
+            long value = head;
+            advance();
+            return value;
+        }
+
+        @Override
+        public int compareTo(LongReader other) {
+            return Long.compare(head, other.head);
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
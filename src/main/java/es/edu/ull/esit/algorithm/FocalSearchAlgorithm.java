@@ -0,0 +1,152 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import java.awt.Color;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Focal search (A*ε) pathfinding algorithm.
+ * Keeps the usual A* open list ordered by f = g + h, plus a focal list with
+ * every open node whose f is within w times the smallest f. Nodes are expanded
+ * from the focal list in order of a secondary heuristic, the estimated
+ * distance still to go, so the search dives towards the target while the
+ * path found stays within w times the optimal cost.
+ */
+public class FocalSearchAlgorithm extends AbstractSearchAlgorithm implements BoundedSearchAlgorithm {
+
+    private double weight = 1.5;
+
+    @Override
+    public void setSuboptimalityBound(double bound) {
+        this.weight = bound;
+    }
+
+    @Override
+    public double getSuboptimalityBound() {
+        return weight;
+    }
+
+    @Override
+    public void search(Node start, Node end, int graphWidth, int graphHeight, int searchTime) {
+        TreeSet<FocalEntry> openList = new TreeSet<>();
+        PriorityQueue<FocalEntry> focalList = new PriorityQueue<>(11, FocalEntry::compareFocal);
+        FocalEntry[] entries = new FocalEntry[graphWidth * graphHeight];
+        Node[][] prev = new Node[graphWidth][graphHeight];
+        double focalBound = Double.NEGATIVE_INFINITY;
+        long sequence = 0;
+        Node goal = null;
+
+        start.setgCost(0);
+        FocalEntry first = new FocalEntry(start, 0, getHeuristic().estimate(start, end), sequence++);
+        entries[start.getX() * graphHeight + start.getY()] = first;
+        openList.add(first);
+
+        while (!openList.isEmpty()) {
+            // Widen the focal list when the smallest f has grown
+            double newBound = weight * openList.first().f;
+            if (newBound > focalBound) {
+                FocalEntry from = new FocalEntry(null, 0, 0, Long.MAX_VALUE);
+                from.f = focalBound;
+                Iterator<FocalEntry> it = openList.tailSet(from, false).iterator();
+                while (it.hasNext()) {
+                    FocalEntry entry = it.next();
+                    if (entry.f > newBound) {
+                        break;
+                    }
+                    focalList.add(entry);
+                }
+                focalBound = newBound;
+            }
+
+            FocalEntry entry = focalList.poll();
+            if (entry.stale) {
+                continue;
+            }
+            openList.remove(entry);
+            Node curNode = entry.node;
+
+            if (curNode.isEnd()) {
+                curNode.setColor(Color.MAGENTA);
+                goal = curNode;
+                break;
+            }
+            curNode.setColor(Color.ORANGE);
+            if (!pause(searchTime)) {
+                return;
+            }
+            curNode.setColor(Color.BLUE);
+            expanded(curNode, openList.size());
+
+            for (Node adjacent : curNode.getNeighbours()) {
+                if (adjacent.isSearched()) {
+                    continue;
+                }
+                double tentativeGCost = curNode.getgCost() + Node.distance(curNode, adjacent);
+                if (tentativeGCost >= adjacent.getgCost()) {
+                    continue;
+                }
+                int index = adjacent.getX() * graphHeight + adjacent.getY();
+                FocalEntry old = entries[index];
+                if (old != null) {
+                    // Superseded entries leave the open list now and the focal list lazily
+                    openList.remove(old);
+                    old.stale = true;
+                }
+                prev[adjacent.getX()][adjacent.getY()] = curNode;
+                adjacent.setgCost(tentativeGCost);
+                FocalEntry next = new FocalEntry(adjacent, tentativeGCost,
+                        getHeuristic().estimate(adjacent, end), sequence++);
+                entries[index] = next;
+                openList.add(next);
+                generated(adjacent, openList.size());
+                if (next.f <= focalBound) {
+                    focalList.add(next);
+                }
+            }
+        }
+        // Any end node stops the search, so draw the path to the one reached
+        if (goal != null) {
+            shortpath(prev, goal, searchTime);
+        }
+    }
+
+    /**
+     * Entry shared by the open list (ordered by f) and the focal list
+     * (ordered by the distance still to go).
+     */
+    private static final class FocalEntry implements Comparable<FocalEntry> {
+
+        private final Node node;
+        private final double g;
+        private final double h;
+        private double f;
+        private final long sequence;
+        private boolean stale;
+
+        FocalEntry(Node node, double g, double h, long sequence) {
+            this.node = node;
+            this.g = g;
+            this.h = h;
+            this.f = g + h;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(FocalEntry other) {
+            int byCost = Double.compare(f, other.f);
+            return byCost != 0 ? byCost : Long.compare(sequence, other.sequence);
+        }
+
+        static int compareFocal(FocalEntry a, FocalEntry b) {
+            int byDistance = Double.compare(a.h, b.h);
+            if (byDistance != 0) {
+                return byDistance;
+            }
+            // Deeper nodes first, then insertion order
+            int byDepth = Double.compare(b.g, a.g);
+            return byDepth != 0 ? byDepth : Long.compare(a.sequence, b.sequence);
+        }
+    }
+}
@@ -24,23 +24,22 @@ public class GreedyBestFirstAlgorithm extends AbstractSearchAlgorithm {
 
             if (curNode.isEnd()) {
                 curNode.setColor(Color.MAGENTA);
-                shortpath(prev, end, searchTime);
+                shortpath(prev, curNode, searchTime);
                 return;
             }
 
             curNode.setColor(Color.ORANGE);
-            try {
-                Thread.sleep(searchTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+            if (!pause(searchTime)) {
+                return;
             }
             curNode.setColor(Color.BLUE);
+            expanded(curNode, openList.size());
 
             for (Node adjacent : curNode.getNeighbours()) {
                 if (!adjacent.isSearched() && !openList.contains(adjacent)) {
                     prev[adjacent.getX()][adjacent.getY()] = curNode;
                     openList.add(adjacent);
+                    generated(adjacent, openList.size());
                 }
             }
         }
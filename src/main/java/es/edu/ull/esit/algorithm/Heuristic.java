@@ -0,0 +1,51 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+
+/**
+ * Distance estimates available to informed search algorithms.
+ * All estimates use the same pixel units as {@link Node#distance(Node, Node)},
+ * so they can be mixed with the g-costs accumulated by the algorithms.
+ */
+public enum Heuristic {
+
+    /**
+     * Straight-line distance. Admissible on a four-connected grid.
+     */
+    EUCLIDEAN {
+        @Override
+        public double estimate(Node from, Node to) {
+            return Node.distance(from, to);
+        }
+    },
+
+    /**
+     * Sum of the horizontal and vertical offsets. The tightest admissible
+     * estimate on a four-connected grid, so it usually expands fewer nodes.
+     */
+    MANHATTAN {
+        @Override
+        public double estimate(Node from, Node to) {
+            return Node.manhattanDistance(from, to);
+        }
+    },
+
+    /**
+     * No estimate at all. Turns A* into Dijkstra's algorithm.
+     */
+    ZERO {
+        @Override
+        public double estimate(Node from, Node to) {
+            return 0;
+        }
+    };
+
+    /**
+     * Estimates the remaining cost between two nodes.
+     *
+     * @param from The node being evaluated
+     * @param to   The target node
+     * @return The estimated cost from {@code from} to {@code to}
+     */
+    public abstract double estimate(Node from, Node to);
+}
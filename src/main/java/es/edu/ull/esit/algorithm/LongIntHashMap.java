@@ -0,0 +1,107 @@
+package es.edu.ull.esit.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative {@code long} keys to {@code int}
+ * values, used for space-time states. Keys and values are kept in primitive
+ * arrays with linear probing, so lookups and insertions do not allocate.
+ * Entries cannot be removed.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs an empty map.
+     */
+    LongIntHashMap() {
+        keys = new long[64];
+        values = new int[64];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key     The key, not negative
+     * @param missing The value returned when the key is absent
+     * @return The value of the key, or {@code missing}
+     */
+    int get(long key, int missing) {
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? missing : values[slot];
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key   The key, not negative
+     * @param value The value
+     */
+    void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Sets the value of a key that is not in the map yet.
+     *
+     * @param key   The key, not negative
+     * @param value The value
+     * @return true if the key was added, false if it was already present
+     */
+    boolean putIfAbsent(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int slot = slot(key);
+        if (keys[slot] != EMPTY) {
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return true;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (mix(key) & mask);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Multi-goal Breadth-First Search.
+ * Every end (red) node is a goal. A single search from one or more sources
+ * finds the nearest goal, or ranks all reachable goals by distance, instead of
+ * running one search per goal.
+ */
+public class NearestGoalAlgorithm extends AbstractSearchAlgorithm {
+
+    /**
+     * A goal together with its distance to the nearest source.
+     */
+    public static final class GoalDistance {
+
+        private final Node goal;
+        private final Node source;
+        private final int distance;
+
+        private GoalDistance(Node goal, Node source, int distance) {
+            this.goal = goal;
+            this.source = source;
+            this.distance = distance;
+        }
+
+        /**
+         * Gets the goal node.
+         *
+         * @return The goal
+         */
+        public Node getGoal() {
+            return goal;
+        }
+
+        /**
+         * Gets the source the goal is closest to.
+         *
+         * @return The nearest source
+         */
+        public Node getSource() {
+            return source;
+        }
+
+        /**
+         * Gets the number of steps from the nearest source to the goal.
+         *
+         * @return The distance in steps
+         */
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    private Node nearestGoal;
+
+    /**
+     * Searches from the start node until the nearest goal is reached and
+     * draws the path to it. The {@code end} argument is not needed to stop
+     * the search: any end node is a goal.
+     */
+    @Override
+    public void search(Node start, Node end, int graphWidth, int graphHeight, int searchTime) {
+        search(Collections.singletonList(start), graphWidth, graphHeight, searchTime);
+    }
+
+    /**
+     * Searches from several sources at once until the nearest goal is reached
+     * and draws the path to it.
+     *
+     * @param sources     The source nodes
+     * @param graphWidth  The width of the grid
+     * @param graphHeight The height of the grid
+     * @param searchTime  The delay time in milliseconds for visualization
+     */
+    public void search(Collection<Node> sources, int graphWidth, int graphHeight, int searchTime) {
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        Node[][] prev = new Node[graphWidth][graphHeight];
+        boolean[] visited = new boolean[graphWidth * graphHeight];
+        nearestGoal = null;
+
+        for (Node source : sources) {
+            visited[source.getX() * graphHeight + source.getY()] = true;
+            queue.add(source);
+        }
+        while (!queue.isEmpty()) {
+            Node curNode = queue.poll();
+            if (curNode.isEnd()) {
+                curNode.setColor(Color.MAGENTA);
+                nearestGoal = curNode;
+                break;
+            }
+
+            curNode.setColor(Color.ORANGE);
+            if (!pause(searchTime)) {
+                return;
+            }
+            curNode.setColor(Color.BLUE);
+            expanded(curNode, queue.size());
+            for (Node adjacent : curNode.getNeighbours()) {
+                int index = adjacent.getX() * graphHeight + adjacent.getY();
+                if (!visited[index]) {
+                    visited[index] = true;
+                    prev[adjacent.getX()][adjacent.getY()] = curNode;
+                    queue.add(adjacent);
+                    generated(adjacent, queue.size());
+                }
+            }
+        }
+
+        if (nearestGoal != null) {
+            shortpath(prev, nearestGoal, searchTime);
+        }
+    }
+
+    /**
+     * Gets the goal reached by the last visual search.
+     *
+     * @return The nearest goal, or null if none was reachable
+     */
+    public Node getNearestGoal() {
+        return nearestGoal;
+    }
+
+    /**
+     * Ranks the reachable goals by distance to the nearest source in one
+     * pass, without changing node colours.
+     *
+     * @param sources     The source nodes
+     * @param graphWidth  The width of the grid
+     * @param graphHeight The height of the grid
+     * @param limit       The maximum number of goals to return, or 0 for all
+     * @return The goals ordered from nearest to farthest
+     */
+    public List<GoalDistance> rankGoals(Collection<Node> sources, int graphWidth, int graphHeight, int limit) {
+        List<GoalDistance> ranked = new ArrayList<>();
+        int[] distance = new int[graphWidth * graphHeight];
+        Node[] origin = new Node[graphWidth * graphHeight];
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+
+        for (Node source : sources) {
+            int index = source.getX() * graphHeight + source.getY();
+            if (origin[index] == null) {
+                origin[index] = source;
+                queue.add(source);
+            }
+        }
+        while (!queue.isEmpty()) {
+            Node curNode = queue.poll();
+            int index = curNode.getX() * graphHeight + curNode.getY();
+            if (curNode.isEnd()) {
+                // BFS order is distance order, so goals come out ranked
+                ranked.add(new GoalDistance(curNode, origin[index], distance[index]));
+                if (ranked.size() == limit) {
+                    break;
+                }
+            }
+            for (Node adjacent : curNode.getNeighbours()) {
+                int next = adjacent.getX() * graphHeight + adjacent.getY();
+                if (origin[next] == null) {
+                    origin[next] = origin[index];
+                    distance[next] = distance[index] + 1;
+                    queue.add(adjacent);
+                }
+            }
+        }
+        return ranked;
+    }
+}
@@ -0,0 +1,106 @@
+package es.edu.ull.esit.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Space-time reservation table for cooperative multi-agent pathfinding.
+ * Records which agent occupies each cell at each time step, plus agents that
+ * have parked on a cell for good once they reached their goal. Reservations
+ * are stored in an open-addressing hash of {@code time * cells + cell} keys, so
+ * lookups do not allocate. A slot belongs to the first agent that reserves it.
+ */
+public class ReservationTable {
+
+    private final int cells;
+    private final int[] lastReserved;
+    private final int[] parkedSince;
+    private final int[] parkedBy;
+    private final LongIntHashMap owners = new LongIntHashMap();
+    private int lastTime = -1;
+
+    /**
+     * Constructs an empty reservation table.
+     *
+     * @param cells The number of cells of the grid
+     */
+    public ReservationTable(int cells) {
+        this.cells = cells;
+        lastReserved = new int[cells];
+        parkedSince = new int[cells];
+        parkedBy = new int[cells];
+        Arrays.fill(lastReserved, -1);
+        Arrays.fill(parkedSince, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reserves a cell for an agent at a time step, unless another agent
+     * already occupies it then.
+     *
+     * @param cell  The cell index
+     * @param time  The time step
+     * @param agent The agent id
+     * @return true if the cell is now reserved for the agent, false if another agent holds it
+     */
+    public boolean reserve(int cell, int time, int agent) {
+        int occupant = owner(cell, time);
+        if (occupant != -1) {
+            return occupant == agent;
+        }
+        owners.put((long) time * cells + cell, agent);
+        lastReserved[cell] = Math.max(lastReserved[cell], time);
+        lastTime = Math.max(lastTime, time);
+        return true;
+    }
+
+    /**
+     * Reserves a cell for an agent from a time step onwards.
+     *
+     * @param cell  The cell index
+     * @param time  The first time step the agent stays on the cell
+     * @param agent The agent id
+     */
+    public void park(int cell, int time, int agent) {
+        parkedSince[cell] = time;
+        parkedBy[cell] = agent;
+        lastTime = Math.max(lastTime, time);
+    }
+
+    /**
+     * Gets the agent occupying a cell at a time step.
+     *
+     * @param cell The cell index
+     * @param time The time step
+     * @return The agent id, or -1 if the cell is free
+     */
+    public int owner(int cell, int time) {
+        if (parkedSince[cell] <= time) {
+            return parkedBy[cell];
+        }
+        if (time > lastReserved[cell]) {
+            return -1;
+        }
+        return owners.get((long) time * cells + cell, -1);
+    }
+
+    /**
+     * Checks whether an agent can stay on a cell forever from a time step,
+     * that is, nobody has reserved it at that time or later.
+     *
+     * @param cell The cell index
+     * @param time The time step the agent arrives
+     * @return true if the cell stays free from {@code time} onwards
+     */
+    public boolean canPark(int cell, int time) {
+        return lastReserved[cell] < time && parkedSince[cell] == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the last time step with a reservation or a new parked agent. After
+     * it the table no longer changes with time.
+     *
+     * @return The last time step, or -1 if the table is empty
+     */
+    public int getLastTime() {
+        return lastTime;
+    }
+}
@@ -0,0 +1,167 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import java.util.Arrays;
+
+/**
+ * Per-cell work done by a search: how many times every cell was expanded and
+ * how many times it was added to the frontier.
+ * <p>
+ * Counts are kept in two {@code int[]} indexed by {@code x * height + y}.
+ * A cell expanded more than once was re-expanded (e.g. by A* after a cheaper
+ * path was found), and a cell added to the frontier more than once cost
+ * duplicate queue entries (as BFS and DFS do when several neighbours reach
+ * it). {@link es.edu.ull.esit.io.SearchHeatmapFormat} exports the counts as a
+ * PNG heatmap or as CSV.
+ * <p>
+ * A heatmap is filled by the thread running the search; read it once the
+ * search has finished.
+ */
+public class SearchHeatmap {
+
+    /**
+     * The counts a heatmap keeps per cell.
+     */
+    public enum Count {
+        /** Times the cell was expanded. */
+        EXPANDED,
+        /** Times the cell was added to the frontier. */
+        GENERATED
+    }
+
+    private final int width;
+    private final int height;
+    private final int[] expanded;
+    private final int[] generated;
+
+    /**
+     * Constructs an empty heatmap.
+     *
+     * @param width  The width of the grid
+     * @param height The height of the grid
+     * @throws IllegalArgumentException If the size is negative or too large
+     */
+    public SearchHeatmap(int width, int height) {
+        long size = (long) width * height;
+        if (width < 0 || height < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid heatmap size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        expanded = new int[(int) size];
+        generated = new int[(int) size];
+    }
+
+    /**
+     * Counts an expansion of a node.
+     *
+     * @param node The expanded node
+     */
+    public void expanded(Node node) {
+        expanded[node.getX() * height + node.getY()]++;
+    }
+
+    /**
+     * Counts a node added to the frontier.
+     *
+     * @param node The generated node
+     */
+    public void generated(Node node) {
+        generated[node.getX() * height + node.getY()]++;
+    }
+
+    /**
+     * Sets every count back to zero.
+     */
+    public void clear() {
+        Arrays.fill(expanded, 0);
+        Arrays.fill(generated, 0);
+    }
+
+    /**
+     * Gets the number of expansions of a cell.
+     *
+     * @param x The column
+     * @param y The row
+     * @return The expansion count
+     */
+    public int getExpanded(int x, int y) {
+        return expanded[x * height + y];
+    }
+
+    /**
+     * Gets the number of times a cell was added to the frontier.
+     *
+     * @param x The column
+     * @param y The row
+     * @return The generation count
+     */
+    public int getGenerated(int x, int y) {
+        return generated[x * height + y];
+    }
+
+    /**
+     * Gets the number of re-expansions of a cell: expansions after the first.
+     *
+     * @param x The column
+     * @param y The row
+     * @return The re-expansion count
+     */
+    public int getReexpanded(int x, int y) {
+        return Math.max(0, expanded[x * height + y] - 1);
+    }
+
+    /**
+     * Gets one of the counts of every cell, indexed by {@code x * height + y}.
+     *
+     * @param count The count to get
+     * @return The backing array, not a copy
+     */
+    public int[] getCounts(Count count) {
+        return count == Count.EXPANDED ? expanded : generated;
+    }
+
+    /**
+     * Gets the total number of re-expansions over every cell.
+     *
+     * @return The wasted expansions
+     */
+    public long getTotalReexpanded() {
+        long total = 0;
+        for (int count : expanded) {
+            total += Math.max(0, count - 1);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total number of duplicate frontier entries over every cell.
+     *
+     * @return The frontier entries beyond the first per cell
+     */
+    public long getTotalDuplicates() {
+        long total = 0;
+        for (int count : generated) {
+            total += Math.max(0, count - 1);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the width of the grid.
+     *
+     * @return The number of columns
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the grid.
+     *
+     * @return The number of rows
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,161 @@
+package es.edu.ull.esit.algorithm;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Live counters of a search: nodes expanded and generated, frontier size,
+ * path length and elapsed time.
+ * <p>
+ * The counters are written only by the thread running the search and kept
+ * in volatile fields, so other threads (the UI, a race panel) can read them
+ * at any time without locking. The search updates them with ordered stores
+ * ({@code lazySet}), which skip the full fence of a volatile write: a reader
+ * may see a count a little late, but never a torn one, and everything is
+ * visible once {@link #end()} has run.
+ */
+public class SearchStats {
+
+    private static final AtomicLongFieldUpdater<SearchStats> EXPANDED =
+            AtomicLongFieldUpdater.newUpdater(SearchStats.class, "expanded");
+    private static final AtomicLongFieldUpdater<SearchStats> GENERATED =
+            AtomicLongFieldUpdater.newUpdater(SearchStats.class, "generated");
+    private static final AtomicIntegerFieldUpdater<SearchStats> FRONTIER =
+            AtomicIntegerFieldUpdater.newUpdater(SearchStats.class, "frontier");
+    private static final AtomicIntegerFieldUpdater<SearchStats> PEAK_FRONTIER =
+            AtomicIntegerFieldUpdater.newUpdater(SearchStats.class, "peakFrontier");
+    private static final AtomicIntegerFieldUpdater<SearchStats> PATH_LENGTH =
+            AtomicIntegerFieldUpdater.newUpdater(SearchStats.class, "pathLength");
+
+    private volatile long expanded;
+    private volatile long generated;
+    private volatile int frontier;
+    private volatile int peakFrontier;
+    private volatile int pathLength;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile boolean running;
+
+    /**
+     * Resets the counters and starts the clock.
+     */
+    public void begin() {
+        expanded = 0;
+        generated = 0;
+        frontier = 0;
+        peakFrontier = 0;
+        pathLength = 0;
+        finishedAt = 0;
+        startedAt = System.nanoTime();
+        running = true;
+    }
+
+    /**
+     * Stops the clock.
+     */
+    public void end() {
+        finishedAt = System.nanoTime();
+        running = false;
+    }
+
+    /**
+     * Counts a node taken from the frontier and expanded.
+     *
+     * @param frontierSize The number of nodes left in the frontier
+     */
+    public void expanded(int frontierSize) {
+        EXPANDED.lazySet(this, expanded + 1);
+        setFrontier(frontierSize);
+    }
+
+    /**
+     * Counts a node added to the frontier.
+     *
+     * @param frontierSize The number of nodes in the frontier after adding it
+     */
+    public void generated(int frontierSize) {
+        GENERATED.lazySet(this, generated + 1);
+        setFrontier(frontierSize);
+    }
+
+    /**
+     * Counts a step of the reconstructed path.
+     */
+    public void pathStep() {
+        PATH_LENGTH.lazySet(this, pathLength + 1);
+    }
+
+    private void setFrontier(int frontierSize) {
+        FRONTIER.lazySet(this, frontierSize);
+        if (frontierSize > peakFrontier) {
+            PEAK_FRONTIER.lazySet(this, frontierSize);
+        }
+    }
+
+    /**
+     * Gets the number of nodes expanded.
+     *
+     * @return The expanded node count
+     */
+    public long getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Gets the number of nodes added to the frontier.
+     *
+     * @return The generated node count
+     */
+    public long getGenerated() {
+        return generated;
+    }
+
+    /**
+     * Gets the current frontier size.
+     *
+     * @return The number of nodes waiting to be expanded
+     */
+    public int getFrontier() {
+        return frontier;
+    }
+
+    /**
+     * Gets the largest frontier size seen.
+     *
+     * @return The peak frontier size
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Gets the number of path steps drawn.
+     *
+     * @return The path length in nodes
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Checks whether the search is running.
+     *
+     * @return true between {@link #begin()} and {@link #end()}
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the time the search has been running, or took.
+     *
+     * @return The elapsed time in nanoseconds, or 0 if it never started
+     */
+    public long getElapsedNanos() {
+        long started = startedAt;
+        if (started == 0) {
+            return 0;
+        }
+        return Math.max(0, (running ? System.nanoTime() : finishedAt) - started);
+    }
+}
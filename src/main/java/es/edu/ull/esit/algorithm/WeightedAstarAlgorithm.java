@@ -0,0 +1,102 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import java.awt.Color;
+import java.util.PriorityQueue;
+
+/**
+ * Weighted A* pathfinding algorithm.
+ * Orders the open list by f = g + w * h. Inflating the heuristic makes the
+ * search greedier, so it expands far fewer nodes than A*, while the path found
+ * is never more than w times longer than the optimal one.
+ */
+public class WeightedAstarAlgorithm extends AbstractSearchAlgorithm implements BoundedSearchAlgorithm {
+
+    private double weight = 1.5;
+
+    @Override
+    public void setSuboptimalityBound(double bound) {
+        this.weight = bound;
+    }
+
+    @Override
+    public double getSuboptimalityBound() {
+        return weight;
+    }
+
+    @Override
+    public void search(Node start, Node end, int graphWidth, int graphHeight, int searchTime) {
+        PriorityQueue<OpenEntry> openList = new PriorityQueue<>();
+        Node[][] prev = new Node[graphWidth][graphHeight];
+        long sequence = 0;
+        Node goal = null;
+
+        start.setgCost(0);
+        openList.add(new OpenEntry(start, 0, weight * getHeuristic().estimate(start, end), sequence++));
+
+        while (!openList.isEmpty()) {
+            OpenEntry entry = openList.poll();
+            Node curNode = entry.node;
+            // Skip entries superseded by a cheaper path or already expanded
+            if (curNode.isSearched() || entry.g > curNode.getgCost()) {
+                continue;
+            }
+
+            if (curNode.isEnd()) {
+                curNode.setColor(Color.MAGENTA);
+                goal = curNode;
+                break;
+            }
+            curNode.setColor(Color.ORANGE);
+            if (!pause(searchTime)) {
+                return;
+            }
+            curNode.setColor(Color.BLUE);
+            expanded(curNode, openList.size());
+
+            for (Node adjacent : curNode.getNeighbours()) {
+                if (adjacent.isSearched()) {
+                    continue;
+                }
+                double tentativeGCost = curNode.getgCost() + Node.distance(curNode, adjacent);
+                if (tentativeGCost < adjacent.getgCost()) {
+                    prev[adjacent.getX()][adjacent.getY()] = curNode;
+                    adjacent.setgCost(tentativeGCost);
+                    double f = tentativeGCost + weight * getHeuristic().estimate(adjacent, end);
+                    openList.add(new OpenEntry(adjacent, tentativeGCost, f, sequence++));
+                    generated(adjacent, openList.size());
+                }
+            }
+        }
+        // Any end node stops the search, so draw the path to the one reached
+        if (goal != null) {
+            shortpath(prev, goal, searchTime);
+        }
+    }
+
+    /**
+     * Open list entry. A node may be pushed several times; only the entry
+     * matching its current g-cost is live.
+     */
+    private static final class OpenEntry implements Comparable<OpenEntry> {
+
+        private final Node node;
+        private final double g;
+        private final double f;
+        private final long sequence;
+
+        OpenEntry(Node node, double g, double f, long sequence) {
+            this.node = node;
+            this.g = g;
+            this.f = f;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(OpenEntry other) {
+            int byCost = Double.compare(f, other.f);
+            // Among equal costs prefer the most recent entry, which is deeper
+            return byCost != 0 ? byCost : Long.compare(other.sequence, sequence);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Recursive-backtracker (randomized depth-first search) maze generator over a
+ * compact {@link MazeGrid}.
+ * <p>
+ * Produces the same kind of maze as the original node-based generator: the
+ * grid starts as walls, the search starts from a random cell and moves to
+ * unvisited cells two steps away, clearing the wall in between. The stack
+ * holds cell indices in an {@code int[]}, the unvisited directions are kept in
+ * a bit mask and the random numbers come from a seeded
+ * {@link SplittableRandom}, so no object is allocated per step and every seed
+ * reproduces its maze.
+ */
+public class BacktrackerMazeGenerator implements MazeGridGenerator {
+
+    private static final int UP = 1;
+    private static final int DOWN = 2;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+
+    /**
+     * Carves a perfect maze into a grid. Every cell of the grid is overwritten.
+     *
+     * @param grid The grid to fill
+     * @param seed The random seed; the same seed gives the same maze
+     */
+    @Override
+    public void generate(MazeGrid grid, long seed) {
+        byte[] cells = grid.getCells();
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        Arrays.fill(cells, MazeGrid.WALL);
+        if (cells.length == 0) {
+            return;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] stack = new int[((width + 1) / 2) * ((height + 1) / 2) + 1];
+        int first = random.nextInt(width) * height + random.nextInt(height);
+        carve(cells, height, 0, 0, width, height, first, random, stack);
+    }
+
+    /**
+     * Carves a maze inside a rectangle of the grid, starting from one cell.
+     * Only cells inside the rectangle are changed, so disjoint rectangles can
+     * be carved at the same time.
+     *
+     * @param cells  The cells of the grid, walls in the area to carve
+     * @param height The height of the grid
+     * @param x0     The first column of the rectangle
+     * @param y0     The first row of the rectangle
+     * @param x1     The column after the rectangle
+     * @param y1     The row after the rectangle
+     * @param first  The index of the cell to start from
+     * @param random The random generator
+     * @param stack  Scratch space for at least one entry per reachable cell
+     */
+    static void carve(byte[] cells, int height, int x0, int y0, int x1, int y1, int first,
+            SplittableRandom random, int[] stack) {
+        int top = 0;
+        cells[first] = MazeGrid.PATH;
+        stack[top++] = first;
+
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int x = cell / height;
+            int y = cell - x * height;
+
+            int options = 0;
+            if (y - 2 >= y0 && cells[cell - 2] == MazeGrid.WALL) {
+                options |= UP;
+            }
+            if (y + 2 < y1 && cells[cell + 2] == MazeGrid.WALL) {
+                options |= DOWN;
+            }
+            if (x - 2 >= x0 && cells[cell - 2 * height] == MazeGrid.WALL) {
+                options |= LEFT;
+            }
+            if (x + 2 < x1 && cells[cell + 2 * height] == MazeGrid.WALL) {
+                options |= RIGHT;
+            }
+            if (options == 0) {
+                top--;
+                continue;
+            }
+            // Pick the k-th set bit of the mask
+            for (int k = random.nextInt(Integer.bitCount(options)); k > 0; k--) {
+                options &= options - 1;
+            }
+            int step;
+            switch (Integer.lowestOneBit(options)) {
+            case UP:
+                step = -1;
+                break;
+            case DOWN:
+                step = 1;
+                break;
+            case LEFT:
+                step = -height;
+                break;
+            default:
+                step = height;
+                break;
+            }
+            cells[cell + step] = MazeGrid.PATH;
+            cells[cell + 2 * step] = MazeGrid.PATH;
+            stack[top++] = cell + 2 * step;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.io.MazeRowWriter;
+import es.edu.ull.esit.io.MazeTextFormat;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Streaming perfect-maze generator based on Eller's algorithm.
+ * The maze is built one line at a time and each line is handed to a
+ * {@link MazeRowWriter} as soon as it is complete, so memory use is
+ * proportional to the height of a line, not to the size of the maze.
+ * <p>
+ * Cells lie on odd coordinates with walls in between, as in
+ * {@link es.edu.ull.esit.MazeGenerator}. For every line of cells, adjacent
+ * cells in different sets are joined at random, then every set opens at least
+ * one passage to the next line; cells without a passage start a new set. The
+ * last line joins all remaining sets, which makes the maze perfect. Sets are
+ * tracked with a union-find over the labels of the current line, relabelled
+ * compactly before each new line.
+ */
+public class EllerMazeGenerator {
+
+    private final long width;
+    private final int height;
+    private final long seed;
+    private boolean markEndpoints = true;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param width  The number of lines (columns) of the maze, at least 3
+     * @param height The number of cells of every line, at least 3
+     * @param seed   The random seed; the same seed gives the same maze
+     */
+    public EllerMazeGenerator(long width, int height, long seed) {
+        if (width < 3 || height < 3) {
+            throw new IllegalArgumentException("Maze must be at least 3x3, got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets whether the first cell is marked as start and the last cell as end.
+     * Enabled by default.
+     *
+     * @param markEndpoints true to mark the start and end cells
+     */
+    public void setMarkEndpoints(boolean markEndpoints) {
+        this.markEndpoints = markEndpoints;
+    }
+
+    /**
+     * Generates the maze straight into a text maze file.
+     *
+     * @param file The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public void generate(Path file) throws IOException {
+        MazeTextFormat.write(file, height, this::generate);
+    }
+
+    /**
+     * Generates the maze into a compact grid. Only for mazes that fit in memory.
+     *
+     * @return The maze grid
+     * @throws IOException Never thrown by the in-memory writer
+     */
+    public MazeGrid generateGrid() throws IOException {
+        MazeGrid grid = new MazeGrid(Math.toIntExact(width), height);
+        int[] line = new int[1];
+        generate(row -> System.arraycopy(row, 0, grid.getCells(), line[0]++ * height, height));
+        return grid;
+    }
+
+    /**
+     * Generates the maze, sending every line to a writer.
+     *
+     * @param out The writer receiving the lines
+     * @throws IOException If a line cannot be written
+     */
+    public void generate(MazeRowWriter out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int cellsPerLine = (height - 1) / 2;
+        long cellLines = (width - 1) / 2;
+
+        int[] label = new int[cellsPerLine];
+        int[] parent = new int[cellsPerLine];
+        boolean[] joinRight = new boolean[cellsPerLine];
+        boolean[] down = new boolean[cellsPerLine];
+        int[] lastCell = new int[cellsPerLine];
+        int[] hasDown = new int[cellsPerLine];
+        int[] newLabel = new int[cellsPerLine];
+        byte[] row = new byte[height];
+
+        writeWalls(out, row);
+        for (int i = 0; i < cellsPerLine; i++) {
+            label[i] = i;
+        }
+
+        for (long r = 0; r < cellLines; r++) {
+            boolean last = r == cellLines - 1;
+            for (int i = 0; i < cellsPerLine; i++) {
+                parent[i] = i;
+            }
+
+            // Join adjacent cells of different sets
+            for (int i = 0; i + 1 < cellsPerLine; i++) {
+                int a = find(parent, label[i]);
+                int b = find(parent, label[i + 1]);
+                joinRight[i] = a != b && (last || random.nextBoolean());
+                if (joinRight[i]) {
+                    parent[b] = a;
+                }
+            }
+            joinRight[cellsPerLine - 1] = false;
+
+            // Every set opens at least one passage to the next line
+            if (!last) {
+                for (int i = 0; i < cellsPerLine; i++) {
+                    hasDown[i] = -1;
+                }
+                for (int i = 0; i < cellsPerLine; i++) {
+                    int set = find(parent, label[i]);
+                    down[i] = random.nextInt(3) == 0;
+                    lastCell[set] = i;
+                    if (down[i]) {
+                        hasDown[set] = i;
+                    }
+                }
+                for (int i = 0; i < cellsPerLine; i++) {
+                    int set = find(parent, label[i]);
+                    if (hasDown[set] < 0) {
+                        down[lastCell[set]] = true;
+                        hasDown[set] = lastCell[set];
+                    }
+                }
+            }
+
+            // Line of cells and horizontal passages
+            fillWalls(row);
+            for (int i = 0; i < cellsPerLine; i++) {
+                row[2 * i + 1] = MazeGrid.PATH;
+                if (joinRight[i]) {
+                    row[2 * i + 2] = MazeGrid.PATH;
+                }
+            }
+            if (markEndpoints && r == 0) {
+                row[1] = MazeGrid.START;
+            }
+            if (markEndpoints && last) {
+                row[2 * cellsPerLine - 1] = MazeGrid.END;
+            }
+            out.writeRow(row);
+
+            // Line of vertical passages
+            fillWalls(row);
+            if (!last) {
+                for (int i = 0; i < cellsPerLine; i++) {
+                    if (down[i]) {
+                        row[2 * i + 1] = MazeGrid.PATH;
+                    }
+                }
+            }
+            out.writeRow(row);
+
+            // Carry the sets with a passage down, compacted to 0..n-1
+            if (!last) {
+                for (int i = 0; i < cellsPerLine; i++) {
+                    newLabel[i] = -1;
+                }
+                int next = 0;
+                for (int i = 0; i < cellsPerLine; i++) {
+                    if (down[i]) {
+                        int set = find(parent, label[i]);
+                        if (newLabel[set] < 0) {
+                            newLabel[set] = next++;
+                        }
+                    }
+                }
+                int fresh = next;
+                for (int i = 0; i < cellsPerLine; i++) {
+                    label[i] = down[i] ? newLabel[find(parent, label[i])] : fresh++;
+                }
+            }
+        }
+
+        for (long x = 2 * cellLines + 1; x < width; x++) {
+            writeWalls(out, row);
+        }
+    }
+
+    private static void writeWalls(MazeRowWriter out, byte[] row) throws IOException {
+        fillWalls(row);
+        out.writeRow(row);
+    }
+
+    private static void fillWalls(byte[] row) {
+        Arrays.fill(row, MazeGrid.WALL);
+    }
+
+    private static int find(int[] parent, int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+}
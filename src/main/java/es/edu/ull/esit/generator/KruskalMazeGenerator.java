@@ -0,0 +1,75 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Kruskal maze generator.
+ * Every wall between two cells is an edge; the edges are shuffled and each
+ * one is opened if it joins two cells not yet connected, which is checked
+ * with a union-find over {@code int} cell ids with path halving and union by
+ * size. Gives mazes with many short branches and dead ends.
+ */
+public class KruskalMazeGenerator implements MazeGridGenerator {
+
+    @Override
+    public void generate(MazeGrid grid, long seed) {
+        Lattice lattice = new Lattice(grid);
+        if (lattice.size == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Edge 2c joins cell c with the cell below, edge 2c + 1 with the cell to its right
+        int[] edges = new int[2 * lattice.size];
+        int count = 0;
+        for (int cell = 0; cell < lattice.size; cell++) {
+            if (lattice.neighbour(cell, 1) >= 0) {
+                edges[count++] = 2 * cell;
+            }
+            if (lattice.neighbour(cell, 3) >= 0) {
+                edges[count++] = 2 * cell + 1;
+            }
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = edges[i];
+            edges[i] = edges[j];
+            edges[j] = swap;
+        }
+
+        int[] parent = new int[lattice.size];
+        int[] setSize = new int[lattice.size];
+        for (int cell = 0; cell < lattice.size; cell++) {
+            parent[cell] = cell;
+            setSize[cell] = 1;
+        }
+        lattice.open(0);
+        for (int joined = 0, i = 0; i < count && joined < lattice.size - 1; i++) {
+            int a = edges[i] >>> 1;
+            int b = lattice.neighbour(a, (edges[i] & 1) == 0 ? 1 : 3);
+            int rootA = find(parent, a);
+            int rootB = find(parent, b);
+            if (rootA == rootB) {
+                continue;
+            }
+            if (setSize[rootA] < setSize[rootB]) {
+                int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            parent[rootB] = rootA;
+            setSize[rootA] += setSize[rootB];
+            lattice.join(a, b);
+            joined++;
+        }
+    }
+
+    private static int find(int[] parent, int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]];
+            cell = parent[cell];
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,81 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.Arrays;
+
+/**
+ * The cells on odd coordinates of a grid, numbered {@code i * cellsY + j} for
+ * the cell at column {@code 2i + 1} and row {@code 2j + 1}. Neighbouring cells
+ * are two steps apart, with the wall between them on the even coordinate.
+ * Shared by the generators that work on cell ids instead of grid indices.
+ */
+final class Lattice {
+
+    final int cellsX;
+    final int cellsY;
+    final int size;
+    private final int height;
+    private final byte[] cells;
+
+    /**
+     * Wraps a grid and fills it with walls.
+     *
+     * @param grid The grid to carve
+     */
+    Lattice(MazeGrid grid) {
+        height = grid.getHeight();
+        cells = grid.getCells();
+        cellsX = Math.max(0, (grid.getWidth() - 1) / 2);
+        cellsY = Math.max(0, (height - 1) / 2);
+        size = cellsX * cellsY;
+        Arrays.fill(cells, MazeGrid.WALL);
+    }
+
+    /**
+     * Gets the neighbour of a cell in a direction.
+     *
+     * @param cell      The cell id
+     * @param direction 0 up, 1 down, 2 left, 3 right
+     * @return The neighbour id, or -1 at the border
+     */
+    int neighbour(int cell, int direction) {
+        int j = cell % cellsY;
+        switch (direction) {
+        case 0:
+            return j > 0 ? cell - 1 : -1;
+        case 1:
+            return j < cellsY - 1 ? cell + 1 : -1;
+        case 2:
+            return cell >= cellsY ? cell - cellsY : -1;
+        default:
+            return cell + cellsY < size ? cell + cellsY : -1;
+        }
+    }
+
+    /**
+     * Opens a cell.
+     *
+     * @param cell The cell id
+     */
+    void open(int cell) {
+        cells[gridIndex(cell)] = MazeGrid.PATH;
+    }
+
+    /**
+     * Opens two neighbouring cells and the wall between them.
+     *
+     * @param a The first cell id
+     * @param b The second cell id
+     */
+    void join(int a, int b) {
+        int ga = gridIndex(a);
+        int gb = gridIndex(b);
+        cells[ga] = MazeGrid.PATH;
+        cells[gb] = MazeGrid.PATH;
+        cells[(ga + gb) >>> 1] = MazeGrid.PATH;
+    }
+
+    private int gridIndex(int cell) {
+        return (2 * (cell / cellsY) + 1) * height + 2 * (cell % cellsY) + 1;
+    }
+}
@@ -0,0 +1,20 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+
+/**
+ * Common interface of the generators that carve a perfect maze into a
+ * compact {@link MazeGrid}. Each algorithm gives mazes with a different
+ * shape: the backtracker gives long winding corridors, Kruskal and Prim many
+ * short dead ends, and Wilson an unbiased (uniform) spanning tree.
+ */
+public interface MazeGridGenerator {
+
+    /**
+     * Carves a perfect maze into a grid. Every cell of the grid is overwritten.
+     *
+     * @param grid The grid to fill
+     * @param seed The random seed; the same seed gives the same maze
+     */
+    void generate(MazeGrid grid, long seed);
+}
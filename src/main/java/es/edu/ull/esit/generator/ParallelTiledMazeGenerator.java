@@ -0,0 +1,188 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel perfect-maze generator for large grids.
+ * <p>
+ * Cells lie on odd coordinates. The cells are split into square tiles and
+ * every tile is carved independently with the recursive backtracker on a
+ * {@link ForkJoinPool}; tiles write disjoint parts of the grid, so no locking
+ * is needed. Each tile is then a tree on its own. A random spanning tree over
+ * the tiles (Kruskal over the tile borders) picks which neighbouring tiles to
+ * join, and one random wall is opened on each chosen border, so the whole maze
+ * stays a single tree.
+ * <p>
+ * The seed of every tile is drawn up front, so the maze only depends on the
+ * seed and the tile size, not on the number of threads.
+ */
+public class ParallelTiledMazeGenerator implements MazeGridGenerator {
+
+    /** Default number of cells along each side of a tile. */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+
+    /**
+     * Constructs a generator on the common pool with the default tile size.
+     */
+    public ParallelTiledMazeGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Constructs a generator.
+     *
+     * @param pool     The pool the tiles are carved on
+     * @param tileSize The number of cells along each side of a tile
+     */
+    public ParallelTiledMazeGenerator(ForkJoinPool pool, int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("Tile size must be positive, got " + tileSize);
+        }
+        this.pool = pool;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Carves a perfect maze into a grid. Every cell of the grid is overwritten.
+     *
+     * @param grid The grid to fill
+     * @param seed The random seed; the same seed and tile size give the same maze
+     */
+    @Override
+    public void generate(MazeGrid grid, long seed) {
+        byte[] cells = grid.getCells();
+        Arrays.fill(cells, MazeGrid.WALL);
+        int cellsX = (grid.getWidth() - 1) / 2;
+        int cellsY = (grid.getHeight() - 1) / 2;
+        if (cellsX <= 0 || cellsY <= 0) {
+            return;
+        }
+        int tilesX = (cellsX + tileSize - 1) / tileSize;
+        int tilesY = (cellsY + tileSize - 1) / tileSize;
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] tileSeeds = new long[tilesX * tilesY];
+        for (int t = 0; t < tileSeeds.length; t++) {
+            tileSeeds[t] = random.nextLong();
+        }
+
+        pool.invoke(new TileTask(grid, cellsX, cellsY, tilesY, tileSeeds, 0, tileSeeds.length));
+        stitch(grid, cellsX, cellsY, tilesX, tilesY, random);
+    }
+
+    /**
+     * Joins the tiles along a random spanning tree, opening one wall per joined border.
+     */
+    private void stitch(MazeGrid grid, int cellsX, int cellsY, int tilesX, int tilesY, SplittableRandom random) {
+        int tiles = tilesX * tilesY;
+        // Edge e < tiles joins tile e with the tile to its right, otherwise e - tiles with the one below
+        int[] edges = new int[2 * tiles];
+        int count = 0;
+        for (int t = 0; t < tiles; t++) {
+            if (t / tilesY + 1 < tilesX) {
+                edges[count++] = t;
+            }
+            if (t % tilesY + 1 < tilesY) {
+                edges[count++] = tiles + t;
+            }
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = edges[i];
+            edges[i] = edges[j];
+            edges[j] = swap;
+        }
+
+        int[] parent = new int[tiles];
+        for (int t = 0; t < tiles; t++) {
+            parent[t] = t;
+        }
+        for (int i = 0; i < count; i++) {
+            boolean right = edges[i] < tiles;
+            int tile = right ? edges[i] : edges[i] - tiles;
+            int other = right ? tile + tilesY : tile + 1;
+            int a = find(parent, tile);
+            int b = find(parent, other);
+            if (a == b) {
+                continue;
+            }
+            parent[a] = b;
+
+            int tx = tile / tilesY;
+            int ty = tile % tilesY;
+            int x;
+            int y;
+            if (right) {
+                x = 2 * (tx + 1) * tileSize;
+                y = 2 * (ty * tileSize + random.nextInt(Math.min(tileSize, cellsY - ty * tileSize))) + 1;
+            } else {
+                x = 2 * (tx * tileSize + random.nextInt(Math.min(tileSize, cellsX - tx * tileSize))) + 1;
+                y = 2 * (ty + 1) * tileSize;
+            }
+            grid.set(x, y, MazeGrid.PATH);
+        }
+    }
+
+    private static int find(int[] parent, int tile) {
+        while (parent[tile] != tile) {
+            parent[tile] = parent[parent[tile]];
+            tile = parent[tile];
+        }
+        return tile;
+    }
+
+    /**
+     * Carves a range of tiles, splitting the range in halves until it is small.
+     */
+    private final class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MazeGrid grid;
+        private final int cellsX;
+        private final int cellsY;
+        private final int tilesY;
+        private final long[] tileSeeds;
+        private final int from;
+        private final int to;
+
+        TileTask(MazeGrid grid, int cellsX, int cellsY, int tilesY, long[] tileSeeds, int from, int to) {
+            this.grid = grid;
+            this.cellsX = cellsX;
+            this.cellsY = cellsY;
+            this.tilesY = tilesY;
+            this.tileSeeds = tileSeeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 4) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(grid, cellsX, cellsY, tilesY, tileSeeds, from, middle),
+                        new TileTask(grid, cellsX, cellsY, tilesY, tileSeeds, middle, to));
+                return;
+            }
+            int[] stack = new int[tileSize * tileSize + 1];
+            int height = grid.getHeight();
+            for (int t = from; t < to; t++) {
+                int i0 = t / tilesY * tileSize;
+                int j0 = t % tilesY * tileSize;
+                int i1 = Math.min(i0 + tileSize, cellsX);
+                int j1 = Math.min(j0 + tileSize, cellsY);
+                SplittableRandom random = new SplittableRandom(tileSeeds[t]);
+                int x = 2 * (i0 + random.nextInt(i1 - i0)) + 1;
+                int y = 2 * (j0 + random.nextInt(j1 - j0)) + 1;
+                BacktrackerMazeGenerator.carve(grid.getCells(), height, 2 * i0 + 1, 2 * j0 + 1, 2 * i1, 2 * j1,
+                        x * height + y, random, stack);
+            }
+        }
+    }
+}
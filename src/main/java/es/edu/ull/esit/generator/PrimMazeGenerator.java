@@ -0,0 +1,64 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Prim maze generator.
+ * The maze grows from a random cell: a random cell of the frontier (cells next
+ * to the maze) is joined to a random neighbour already in the maze, and its
+ * own new neighbours join the frontier. The frontier is an {@code int[]} with
+ * swap-remove, so each step is constant time. Gives mazes with many short
+ * dead ends radiating from the start.
+ */
+public class PrimMazeGenerator implements MazeGridGenerator {
+
+    private static final byte OUTSIDE = 0;
+    private static final byte FRONTIER = 1;
+    private static final byte INSIDE = 2;
+
+    @Override
+    public void generate(MazeGrid grid, long seed) {
+        Lattice lattice = new Lattice(grid);
+        if (lattice.size == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] state = new byte[lattice.size];
+        int[] frontier = new int[lattice.size];
+        int[] inside = new int[4];
+
+        int first = random.nextInt(lattice.size);
+        state[first] = INSIDE;
+        lattice.open(first);
+        int count = addFrontier(lattice, state, frontier, 0, first);
+
+        while (count > 0) {
+            int pick = random.nextInt(count);
+            int cell = frontier[pick];
+            frontier[pick] = frontier[--count];
+
+            int options = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                int next = lattice.neighbour(cell, direction);
+                if (next >= 0 && state[next] == INSIDE) {
+                    inside[options++] = next;
+                }
+            }
+            lattice.join(cell, inside[random.nextInt(options)]);
+            state[cell] = INSIDE;
+            count = addFrontier(lattice, state, frontier, count, cell);
+        }
+    }
+
+    private static int addFrontier(Lattice lattice, byte[] state, int[] frontier, int count, int cell) {
+        for (int direction = 0; direction < 4; direction++) {
+            int next = lattice.neighbour(cell, direction);
+            if (next >= 0 && state[next] == OUTSIDE) {
+                state[next] = FRONTIER;
+                frontier[count++] = next;
+            }
+        }
+        return count;
+    }
+}
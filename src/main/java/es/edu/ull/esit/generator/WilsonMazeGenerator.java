@@ -0,0 +1,46 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import java.util.SplittableRandom;
+
+/**
+ * Wilson's maze generator.
+ * Builds a uniform spanning tree with loop-erased random walks: from each cell
+ * not yet in the maze, walk at random until the maze is hit, remembering only
+ * the last direction taken from every cell (which erases loops), then carve
+ * the remembered path. Every perfect maze of the grid is equally likely, so
+ * its corridors have no directional bias. Uses two arrays over the cell ids.
+ */
+public class WilsonMazeGenerator implements MazeGridGenerator {
+
+    @Override
+    public void generate(MazeGrid grid, long seed) {
+        Lattice lattice = new Lattice(grid);
+        if (lattice.size == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean[] inMaze = new boolean[lattice.size];
+        int[] next = new int[lattice.size];
+
+        int root = random.nextInt(lattice.size);
+        inMaze[root] = true;
+        lattice.open(root);
+
+        for (int start = 0; start < lattice.size; start++) {
+            // Random walk until the maze is reached, keeping the last exit of each cell
+            for (int cell = start; !inMaze[cell]; cell = next[cell]) {
+                int neighbour;
+                do {
+                    neighbour = lattice.neighbour(cell, random.nextInt(4));
+                } while (neighbour < 0);
+                next[cell] = neighbour;
+            }
+            // Carve the loop-erased path
+            for (int cell = start; !inMaze[cell]; cell = next[cell]) {
+                inMaze[cell] = true;
+                lattice.join(cell, next[cell]);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package es.edu.ull.esit.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a text {@code .maze} file.
+ * Cells are read straight from the page cache, so grids far larger than the
+ * heap can be queried. The file is mapped in fixed-size segments because a
+ * single mapping is limited to 2 GB.
+ * <p>
+ * Cells are addressed with the same index used by the search algorithms,
+ * {@code x * height + y}, where each line of the file is one column {@code x}.
+ */
+public class MappedMazeFile implements Closeable {
+
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long width;
+    private final int height;
+    private final int stride;
+
+    /**
+     * Maps a text maze file and infers its dimensions from the first line.
+     * All lines must have the same length and the same line separator.
+     *
+     * @param file The maze file to map
+     * @throws IOException If the file cannot be read or is not a valid maze
+     */
+    public MappedMazeFile(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+        for (int i = 0; i < segments.length; i++) {
+            long offset = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(SEGMENT_SIZE, size - offset));
+        }
+
+        long h = 0;
+        while (h < size && byteAt(h) != '\n' && byteAt(h) != '\r') {
+            h++;
+        }
+        if (h == 0 || h > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Invalid maze file: " + file);
+        }
+        int separator = h < size && byteAt(h) == '\r' ? 2 : 1;
+        height = (int) h;
+        stride = height + separator;
+        // The last line may or may not end with a separator
+        width = (size + separator) / stride;
+    }
+
+    private byte byteAt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_BITS)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Gets the number of columns (lines) of the maze.
+     *
+     * @return The maze width
+     */
+    public long getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows (characters per line) of the maze.
+     *
+     * @return The maze height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the total number of cells.
+     *
+     * @return width * height
+     */
+    public long getCellCount() {
+        return width * height;
+    }
+
+    /**
+     * Gets the type code of a cell: 0 path, 1 wall, 2 start, 3 end.
+     *
+     * @param index The cell index, {@code x * height + y}
+     * @return The cell type code
+     */
+    public int cell(long index) {
+        long x = index / height;
+        int y = (int) (index - x * height);
+        return byteAt(x * stride + y) - '0';
+    }
+
+    /**
+     * Checks if a cell is a wall.
+     *
+     * @param index The cell index, {@code x * height + y}
+     * @return true if the cell is a wall
+     */
+    public boolean isWall(long index) {
+        return cell(index) == 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
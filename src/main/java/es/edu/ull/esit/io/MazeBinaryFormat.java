@@ -0,0 +1,193 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader and writer for the bit-packed binary {@code .mzb} format.
+ * <p>
+ * The file starts with a fixed big-endian header: the magic {@code "MZB"}
+ * followed by a zero byte, a version byte, a flags byte, two reserved bytes,
+ * the width and height, and the start and target coordinates ({@code -1} when
+ * missing). The cells follow in {@code x * height + y} order, least significant
+ * bits first. Mazes with at most one start and one target store one bit per
+ * cell (1 for walls) and take the start and target from the header; other
+ * mazes set {@link #FLAG_TYPED} and store the two-bit cell type instead.
+ */
+public final class MazeBinaryFormat {
+
+    /** File extension of binary mazes. */
+    public static final String EXTENSION = ".mzb";
+    /** Magic number at the start of every binary maze. */
+    public static final int MAGIC = 0x4D5A4200;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Flag set when cells are stored as two-bit types instead of a wall bitmap. */
+    public static final int FLAG_TYPED = 1;
+    /** Size of the header in bytes. */
+    public static final int HEADER_SIZE = 32;
+
+    private MazeBinaryFormat() {
+    }
+
+    /**
+     * Checks whether a file starts with the binary maze magic number.
+     *
+     * @param file The file to check
+     * @return true if the file is a binary maze
+     * @throws IOException If the file cannot be read
+     */
+    public static boolean isBinary(Path file) throws IOException {
+        return MazeFiles.readMagic(file) == MAGIC;
+    }
+
+    /**
+     * Reads a binary maze file.
+     *
+     * @param file The file to read
+     * @return The maze grid
+     * @throws IOException If the file cannot be read or is not a valid binary maze
+     */
+    public static MazeGrid read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, file);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary maze file: " + file);
+            }
+            int version = header.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary maze version " + version + " in " + file);
+            }
+            boolean typed = (header.get() & FLAG_TYPED) != 0;
+            header.getShort();
+            int width = header.getInt();
+            int height = header.getInt();
+            int startX = header.getInt();
+            int startY = header.getInt();
+            int targetX = header.getInt();
+            int targetY = header.getInt();
+
+            // Check the cells are there before allocating the maze they fill
+            long payload = width < 0 || height < 0 ? 0 : ((long) width * height * (typed ? 2 : 1) + 7) / 8;
+            if (channel.size() != HEADER_SIZE + payload) {
+                throw new IOException("Invalid binary maze file " + file + ": expected " + payload + " bytes of cells");
+            }
+            MazeGrid grid;
+            try {
+                grid = new MazeGrid(width, height);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid maze size in " + file + ": " + e.getMessage(), e);
+            }
+            ByteBuffer body = ByteBuffer.allocate((int) payload);
+            readFully(channel, body, file);
+            if (typed) {
+                unpackTypes(body.array(), grid.getCells());
+            } else {
+                unpackWalls(body.array(), grid.getCells());
+                place(grid, startX, startY, MazeGrid.START, file);
+                place(grid, targetX, targetY, MazeGrid.END, file);
+            }
+            return grid;
+        }
+    }
+
+    /**
+     * Writes a maze as a binary file, using the one-bit layout whenever the
+     * maze has at most one start and one target.
+     *
+     * @param grid The maze to write
+     * @param file The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(MazeGrid grid, Path file) throws IOException {
+        ByteBuffer buffer = encode(grid);
+        MazeFiles.writeAtomically(file, channel -> MazeFiles.writeFully(channel, buffer));
+    }
+
+    /**
+     * Encodes a maze into the binary layout.
+     *
+     * @param grid The maze to encode
+     * @return A buffer holding the header and the packed cells, ready to be read
+     */
+    public static ByteBuffer encode(MazeGrid grid) {
+        byte[] cells = grid.getCells();
+        int height = grid.getHeight();
+        int start = -1;
+        int target = -1;
+        boolean typed = false;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == MazeGrid.START) {
+                typed |= start >= 0;
+                start = i;
+            } else if (cells[i] == MazeGrid.END) {
+                typed |= target >= 0;
+                target = i;
+            }
+        }
+
+        long bits = (long) cells.length * (typed ? 2 : 1);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (int) ((bits + 7) / 8));
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) (typed ? FLAG_TYPED : 0));
+        buffer.putShort((short) 0);
+        buffer.putInt(grid.getWidth());
+        buffer.putInt(height);
+        buffer.putInt(start < 0 ? -1 : start / height);
+        buffer.putInt(start < 0 ? -1 : start % height);
+        buffer.putInt(target < 0 ? -1 : target / height);
+        buffer.putInt(target < 0 ? -1 : target % height);
+
+        byte[] body = buffer.array();
+        if (typed) {
+            for (int i = 0; i < cells.length; i++) {
+                body[HEADER_SIZE + (i >> 2)] |= (cells[i] & 3) << ((i & 3) << 1);
+            }
+        } else {
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] == MazeGrid.WALL) {
+                    body[HEADER_SIZE + (i >> 3)] |= 1 << (i & 7);
+                }
+            }
+        }
+        buffer.position(0);
+        return buffer;
+    }
+
+    private static void unpackWalls(byte[] body, byte[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) ((body[i >> 3] >> (i & 7)) & 1);
+        }
+    }
+
+    private static void unpackTypes(byte[] body, byte[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) ((body[i >> 2] >> ((i & 3) << 1)) & 3);
+        }
+    }
+
+    private static void place(MazeGrid grid, int x, int y, byte type, Path file) throws IOException {
+        if (x == -1 && y == -1) {
+            return;
+        }
+        if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight()) {
+            throw new IOException("Invalid binary maze file " + file + ": cell " + x + ":" + y + " is outside the maze");
+        }
+        grid.set(x, y, type);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, Path file) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of binary maze file " + file);
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,254 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reader and writer for the compressed {@code .mzz} maze container.
+ * <p>
+ * The file starts with a 16-byte big-endian header: the magic {@code "MZZ"}
+ * followed by a zero byte, a version byte, the {@link Codec} id, two reserved
+ * bytes, the width and the height. The payload is either the run-length
+ * encoding of every column, the one-byte-per-cell types, or either of them
+ * compressed with Deflate. The writer picks whichever codec gives the smallest
+ * file, and the reader decodes the payload as a stream directly into the grid.
+ * <p>
+ * Runs never cross a column boundary. Each run is the cell type in one byte
+ * followed by the run length as an unsigned varint (seven bits per byte, low
+ * bits first).
+ */
+public final class MazeCompressedFormat {
+
+    /** File extension of compressed mazes. */
+    public static final String EXTENSION = ".mzz";
+    /** Magic number at the start of every compressed maze. */
+    public static final int MAGIC = 0x4D5A5A00;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Size of the header in bytes. */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * Encoding of the cells after the header.
+     */
+    public enum Codec {
+        /** Run-length encoded columns. */
+        RLE,
+        /** One byte per cell, compressed with Deflate. */
+        DEFLATE,
+        /** Run-length encoded columns, compressed with Deflate. */
+        RLE_DEFLATE;
+
+        private boolean isRunLength() {
+            return this != DEFLATE;
+        }
+
+        private boolean isDeflated() {
+            return this != RLE;
+        }
+    }
+
+    private MazeCompressedFormat() {
+    }
+
+    /**
+     * Reads a compressed maze file.
+     *
+     * @param file The file to read
+     * @return The maze grid
+     * @throws IOException If the file cannot be read or is not a valid compressed maze
+     */
+    public static MazeGrid read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Unexpected end of compressed maze file " + file);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a compressed maze file: " + file);
+            }
+            int version = header.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported compressed maze version " + version + " in " + file);
+            }
+            int codecId = header.get();
+            if (codecId < 0 || codecId >= Codec.values().length) {
+                throw new IOException("Unknown maze codec " + codecId + " in " + file);
+            }
+            Codec codec = Codec.values()[codecId];
+            header.getShort();
+            MazeGrid grid;
+            try {
+                grid = new MazeGrid(header.getInt(), header.getInt());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid maze size in " + file + ": " + e.getMessage(), e);
+            }
+
+            InputStream buffered = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+            // Closing the inflating stream also frees its native Inflater
+            try (InputStream in = codec.isDeflated() ? new InflaterInputStream(buffered) : buffered) {
+                try {
+                    if (codec.isRunLength()) {
+                        decodeRuns(in, grid);
+                    } else {
+                        new DataInputStream(in).readFully(grid.getCells());
+                        for (byte type : grid.getCells()) {
+                            if (type < MazeGrid.PATH || type > MazeGrid.END) {
+                                throw new IOException("Invalid cell type " + type + " in compressed maze file " + file);
+                            }
+                        }
+                    }
+                } catch (EOFException e) {
+                    throw new IOException("Unexpected end of compressed maze file " + file, e);
+                }
+                if (in.read() >= 0) {
+                    throw new IOException("Invalid compressed maze file " + file + ": trailing data");
+                }
+                return grid;
+            }
+        }
+    }
+
+    /**
+     * Writes a maze with the codec that gives the smallest file.
+     *
+     * @param grid The maze to write
+     * @param file The destination file
+     * @return The codec that was used
+     * @throws IOException If the file cannot be written
+     */
+    public static Codec write(MazeGrid grid, Path file) throws IOException {
+        byte[] runs = encodeRuns(grid);
+        byte[] deflatedRuns = deflate(runs);
+        byte[] deflatedCells = deflate(grid.getCells());
+
+        Codec codec = Codec.RLE;
+        byte[] payload = runs;
+        if (deflatedRuns.length < payload.length) {
+            codec = Codec.RLE_DEFLATE;
+            payload = deflatedRuns;
+        }
+        if (deflatedCells.length < payload.length) {
+            codec = Codec.DEFLATE;
+            payload = deflatedCells;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.put((byte) VERSION);
+        header.put((byte) codec.ordinal());
+        header.putShort((short) 0);
+        header.putInt(grid.getWidth());
+        header.putInt(grid.getHeight());
+        header.flip();
+        ByteBuffer body = ByteBuffer.wrap(payload);
+        MazeFiles.writeAtomically(file, channel -> {
+            MazeFiles.writeFully(channel, header);
+            MazeFiles.writeFully(channel, body);
+        });
+        return codec;
+    }
+
+    /**
+     * Run-length encodes every column of a maze.
+     *
+     * @param grid The maze
+     * @return The runs of all columns, one after another
+     */
+    static byte[] encodeRuns(MazeGrid grid) {
+        byte[] cells = grid.getCells();
+        int height = grid.getHeight();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (height == 0) {
+            return out.toByteArray();
+        }
+        for (int column = 0; column < cells.length; column += height) {
+            int end = column + height;
+            for (int i = column; i < end;) {
+                byte type = cells[i];
+                int run = 1;
+                while (i + run < end && cells[i + run] == type) {
+                    run++;
+                }
+                out.write(type);
+                writeVarint(out, run);
+                i += run;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while (value >= 0x80) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void decodeRuns(InputStream in, MazeGrid grid) throws IOException {
+        byte[] cells = grid.getCells();
+        int height = grid.getHeight();
+        int column = 0;
+        int i = 0;
+        while (i < cells.length) {
+            int type = in.read();
+            if (type < 0) {
+                throw new EOFException();
+            }
+            if (type > MazeGrid.END) {
+                throw new IOException("Invalid cell type " + type + " in compressed maze");
+            }
+            int run = 0;
+            for (int shift = 0;; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException();
+                }
+                if (shift > 28) {
+                    throw new IOException("Invalid run length in compressed maze");
+                }
+                run |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            if (run <= 0 || run > column + height - i) {
+                throw new IOException("Invalid run length " + run + " in compressed maze");
+            }
+            Arrays.fill(cells, i, i + run, (byte) type);
+            i += run;
+            if (i == column + height) {
+                column = i;
+            }
+        }
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater, 1 << 16)) {
+            deflating.write(data);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+}
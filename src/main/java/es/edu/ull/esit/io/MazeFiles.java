@@ -0,0 +1,152 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Entry point for reading maze files in any of the supported formats.
+ * The format is detected from the content of the file, not its name.
+ * Also holds the atomic write used by every maze writer.
+ */
+public final class MazeFiles {
+
+    /**
+     * Writes the content of a file to an open channel.
+     */
+    public interface ChannelWriter {
+
+        /**
+         * Writes the content.
+         *
+         * @param channel The channel to write to
+         * @throws IOException If the content cannot be written
+         */
+        void write(FileChannel channel) throws IOException;
+    }
+
+    private MazeFiles() {
+    }
+
+    /**
+     * Reads a maze file, detecting whether it is an image, compressed, binary or text.
+     *
+     * @param file The file to read
+     * @return The maze grid
+     * @throws IOException If the file cannot be read or is not a valid maze
+     */
+    public static MazeGrid read(Path file) throws IOException {
+        switch (readMagic(file)) {
+        case MazeBinaryFormat.MAGIC:
+            return MazeBinaryFormat.read(file);
+        case MazeCompressedFormat.MAGIC:
+            return MazeCompressedFormat.read(file);
+        case MazeImageFormat.MAGIC:
+            return MazeImageFormat.read(file);
+        default:
+            return MazeTextFormat.read(file);
+        }
+    }
+
+    /**
+     * Reads the first four bytes of a file as a big-endian int.
+     *
+     * @param file The file to read
+     * @return The magic number, or 0 if the file is shorter than four bytes
+     * @throws IOException If the file cannot be read
+     */
+    static int readMagic(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading
+            }
+            return magic.hasRemaining() ? 0 : magic.getInt(0);
+        }
+    }
+
+    /**
+     * Writes a file atomically: the content goes to a temporary file in the
+     * same directory, which is flushed to disk and then renamed over the
+     * destination. A crash while saving leaves the previous file untouched.
+     * The new file keeps the permissions of the file it replaces, or gets the
+     * default permissions of a newly created file.
+     *
+     * @param file   The destination file
+     * @param writer Writes the content of the file
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeAtomically(Path file, ChannelWriter writer) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temp;
+        FileChannel channel;
+        // Not Files.createTempFile, which would make the file private to its owner
+        while (true) {
+            temp = target.resolveSibling(target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // try another name
+            }
+        }
+        try {
+            try {
+                writer.write(channel);
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+            copyPermissions(target, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        PosixFileAttributeView source = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        if (source != null && Files.exists(from)) {
+            Files.getFileAttributeView(to, PosixFileAttributeView.class).setPermissions(source.readAttributes().permissions());
+        }
+    }
+
+    /**
+     * Flushes a directory to disk, so a rename inside it survives a crash.
+     * Platforms that cannot open directories as files are left as they are.
+     */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here; the rename is still atomic
+        }
+    }
+
+    /**
+     * Writes a whole buffer to a channel.
+     *
+     * @param channel The channel to write to
+     * @param buffer  The bytes to write, from its position to its limit
+     * @throws IOException If the bytes cannot be written
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
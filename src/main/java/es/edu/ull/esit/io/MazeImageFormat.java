@@ -0,0 +1,166 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.imageio.ImageIO;
+
+/**
+ * Reader and writer for mazes stored as PNG images, one pixel per cell.
+ * Pixel {@code (x, y)} is the cell in column {@code x} and row {@code y}, and
+ * its colour is the {@link es.edu.ull.esit.Node} colour of the cell type:
+ * black walls, green start, red end and light gray paths. When reading, any
+ * other colour is a wall if it is dark and a path otherwise, so scanned or
+ * hand-drawn mazes can be imported too.
+ * <p>
+ * Pixels are read and written directly on the backing array of the image
+ * raster instead of one {@code getRGB}/{@code setRGB} call per pixel.
+ */
+public final class MazeImageFormat {
+
+    /** File extension of image mazes. */
+    public static final String EXTENSION = ".png";
+    /** First four bytes of every PNG file. */
+    public static final int MAGIC = 0x89504E47;
+
+    private static final int WALL_RGB = Color.BLACK.getRGB() & 0xFFFFFF;
+    private static final int START_RGB = Color.GREEN.getRGB() & 0xFFFFFF;
+    private static final int END_RGB = Color.RED.getRGB() & 0xFFFFFF;
+    private static final int PATH_RGB = Color.LIGHT_GRAY.getRGB() & 0xFFFFFF;
+
+    private MazeImageFormat() {
+    }
+
+    /**
+     * Reads a maze image.
+     *
+     * @param file The image file
+     * @return The maze grid
+     * @throws IOException If the file cannot be read or is not an image
+     */
+    public static MazeGrid read(Path file) throws IOException {
+        BufferedImage image;
+        try (InputStream in = Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ))) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) {
+            throw new IOException("Unsupported image file " + file);
+        }
+        return fromImage(image);
+    }
+
+    /**
+     * Converts an image to a maze, one cell per pixel.
+     *
+     * @param image The image
+     * @return The maze grid
+     */
+    public static MazeGrid fromImage(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        MazeGrid grid = new MazeGrid(width, height);
+        byte[] cells = grid.getCells();
+
+        switch (image.getType()) {
+        case BufferedImage.TYPE_INT_RGB:
+        case BufferedImage.TYPE_INT_ARGB:
+            readInts(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), width, height, cells);
+            break;
+        case BufferedImage.TYPE_3BYTE_BGR:
+            readBytes(((DataBufferByte) image.getRaster().getDataBuffer()).getData(), 3, 0, width, height, cells);
+            break;
+        case BufferedImage.TYPE_4BYTE_ABGR:
+            readBytes(((DataBufferByte) image.getRaster().getDataBuffer()).getData(), 4, 1, width, height, cells);
+            break;
+        default:
+            // Palette, grayscale and 16-bit images: one conversion, then the int path
+            BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            readInts(((DataBufferInt) rgb.getRaster().getDataBuffer()).getData(), width, height, cells);
+            break;
+        }
+        return grid;
+    }
+
+    private static void readInts(int[] pixels, int width, int height, byte[] cells) {
+        for (int y = 0, p = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, p++) {
+                cells[x * height + y] = typeOf(pixels[p] & 0xFFFFFF);
+            }
+        }
+    }
+
+    /**
+     * Reads interleaved byte pixels stored as (alpha,) blue, green, red.
+     */
+    private static void readBytes(byte[] pixels, int stride, int skip, int width, int height, byte[] cells) {
+        for (int y = 0, p = skip; y < height; y++) {
+            for (int x = 0; x < width; x++, p += stride) {
+                int rgb = (pixels[p + 2] & 0xFF) << 16 | (pixels[p + 1] & 0xFF) << 8 | (pixels[p] & 0xFF);
+                cells[x * height + y] = typeOf(rgb);
+            }
+        }
+    }
+
+    private static byte typeOf(int rgb) {
+        if (rgb == PATH_RGB) {
+            return MazeGrid.PATH;
+        } else if (rgb == WALL_RGB) {
+            return MazeGrid.WALL;
+        } else if (rgb == START_RGB) {
+            return MazeGrid.START;
+        } else if (rgb == END_RGB) {
+            return MazeGrid.END;
+        }
+        int luma = (299 * (rgb >> 16) + 587 * ((rgb >> 8) & 0xFF) + 114 * (rgb & 0xFF)) / 1000;
+        return luma < 128 ? MazeGrid.WALL : MazeGrid.PATH;
+    }
+
+    /**
+     * Writes a maze as a PNG image, replacing the file atomically.
+     *
+     * @param grid The maze to write
+     * @param file The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(MazeGrid grid, Path file) throws IOException {
+        BufferedImage image = toImage(grid);
+        MazeFiles.writeAtomically(file, channel -> {
+            if (!ImageIO.write(image, "png", Channels.newOutputStream(channel))) {
+                throw new IOException("No PNG writer available");
+            }
+        });
+    }
+
+    /**
+     * Converts a maze to an image, one pixel per cell.
+     *
+     * @param grid The maze
+     * @return An RGB image with the cell colours
+     */
+    public static BufferedImage toImage(MazeGrid grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        byte[] cells = grid.getCells();
+        int[] palette = { PATH_RGB, WALL_RGB, START_RGB, END_RGB };
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0, c = x * height; y < height; y++, c++) {
+                pixels[y * width + x] = palette[cells[c]];
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,200 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sidecar file holding precomputed data for a maze, such as component labels
+ * or distance fields, so it does not have to be computed again the next time
+ * the maze is opened.
+ * <p>
+ * The sidecar of {@code name.maze} is {@code name.maze.idx}. It starts with a
+ * big-endian header: the magic {@code "MZI"} followed by a zero byte, a version
+ * byte, three reserved bytes, the {@link #hash(MazeGrid) content hash} of the
+ * maze and the number of sections. Each section entry holds its name as a
+ * length-prefixed UTF-8 string, the offset of its data and its length in ints.
+ * The data of every section is an int array aligned to four bytes.
+ * <p>
+ * Opening maps the file read-only and hands out views of the sections, so
+ * nothing is copied until the data is used. A sidecar whose hash does not
+ * match the maze, or that is damaged, is treated as missing.
+ */
+public final class MazeIndexFile {
+
+    /** Suffix appended to the maze file name. */
+    public static final String SUFFIX = ".idx";
+    /** Magic number at the start of every index file. */
+    public static final int MAGIC = 0x4D5A4900;
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    private final long hash;
+    private final Map<String, IntBuffer> sections;
+
+    private MazeIndexFile(long hash, Map<String, IntBuffer> sections) {
+        this.hash = hash;
+        this.sections = sections;
+    }
+
+    /**
+     * Gets the sidecar path of a maze file.
+     *
+     * @param mazeFile The maze file
+     * @return The path of its index file
+     */
+    public static Path sidecarOf(Path mazeFile) {
+        Path name = mazeFile.getFileName();
+        return mazeFile.resolveSibling(Paths.get(name + SUFFIX));
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the dimensions and cells of a maze.
+     *
+     * @param grid The maze
+     * @return The content hash
+     */
+    public static long hash(MazeGrid grid) {
+        long h = 0xCBF29CE484222325L;
+        h = (h ^ grid.getWidth()) * 0x100000001B3L;
+        h = (h ^ grid.getHeight()) * 0x100000001B3L;
+        for (byte cell : grid.getCells()) {
+            h = (h ^ cell) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    /**
+     * Opens an index file if it exists, is well formed and belongs to the
+     * maze with the given hash.
+     *
+     * @param file The index file
+     * @param hash The content hash of the maze
+     * @return The index, or null if it is missing, stale or damaged
+     * @throws IOException If the file exists but cannot be read
+     */
+    public static MazeIndexFile open(Path file, long hash) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (map.getInt() != MAGIC || map.get() != VERSION) {
+                return null;
+            }
+            map.position(map.position() + 3);
+            if (map.getLong() != hash) {
+                return null;
+            }
+            int count = map.getInt();
+            Map<String, IntBuffer> sections = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[map.getShort() & 0xFFFF];
+                map.get(name);
+                long offset = map.getLong();
+                int length = map.getInt();
+                if (offset < 0 || (offset & 3) != 0 || length < 0 || offset + 4L * length > map.capacity()) {
+                    return null;
+                }
+                ByteBuffer data = map.duplicate();
+                data.limit((int) offset + 4 * length).position((int) offset);
+                sections.put(new String(name, StandardCharsets.UTF_8), data.slice().asIntBuffer());
+            }
+            return new MazeIndexFile(hash, sections);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes an index file, replacing it atomically.
+     *
+     * @param file     The index file
+     * @param hash     The content hash of the maze
+     * @param sections The int arrays to store, by name
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, long hash, Map<String, int[]> sections) throws IOException {
+        int headerSize = 4 + 4 + 8 + 4;
+        for (String name : sections.keySet()) {
+            headerSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 8 + 4;
+        }
+        long offset = (headerSize + 3) & ~3L;
+
+        ByteBuffer header = ByteBuffer.allocate((int) offset);
+        header.putInt(MAGIC);
+        header.put((byte) VERSION);
+        header.put(new byte[3]);
+        header.putLong(hash);
+        header.putInt(sections.size());
+        for (Map.Entry<String, int[]> section : sections.entrySet()) {
+            byte[] name = section.getKey().getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) name.length);
+            header.put(name);
+            header.putLong(offset);
+            header.putInt(section.getValue().length);
+            offset += 4L * section.getValue().length;
+        }
+        header.position(0);
+
+        MazeFiles.writeAtomically(file, channel -> {
+            MazeFiles.writeFully(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            for (int[] data : sections.values()) {
+                for (int i = 0; i < data.length;) {
+                    int chunk = Math.min(data.length - i, buffer.capacity() / 4);
+                    buffer.clear();
+                    buffer.asIntBuffer().put(data, i, chunk);
+                    buffer.limit(4 * chunk);
+                    MazeFiles.writeFully(channel, buffer);
+                    i += chunk;
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the content hash the index was built for.
+     *
+     * @return The content hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the names of the stored sections.
+     *
+     * @return The section names, in file order
+     */
+    public Set<String> getSectionNames() {
+        return Collections.unmodifiableSet(sections.keySet());
+    }
+
+    /**
+     * Gets a read-only view of a section.
+     *
+     * @param name The section name
+     * @return The section data, or null if the index has no such section
+     */
+    public IntBuffer getSection(String name) {
+        IntBuffer section = sections.get(name);
+        return section == null ? null : section.duplicate();
+    }
+}
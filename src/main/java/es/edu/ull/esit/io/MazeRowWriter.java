@@ -0,0 +1,33 @@
+package es.edu.ull.esit.io;
+
+import java.io.IOException;
+
+/**
+ * Destination for mazes produced one line at a time, so generators can write
+ * mazes far larger than the heap. A line is one column of the maze, as in the
+ * text format.
+ */
+public interface MazeRowWriter {
+
+    /**
+     * Produces the lines of a maze.
+     */
+    interface Producer {
+
+        /**
+         * Writes every line of the maze, in order.
+         *
+         * @param out The writer to send the lines to
+         * @throws IOException If a line cannot be written
+         */
+        void produce(MazeRowWriter out) throws IOException;
+    }
+
+    /**
+     * Writes the next line.
+     *
+     * @param row The cell types of the line; the array may be reused by the caller
+     * @throws IOException If the line cannot be written
+     */
+    void writeRow(byte[] row) throws IOException;
+}
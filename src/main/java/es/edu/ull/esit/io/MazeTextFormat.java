@@ -0,0 +1,295 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader and writer for the text {@code .maze} format.
+ * Each line is one column of the maze and each character one cell:
+ * {@code 0} path, {@code 1} wall, {@code 2} start, {@code 3} end.
+ * The file may start with an optional header line {@code MAZE <width> <height>};
+ * without it, the height is the length of the first line and the width is
+ * inferred from the file size.
+ * <p>
+ * The file is streamed through a {@link FileChannel} into a reusable buffer
+ * and the bytes are parsed straight into a {@link MazeGrid}. Writing encodes
+ * whole lines into a reusable buffer in the same way.
+ */
+public final class MazeTextFormat {
+
+    /** First token of the optional header line. */
+    public static final String HEADER = "MAZE";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private MazeTextFormat() {
+    }
+
+    /**
+     * Reads a text maze file.
+     *
+     * @param file The file to read
+     * @return The maze grid
+     * @throws IOException If the file cannot be read or is not a valid maze
+     */
+    public static MazeGrid read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long size = channel.size();
+            fill(channel, buffer);
+
+            // First line: either the header or the first column, which may
+            // be longer than the buffer
+            int lineEnd = 0;
+            while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n' && buffer.get(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            ByteBuffer lineBreak = ByteBuffer.allocate(2);
+            if (lineEnd == BUFFER_SIZE) {
+                lineEnd = findLineEnd(channel, lineEnd, lineBreak, file);
+            } else {
+                lineBreak.put(buffer.array(), lineEnd, Math.min(2, buffer.limit() - lineEnd)).flip();
+            }
+            if (lineEnd == 0) {
+                throw new IOException("Invalid maze file " + file + ": cannot read first line");
+            }
+            int separator = lineBreak.remaining() == 2 && lineBreak.get(0) == '\r' && lineBreak.get(1) == '\n' ? 2 : 1;
+            String firstLine = new String(buffer.array(), 0, Math.min(lineEnd, buffer.limit()), StandardCharsets.US_ASCII);
+
+            int width;
+            int height;
+            if (firstLine.startsWith(HEADER)) {
+                if (lineEnd > buffer.limit()) {
+                    throw new IOException("Invalid maze header in " + file + ": line too long");
+                }
+                String[] tokens = firstLine.trim().split("\\s+");
+                if (tokens.length != 3) {
+                    throw new IOException("Invalid maze header in " + file + ": " + firstLine);
+                }
+                try {
+                    width = Integer.parseInt(tokens[1]);
+                    height = Integer.parseInt(tokens[2]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid maze header in " + file + ": " + firstLine, e);
+                }
+                if (width < 1 || height < 1) {
+                    throw new IOException("Invalid maze size in " + file + ": " + width + "x" + height);
+                }
+                // Check the cells are there before allocating the maze they fill
+                if ((long) width * height > size - (lineEnd + separator) - (width - 1L)) {
+                    throw new IOException("Invalid maze file " + file + ": too short for " + width + "x" + height + " cells");
+                }
+                buffer.position(Math.min(lineEnd + separator, buffer.limit()));
+            } else {
+                height = lineEnd;
+                long stride = (long) height + separator;
+                width = (int) ((size + separator) / stride);
+            }
+
+            MazeGrid grid;
+            try {
+                grid = new MazeGrid(width, height);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid maze size in " + file + ": " + e.getMessage(), e);
+            }
+            parse(channel, buffer, grid, file);
+            return grid;
+        }
+    }
+
+    /**
+     * Writes a maze as a text file without header, which every version of
+     * the reader accepts. The file is replaced atomically.
+     *
+     * @param grid The maze to write
+     * @param file The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(MazeGrid grid, Path file) throws IOException {
+        MazeFiles.writeAtomically(file, channel -> write(grid, channel));
+    }
+
+    private static void write(MazeGrid grid, FileChannel channel) throws IOException {
+        byte[] cells = grid.getCells();
+        int height = grid.getHeight();
+        ChannelRowWriter out = new ChannelRowWriter(channel, height);
+        byte[] row = new byte[height];
+        for (int x = 0; x < grid.getWidth(); x++) {
+            System.arraycopy(cells, x * height, row, 0, height);
+            out.writeRow(row);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a maze produced line by line as a text file without header.
+     * Only one line is held in memory at a time. The file is replaced
+     * atomically once every line has been written.
+     *
+     * @param file     The destination file
+     * @param height   The number of cells of every line
+     * @param producer Writes the lines of the maze
+     * @return The number of lines written
+     * @throws IOException If the file cannot be written
+     */
+    public static long write(Path file, int height, MazeRowWriter.Producer producer) throws IOException {
+        long[] lines = new long[1];
+        MazeFiles.writeAtomically(file, channel -> {
+            ChannelRowWriter out = new ChannelRowWriter(channel, height);
+            producer.produce(out);
+            out.flush();
+            lines[0] = out.lines;
+        });
+        return lines[0];
+    }
+
+    /**
+     * Encodes lines into a reusable buffer that is flushed to a channel when full.
+     */
+    private static final class ChannelRowWriter implements MazeRowWriter {
+
+        private final FileChannel channel;
+        private final int height;
+        private final ByteBuffer buffer;
+        private long lines;
+
+        ChannelRowWriter(FileChannel channel, int height) {
+            this.channel = channel;
+            this.height = height;
+            this.buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, height + 1));
+        }
+
+        @Override
+        public void writeRow(byte[] row) throws IOException {
+            if (row.length != height) {
+                throw new IOException("Expected a line of " + height + " cells, got " + row.length);
+            }
+            if (buffer.remaining() < height + 1) {
+                flush();
+            }
+            byte[] bytes = buffer.array();
+            int offset = buffer.position();
+            for (int j = 0; j < height; j++) {
+                bytes[offset + j] = (byte) ('0' + row[j]);
+            }
+            bytes[offset + height] = '\n';
+            buffer.position(offset + height + 1);
+            lines++;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            MazeFiles.writeFully(channel, buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Parses the cell lines, refilling the buffer as it drains.
+     */
+    private static void parse(FileChannel channel, ByteBuffer buffer, MazeGrid grid, Path file) throws IOException {
+        byte[] cells = grid.getCells();
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int x = 0;
+        int y = 0;
+        int index = 0;
+
+        do {
+            byte[] bytes = buffer.array();
+            int limit = buffer.limit();
+            for (int i = buffer.position(); i < limit; i++) {
+                byte b = bytes[i];
+                if (b == '\n') {
+                    if (y == 0) {
+                        // Blank line, e.g. at the end of the file
+                        continue;
+                    }
+                    if (y != height) {
+                        throw new IOException("Invalid maze file " + file + ": line " + (x + 1) + " has " + y + " cells, expected " + height);
+                    }
+                    x++;
+                    y = 0;
+                } else if (b != '\r') {
+                    int type = b - '0';
+                    if (type < MazeGrid.PATH || type > MazeGrid.END) {
+                        throw new IOException("Invalid maze file " + file + ": unexpected character '" + (char) b + "' on line " + (x + 1));
+                    }
+                    if (x >= width || y >= height) {
+                        throw new IOException("Invalid maze file " + file + ": more cells than " + width + "x" + height);
+                    }
+                    cells[index++] = (byte) type;
+                    y++;
+                }
+            }
+            buffer.clear();
+        } while (fill(channel, buffer) > 0);
+
+        if (y == height) {
+            // Last line without a trailing newline
+            x++;
+        } else if (y != 0) {
+            throw new IOException("Invalid maze file " + file + ": line " + (x + 1) + " has " + y + " cells, expected " + height);
+        }
+        if (x != width) {
+            throw new IOException("Invalid maze file " + file + ": found " + x + " lines, expected " + width);
+        }
+    }
+
+    /**
+     * Looks for the end of the first line past the start of the file, without
+     * moving the channel position.
+     *
+     * @param from      The offset to search from
+     * @param lineBreak Receives the line break and the byte after it, if any
+     * @return The length of the first line
+     */
+    private static int findLineEnd(FileChannel channel, long from, ByteBuffer lineBreak, Path file) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(BUFFER_SIZE);
+        long offset = from;
+        while (true) {
+            chunk.clear();
+            int read = channel.read(chunk, offset);
+            if (read <= 0) {
+                break;
+            }
+            byte[] bytes = chunk.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n' || bytes[i] == '\r') {
+                    offset += i;
+                    channel.read(lineBreak, offset);
+                    lineBreak.flip();
+                    return checkedLength(offset, file);
+                }
+            }
+            offset += read;
+        }
+        lineBreak.flip();
+        return checkedLength(offset, file);
+    }
+
+    private static int checkedLength(long length, Path file) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid maze file " + file + ": first line too long");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Reads from the channel until the buffer is full or the file ends.
+     *
+     * @return The number of bytes available in the buffer
+     */
+    private static int fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading
+        }
+        buffer.flip();
+        return buffer.limit();
+    }
+}
@@ -0,0 +1,149 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.algorithm.SearchHeatmap;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+
+/**
+ * Exports a {@link SearchHeatmap} as a PNG image or as CSV.
+ * <p>
+ * The image has one pixel per cell, in the layout of {@link MazeImageFormat}.
+ * Cells that were never counted keep the colour of their maze type (black
+ * walls, light gray paths), and counted cells go from yellow for one up to
+ * dark red for the largest count, on a logarithmic scale so the few cells
+ * with much repeated work stand out without washing out the rest.
+ * <p>
+ * The CSV has a header line and one line {@code x,y,expanded,generated,reexpanded}
+ * per counted cell, in {@code x * height + y} order; cells never counted are
+ * left out.
+ */
+public final class SearchHeatmapFormat {
+
+    /** File extension of heatmap images. */
+    public static final String PNG_EXTENSION = ".png";
+    /** File extension of heatmap tables. */
+    public static final String CSV_EXTENSION = ".csv";
+    /** First line of every CSV export. */
+    public static final String CSV_HEADER = "x,y,expanded,generated,reexpanded";
+
+    // Characters buffered before they are written out
+    private static final int CSV_CHUNK = 1 << 16;
+    private static final int UNVISITED_RGB = Color.LIGHT_GRAY.getRGB() & 0xFFFFFF;
+    private static final int WALL_RGB = Color.BLACK.getRGB() & 0xFFFFFF;
+
+    private SearchHeatmapFormat() {
+    }
+
+    /**
+     * Renders one count of a heatmap, one pixel per cell.
+     *
+     * @param heatmap The heatmap
+     * @param count   The count to show
+     * @param maze    The searched maze, to draw walls, or null
+     * @return The heatmap image
+     * @throws IllegalArgumentException If the maze does not have the size of the heatmap
+     */
+    public static BufferedImage toImage(SearchHeatmap heatmap, SearchHeatmap.Count count, MazeGrid maze) {
+        int width = heatmap.getWidth();
+        int height = heatmap.getHeight();
+        if (maze != null && (maze.getWidth() != width || maze.getHeight() != height)) {
+            throw new IllegalArgumentException("The maze is not " + width + "x" + height);
+        }
+        int[] counts = heatmap.getCounts(count);
+        int max = 0;
+        for (int value : counts) {
+            max = Math.max(max, value);
+        }
+        byte[] cells = maze == null ? null : maze.getCells();
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int cell = x * height + y;
+                int rgb;
+                if (counts[cell] > 0) {
+                    // 0 for one visit, 1 for the most visited cell
+                    double level = max == 1 ? 1 : Math.log(counts[cell]) / Math.log(max);
+                    rgb = heat(level);
+                } else if (cells != null && cells[cell] == MazeGrid.WALL) {
+                    rgb = WALL_RGB;
+                } else {
+                    rgb = UNVISITED_RGB;
+                }
+                pixels[y * width + x] = rgb;
+            }
+        }
+        return image;
+    }
+
+    private static int heat(double level) {
+        // Yellow (255, 255, 0) -> red (255, 0, 0) -> dark red (128, 0, 0)
+        int red;
+        int green;
+        if (level <= 0.5) {
+            red = 255;
+            green = (int) Math.round(255 * (1 - level * 2));
+        } else {
+            red = (int) Math.round(255 - 127 * (level - 0.5) * 2);
+            green = 0;
+        }
+        return red << 16 | green << 8;
+    }
+
+    /**
+     * Writes one count of a heatmap as a PNG image, replacing the file atomically.
+     *
+     * @param heatmap The heatmap
+     * @param count   The count to show
+     * @param maze    The searched maze, to draw walls, or null
+     * @param file    The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public static void writePng(SearchHeatmap heatmap, SearchHeatmap.Count count, MazeGrid maze, Path file)
+            throws IOException {
+        BufferedImage image = toImage(heatmap, count, maze);
+        MazeFiles.writeAtomically(file, channel -> {
+            if (!ImageIO.write(image, "png", Channels.newOutputStream(channel))) {
+                throw new IOException("No PNG writer available");
+            }
+        });
+    }
+
+    /**
+     * Writes the counted cells of a heatmap as CSV, replacing the file atomically.
+     *
+     * @param heatmap The heatmap
+     * @param file    The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeCsv(SearchHeatmap heatmap, Path file) throws IOException {
+        int height = heatmap.getHeight();
+        int[] expanded = heatmap.getCounts(SearchHeatmap.Count.EXPANDED);
+        int[] generated = heatmap.getCounts(SearchHeatmap.Count.GENERATED);
+        MazeFiles.writeAtomically(file, channel -> {
+            StringBuilder text = new StringBuilder(CSV_CHUNK + 64).append(CSV_HEADER).append('\n');
+            for (int cell = 0; cell < expanded.length; cell++) {
+                if (expanded[cell] == 0 && generated[cell] == 0) {
+                    continue;
+                }
+                text.append(cell / height).append(',').append(cell % height).append(',')
+                        .append(expanded[cell]).append(',').append(generated[cell]).append(',')
+                        .append(Math.max(0, expanded[cell] - 1)).append('\n');
+                if (text.length() >= CSV_CHUNK) {
+                    MazeFiles.writeFully(channel, ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII)));
+                    text.setLength(0);
+                }
+            }
+            MazeFiles.writeFully(channel, ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII)));
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.SearchTrace;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader and writer for recorded search traces ({@code .mzt}).
+ * <p>
+ * The file starts with a big-endian header: the magic {@code "MZT"} followed
+ * by a zero byte, a version byte, three reserved bytes, the width and height
+ * of the maze and the number of events. The maze follows as two-bit cell
+ * types in {@code x * height + y} order, least significant bits first, as in
+ * the typed layout of {@link MazeBinaryFormat}. Then come the events, each a
+ * varint of {@code zigzag(cell - previousCell) << 2 | type}; searches mostly
+ * move between neighbouring cells, so most events take one or two bytes.
+ */
+public final class SearchTraceFormat {
+
+    /** File extension of search traces. */
+    public static final String EXTENSION = ".mzt";
+    /** Magic number at the start of every trace. */
+    public static final int MAGIC = 0x4D5A5400;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Size of the header in bytes. */
+    public static final int HEADER_SIZE = 20;
+
+    private SearchTraceFormat() {
+    }
+
+    /**
+     * Writes a trace, replacing the file atomically.
+     *
+     * @param trace The trace to write
+     * @param file  The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(SearchTrace trace, Path file) throws IOException {
+        MazeGrid maze = trace.getMaze();
+        byte[] cells = maze.getCells();
+        ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + (cells.length + 3) / 4);
+        head.putInt(MAGIC);
+        head.put((byte) VERSION);
+        head.put(new byte[3]);
+        head.putInt(maze.getWidth());
+        head.putInt(maze.getHeight());
+        head.putInt(trace.size());
+        byte[] packed = head.array();
+        for (int i = 0; i < cells.length; i++) {
+            packed[HEADER_SIZE + (i >> 2)] |= (cells[i] & 3) << ((i & 3) << 1);
+        }
+        head.position(0);
+
+        MazeFiles.writeAtomically(file, channel -> {
+            MazeFiles.writeFully(channel, head);
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            int previous = 0;
+            for (int i = 0; i < trace.size(); i++) {
+                if (buffer.remaining() < 10) {
+                    buffer.flip();
+                    MazeFiles.writeFully(channel, buffer);
+                    buffer.clear();
+                }
+                long delta = (long) trace.getCell(i) - previous;
+                previous = trace.getCell(i);
+                long zigzag = delta << 1 ^ delta >> 63;
+                writeVarint(buffer, zigzag << 2 | trace.getType(i));
+            }
+            buffer.flip();
+            MazeFiles.writeFully(channel, buffer);
+        });
+    }
+
+    private static void writeVarint(ByteBuffer buffer, long value) {
+        while (value >= 0x80) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads a trace.
+     *
+     * @param file The trace file
+     * @return The trace with its maze
+     * @throws IOException If the file cannot be read or is not a valid trace
+     */
+    public static SearchTrace read(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Trace file " + file + " is too large");
+            }
+            data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) {
+                    throw new IOException("Unexpected end of trace file " + file);
+                }
+            }
+            data.flip();
+        }
+
+        try {
+            if (data.getInt() != MAGIC) {
+                throw new IOException("Not a search trace file: " + file);
+            }
+            int version = data.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported search trace version " + version + " in " + file);
+            }
+            data.position(data.position() + 3);
+            int width = data.getInt();
+            int height = data.getInt();
+            int events = data.getInt();
+            // Check the cells are there before allocating the maze they fill
+            if (width >= 0 && height >= 0 && ((long) width * height + 3) / 4 > data.remaining()) {
+                throw new IOException("Unexpected end of trace file " + file);
+            }
+            MazeGrid maze;
+            try {
+                maze = new MazeGrid(width, height);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid maze size in " + file + ": " + e.getMessage(), e);
+            }
+            if (events < 0) {
+                throw new IOException("Invalid search trace file " + file + ": negative event count");
+            }
+            byte[] cells = maze.getCells();
+            byte[] packed = new byte[(cells.length + 3) / 4];
+            data.get(packed);
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = (byte) ((packed[i >> 2] >> ((i & 3) << 1)) & 3);
+            }
+
+            SearchTrace trace = new SearchTrace(maze);
+            long cell = 0;
+            for (int i = 0; i < events; i++) {
+                long value = readVarint(data, file);
+                long zigzag = value >>> 2;
+                cell += zigzag >>> 1 ^ -(zigzag & 1);
+                if (cell < 0 || cell >= cells.length) {
+                    throw new IOException("Invalid search trace file " + file + ": cell " + cell + " is outside the maze");
+                }
+                trace.add((int) (value & 3), (int) cell);
+            }
+            if (data.hasRemaining()) {
+                throw new IOException("Invalid search trace file " + file + ": trailing bytes after the events");
+            }
+            return trace;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of trace file " + file, e);
+        }
+    }
+
+    private static long readVarint(ByteBuffer data, Path file) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid search trace file " + file + ": varint too long");
+    }
+}
@@ -0,0 +1,562 @@
+package es.edu.ull.esit.render;
+
+import es.edu.ull.esit.Node;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Renderer that only repaints the nodes that changed, and only the part of
+ * the grid inside the {@link Viewport}.
+ * <p>
+ * The renderer listens to the nodes of the grid. A change is published into a
+ * shared colour buffer with one int per cell and a dirty bitset, both atomic
+ * arrays, so the thread running the search never takes a lock to report a
+ * change and never waits for painting. {@link #paint(Node[][])} swaps out the
+ * dirty words, copies the marked cells into a snapshot owned by the render
+ * thread and redraws just those cells into a backing image that keeps the rest
+ * of the last frame; the render loop copies that image to the screen. Every
+ * frame is drawn from the snapshot, never from the nodes, so a frame cannot
+ * mix states of a cell. {@link #awaitFrame(long)} blocks while
+ * nothing is dirty, so an idle window uses no CPU, and spaces frames at least
+ * {@code 1 / maxFps} apart, so a running search is shown at a bounded rate
+ * and the changes made between two frames are painted together.
+ * <p>
+ * When the whole frame has to be composed again, after scrolling or zooming,
+ * only the visible cells are drawn. At tile scales the grid is cut into
+ * square tiles of about {@value #TILE_PIXELS} pixels that are pre-rendered
+ * into images and kept in a small LRU cache; a changed node is redrawn in
+ * place in its cached tile, so scrolling over a running search does not
+ * rebuild the tiles. Below {@link Viewport#TILE_MIN_SCALE} pixels per cell
+ * the frame is scaled from a raster with one pixel per cell instead.
+ * <p>
+ * Nodes are changed from the thread running the search or the event thread
+ * and painted from the render thread. Only the first change after a frame
+ * takes the monitor, to wake the render loop. Snapshot, tiles and raster are
+ * only touched by the painting thread.
+ */
+public class GridRenderer implements Node.Listener {
+
+    /** Default frame cap, in frames per second. */
+    public static final int DEFAULT_MAX_FPS = 60;
+    /** Approximate side of a cached tile, in pixels. */
+    public static final int TILE_PIXELS = 256;
+    /** Maximum number of cached tiles. */
+    public static final int MAX_TILES = 64;
+    /** Smallest scale at which cells get a black outline. */
+    private static final int OUTLINE_MIN_SCALE = 6;
+
+    private final int width;
+    private final int height;
+    private final Object lock = new Object();
+    private final Viewport viewport = new Viewport();
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+
+    // Guarded by lock
+    private boolean changed = true;
+    private boolean fullRepaint = true;
+    private boolean dropCaches = true;
+
+    private volatile long frameInterval;
+    private long lastFrame;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile CellBuffer cells;
+
+    private BufferedImage frame;
+    private int lastPainted;
+    private final Map<Integer, Color> colors = new HashMap<>();
+    private double tileScale;
+    private BufferedImage raster;
+
+    /**
+     * Constructs a renderer with the default frame cap.
+     *
+     * @param width  The width of the frame, in pixels
+     * @param height The height of the frame, in pixels
+     */
+    public GridRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        setMaxFps(DEFAULT_MAX_FPS);
+    }
+
+    /**
+     * Sets the maximum number of frames per second.
+     *
+     * @param maxFps The frame cap, or 0 or less for no cap
+     */
+    public void setMaxFps(int maxFps) {
+        frameInterval = maxFps > 0 ? TimeUnit.SECONDS.toNanos(1) / maxFps : 0;
+    }
+
+    /**
+     * Gets the maximum number of frames per second.
+     *
+     * @return The frame cap, or 0 if frames are not capped
+     */
+    public int getMaxFps() {
+        long interval = frameInterval;
+        return interval > 0 ? (int) (TimeUnit.SECONDS.toNanos(1) / interval) : 0;
+    }
+
+    /**
+     * Attaches the renderer to every node of a grid and schedules a full repaint.
+     * Must be called whenever the nodes are replaced.
+     *
+     * @param nodes The node grid
+     */
+    public void attach(Node[][] nodes) {
+        cells = new CellBuffer(nodes);
+        for (Node[] column : nodes) {
+            for (Node node : column) {
+                node.setListener(this);
+            }
+        }
+        synchronized (lock) {
+            dropCaches = true;
+        }
+        invalidate();
+    }
+
+    /**
+     * Publishes the new colour of a node and marks its cell as dirty.
+     * Lock-free unless the render loop has to be woken up.
+     *
+     * @param node The node that changed
+     */
+    @Override
+    public void nodeChanged(Node node) {
+        CellBuffer buffer = cells;
+        if (buffer != null && buffer.publish(node) && pending.compareAndSet(false, true)) {
+            wake(false);
+        }
+    }
+
+    /**
+     * Schedules the whole frame to be composed again from the cached tiles.
+     */
+    public void invalidate() {
+        wake(true);
+    }
+
+    /**
+     * Schedules a frame without repainting anything, to show the last frame
+     * again after the window was exposed.
+     */
+    public void requestFrame() {
+        wake(false);
+    }
+
+    /**
+     * Gets the current view. Use the methods of the renderer to change it.
+     *
+     * @return The viewport
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Scrolls the view and schedules a new frame.
+     *
+     * @param dx The horizontal offset, in pixels
+     * @param dy The vertical offset, in pixels
+     */
+    public void scroll(int dx, int dy) {
+        viewport.scroll(dx, dy);
+        invalidate();
+    }
+
+    /**
+     * Zooms the view around a screen position and schedules a new frame.
+     *
+     * @param steps   The number of zoom levels; positive zooms in
+     * @param anchorX The horizontal screen position that stays fixed
+     * @param anchorY The vertical screen position that stays fixed
+     */
+    public void zoom(int steps, int anchorX, int anchorY) {
+        if (viewport.zoom(steps, anchorX, anchorY)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Zooms and centers the view so the whole attached maze fits in the
+     * frame, and schedules a new frame.
+     *
+     * @param columns The number of columns of the maze
+     * @param rows    The number of rows of the maze
+     */
+    public void fit(int columns, int rows) {
+        viewport.fit(columns, rows, width, height);
+        invalidate();
+    }
+
+    /**
+     * Goes back to the default view and schedules a new frame.
+     */
+    public void resetView() {
+        viewport.reset();
+        invalidate();
+    }
+
+    private void wake(boolean full) {
+        synchronized (lock) {
+            changed = true;
+            fullRepaint |= full;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until there is something to show and the frame cap allows a new frame.
+     *
+     * @param timeoutMillis The longest time to wait for a change, or 0 to wait forever
+     * @return true if a frame should be painted, false if the wait timed out
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public boolean awaitFrame(long timeoutMillis) throws InterruptedException {
+        synchronized (lock) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (!changed) {
+                if (timeoutMillis <= 0) {
+                    lock.wait();
+                } else {
+                    long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (left <= 0) {
+                        return false;
+                    }
+                    lock.wait(left);
+                }
+            }
+            changed = false;
+        }
+        long wait = lastFrame + frameInterval - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        lastFrame = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Repaints the dirty nodes, or composes the whole frame after
+     * {@link #invalidate()}, into the backing image.
+     *
+     * @param nodes The node grid
+     * @return The number of cells painted
+     */
+    public int paint(Node[][] nodes) {
+        CellBuffer buffer = cells;
+        if (buffer == null || buffer.nodes != nodes) {
+            // Nodes that were not attached: take a snapshot without listening
+            buffer = new CellBuffer(nodes);
+            cells = buffer;
+            synchronized (lock) {
+                dropCaches = true;
+            }
+        }
+        boolean full;
+        boolean drop;
+        synchronized (lock) {
+            full = fullRepaint || dropCaches || frame == null;
+            drop = dropCaches;
+            fullRepaint = false;
+            dropCaches = false;
+        }
+        if (frame == null) {
+            frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Viewport view = viewport.copy();
+        if (drop || view.getScale() != tileScale) {
+            tiles.clear();
+            tileScale = view.getScale();
+        }
+        if (drop) {
+            raster = null;
+        }
+
+        int painted = 0;
+        Graphics2D g = frame.createGraphics();
+        try {
+            // Changes published from now on stay dirty for the next frame
+            pending.set(false);
+            painted = drain(g, buffer, view, !full);
+            if (full) {
+                painted = compose(g, buffer, view);
+            }
+        } finally {
+            g.dispose();
+        }
+        lastPainted = painted;
+        return painted;
+    }
+
+    /**
+     * Copies the dirty cells into the snapshot and the caches, and draws them
+     * on the frame when asked to.
+     *
+     * @return The number of cells drawn on the frame
+     */
+    private int drain(Graphics2D g, CellBuffer buffer, Viewport view, boolean draw) {
+        int painted = 0;
+        for (int word = 0; word < buffer.dirty.length(); word++) {
+            long bits = buffer.dirty.getAndSet(word, 0);
+            while (bits != 0) {
+                int cell = word * 64 + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int rgb = buffer.shared.get(cell);
+                buffer.snapshot[cell] = rgb;
+                if (update(g, buffer, view, cell, rgb, draw)) {
+                    painted++;
+                }
+            }
+        }
+        return painted;
+    }
+
+    /**
+     * Clears the frame and draws the visible cells.
+     */
+    private int compose(Graphics2D g, CellBuffer buffer, Viewport view) {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        if (buffer.columns == 0 || buffer.rows == 0) {
+            return 0;
+        }
+        int x0 = Math.max(0, view.cellX(0));
+        int y0 = Math.max(0, view.cellY(0));
+        int x1 = Math.min(buffer.columns - 1, view.cellX(width - 1));
+        int y1 = Math.min(buffer.rows - 1, view.cellY(height - 1));
+        if (x0 > x1 || y0 > y1) {
+            return 0;
+        }
+
+        if (view.isTiled()) {
+            int tileCells = tileCells(view);
+            for (int tx = x0 / tileCells; tx <= x1 / tileCells; tx++) {
+                for (int ty = y0 / tileCells; ty <= y1 / tileCells; ty++) {
+                    g.drawImage(tile(buffer, tx, ty, tileCells), view.screenX(tx * tileCells),
+                            view.screenY(ty * tileCells), null);
+                }
+            }
+        } else {
+            if (raster == null) {
+                raster = buildRaster(buffer);
+            }
+            g.drawImage(raster, view.screenX(x0), view.screenY(y0), view.screenX(x1 + 1), view.screenY(y1 + 1),
+                    x0, y0, x1 + 1, y1 + 1, null);
+        }
+        return (x1 - x0 + 1) * (y1 - y0 + 1);
+    }
+
+    /**
+     * Brings the caches up to date with a changed cell and draws it on the
+     * frame if asked to and it is visible.
+     *
+     * @return true if the cell was drawn on the frame
+     */
+    private boolean update(Graphics2D g, CellBuffer buffer, Viewport view, int cell, int rgb, boolean draw) {
+        int x = cell / buffer.rows;
+        int y = cell % buffer.rows;
+        if (raster != null) {
+            raster.setRGB(x, y, rgb);
+        }
+        Color color = color(rgb);
+        int sx = view.screenX(x);
+        int sy = view.screenY(y);
+        if (view.isTiled()) {
+            int tileCells = tileCells(view);
+            int scale = (int) view.getScale();
+            BufferedImage tile = tiles.get(key(x / tileCells, y / tileCells));
+            if (tile != null) {
+                Graphics2D tg = tile.createGraphics();
+                drawCell(tg, color, x % tileCells * scale, y % tileCells * scale, scale);
+                tg.dispose();
+            }
+            if (!draw || sx + scale < 0 || sy + scale < 0 || sx >= width || sy >= height) {
+                return false;
+            }
+            drawCell(g, color, sx, sy, scale);
+        } else {
+            if (!draw || sx < 0 || sy < 0 || sx >= width || sy >= height) {
+                return false;
+            }
+            g.setColor(color);
+            g.fillRect(sx, sy, Math.max(1, view.screenX(x + 1) - sx), Math.max(1, view.screenY(y + 1) - sy));
+        }
+        return true;
+    }
+
+    private Color color(int rgb) {
+        Color color = colors.get(rgb);
+        if (color == null) {
+            color = new Color(rgb);
+            colors.put(rgb, color);
+        }
+        return color;
+    }
+
+    private static int tileCells(Viewport view) {
+        return Math.max(1, TILE_PIXELS / (int) view.getScale());
+    }
+
+    private static long key(int tx, int ty) {
+        return (long) tx << 32 | ty & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Gets a tile from the cache, rendering it first if it is missing.
+     */
+    private BufferedImage tile(CellBuffer buffer, int tx, int ty, int tileCells) {
+        long key = key(tx, ty);
+        BufferedImage tile = tiles.get(key);
+        if (tile != null) {
+            return tile;
+        }
+        int scale = (int) tileScale;
+        int x0 = tx * tileCells;
+        int y0 = ty * tileCells;
+        int columns = Math.min(tileCells, buffer.columns - x0);
+        int rows = Math.min(tileCells, buffer.rows - y0);
+        // One more pixel for the outline of the last column and row
+        int extra = scale >= OUTLINE_MIN_SCALE ? 1 : 0;
+        tile = new BufferedImage(columns * scale + extra, rows * scale + extra, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tile.createGraphics();
+        for (int i = 0; i < columns; i++) {
+            for (int j = 0; j < rows; j++) {
+                drawCell(g, color(buffer.snapshot[(x0 + i) * buffer.rows + y0 + j]), i * scale, j * scale, scale);
+            }
+        }
+        g.dispose();
+        tiles.put(key, tile);
+        return tile;
+    }
+
+    /**
+     * Draws a cell like {@link Node#render(Graphics2D)} does, at any scale.
+     */
+    private static void drawCell(Graphics2D g, Color color, int x, int y, int scale) {
+        if (scale >= OUTLINE_MIN_SCALE) {
+            g.setColor(Color.BLACK);
+            g.drawRect(x, y, scale, scale);
+            g.setColor(color);
+            g.fillRect(x + 1, y + 1, scale - 1, scale - 1);
+        } else {
+            g.setColor(color);
+            g.fillRect(x, y, scale, scale);
+        }
+    }
+
+    /**
+     * Builds the level-of-detail raster, one pixel per cell.
+     */
+    private static BufferedImage buildRaster(CellBuffer buffer) {
+        int columns = buffer.columns;
+        int rows = buffer.rows;
+        BufferedImage image = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int x = 0; x < columns; x++) {
+            for (int y = 0, c = x * rows; y < rows; y++, c++) {
+                pixels[y * columns + x] = buffer.snapshot[c];
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Gets the number of tiles currently cached.
+     *
+     * @return The tile count
+     */
+    public int getCachedTiles() {
+        return tiles.size();
+    }
+
+    /**
+     * Gets the backing image with the last painted frame.
+     *
+     * @return The frame, or null before the first {@link #paint(Node[][])}
+     */
+    public BufferedImage getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gets the number of nodes painted by the last {@link #paint(Node[][])}.
+     *
+     * @return The node count
+     */
+    public int getLastPainted() {
+        return lastPainted;
+    }
+
+    /**
+     * Colours of one node grid, shared between the threads that change nodes
+     * and the render thread. Cell {@code x * rows + y} holds the colour of
+     * node {@code (x, y)}.
+     */
+    private static final class CellBuffer {
+
+        final Node[][] nodes;
+        final int columns;
+        final int rows;
+        /** Latest colour of every cell, written by any thread. */
+        final AtomicIntegerArray shared;
+        /** One bit per cell published since the last frame. */
+        final AtomicLongArray dirty;
+        /** Colours the frame is drawn from, only used by the render thread. */
+        final int[] snapshot;
+
+        CellBuffer(Node[][] nodes) {
+            this.nodes = nodes;
+            columns = nodes.length;
+            rows = columns == 0 ? 0 : nodes[0].length;
+            snapshot = new int[columns * rows];
+            for (int x = 0; x < columns; x++) {
+                for (int y = 0; y < rows; y++) {
+                    snapshot[x * rows + y] = nodes[x][y].getColor().getRGB();
+                }
+            }
+            shared = new AtomicIntegerArray(snapshot);
+            dirty = new AtomicLongArray((snapshot.length + 63) / 64);
+        }
+
+        /**
+         * Publishes the current colour of a node of this grid.
+         *
+         * @return true if the node belongs to the grid
+         */
+        boolean publish(Node node) {
+            int x = node.getX();
+            int y = node.getY();
+            if (x < 0 || y < 0 || x >= columns || y >= rows || nodes[x][y] != node) {
+                return false;
+            }
+            int cell = x * rows + y;
+            shared.set(cell, node.getColor().getRGB());
+            long bit = 1L << cell;
+            int word = cell >>> 6;
+            long bits = dirty.get(word);
+            while ((bits & bit) == 0 && !dirty.compareAndSet(word, bits, bits | bit)) {
+                bits = dirty.get(word);
+            }
+            return true;
+        }
+    }
+}
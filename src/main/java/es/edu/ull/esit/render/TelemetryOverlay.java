@@ -0,0 +1,135 @@
+package es.edu.ull.esit.render;
+
+import es.edu.ull.esit.algorithm.SearchStats;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live search and rendering figures drawn over the grid: nodes expanded per
+ * second, frontier size and peak, path length, frame render time and frames
+ * per second.
+ * <p>
+ * The search figures are read from the lock-free {@link SearchStats} of the
+ * running search. Rates are measured over windows of
+ * {@link #SAMPLE_NANOS}, so they stay readable while frames come fast. The
+ * overlay is only updated and drawn by the render thread, and only while it
+ * is shown.
+ */
+public class TelemetryOverlay {
+
+    /** Length of the window the rates are measured over, in nanoseconds. */
+    public static final long SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+
+    private final String[] lines = new String[6];
+    private long sampleStart;
+    private long sampleExpanded;
+    private int sampleFrames;
+    private double expandedPerSecond;
+    private double framesPerSecond;
+    private long frameNanos;
+    private long expanded;
+    private int frontier;
+    private int peakFrontier;
+    private int pathLength;
+
+    /**
+     * Records a frame and the state of the search when it was drawn.
+     *
+     * @param stats       The counters of the running or last search
+     * @param renderNanos The time taken to render the frame, in nanoseconds
+     * @param now         The current {@link System#nanoTime()}
+     */
+    public void frameRendered(SearchStats stats, long renderNanos, long now) {
+        frameNanos = renderNanos;
+        expanded = stats.getExpanded();
+        frontier = stats.getFrontier();
+        peakFrontier = stats.getPeakFrontier();
+        pathLength = stats.getPathLength();
+        sampleFrames++;
+        if (sampleStart == 0 || expanded < sampleExpanded) {
+            // First frame, or a new search restarted the counters
+            sampleStart = now;
+            sampleExpanded = expanded;
+            sampleFrames = 0;
+            return;
+        }
+        long elapsed = now - sampleStart;
+        if (elapsed >= SAMPLE_NANOS) {
+            expandedPerSecond = (expanded - sampleExpanded) * 1e9 / elapsed;
+            framesPerSecond = sampleFrames * 1e9 / elapsed;
+            sampleStart = now;
+            sampleExpanded = expanded;
+            sampleFrames = 0;
+        }
+    }
+
+    /**
+     * Forgets the measured rates, e.g. after the overlay was hidden for a while.
+     */
+    public void reset() {
+        sampleStart = 0;
+        expandedPerSecond = 0;
+        framesPerSecond = 0;
+    }
+
+    /**
+     * Draws the figures in the top left corner.
+     *
+     * @param g The graphics context of the frame
+     */
+    public void draw(Graphics2D g) {
+        lines[0] = String.format("expanded/s %10.0f", expandedPerSecond);
+        lines[1] = String.format("expanded   %10d", expanded);
+        lines[2] = String.format("frontier   %10d", frontier);
+        lines[3] = String.format("peak front %10d", peakFrontier);
+        lines[4] = String.format("path       %10d", pathLength);
+        lines[5] = String.format("frame %6.2f ms %5.1f fps", frameNanos / 1e6, framesPerSecond);
+
+        g.setFont(FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        int lineHeight = metrics.getHeight();
+        g.setColor(BACKGROUND);
+        g.fillRect(4, 4, width + 12, lineHeight * lines.length + 8);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], 10, 8 + metrics.getAscent() + i * lineHeight);
+        }
+    }
+
+    /**
+     * Gets the nodes expanded per second over the last window.
+     *
+     * @return The expansion rate
+     */
+    public double getExpandedPerSecond() {
+        return expandedPerSecond;
+    }
+
+    /**
+     * Gets the frames per second over the last window.
+     *
+     * @return The frame rate
+     */
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * Gets the render time of the last frame.
+     *
+     * @return The render time in nanoseconds
+     */
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+}
@@ -0,0 +1,189 @@
+package es.edu.ull.esit.render;
+
+/**
+ * Visible window over the maze: where cell (0, 0) is drawn on screen and how
+ * many pixels a cell takes.
+ * <p>
+ * The zoom moves through the fixed {@link #ZOOM_LEVELS}. Levels of at least
+ * {@link #TILE_MIN_SCALE} pixels per cell are drawn cell by cell through the
+ * tile cache; smaller ones are drawn from a raster with one pixel per cell,
+ * scaled to the screen. The default view draws cells of 35 pixels starting at
+ * (15, 15), which is where {@link es.edu.ull.esit.Node} places them.
+ * <p>
+ * The view is changed from the event thread and read from the render thread,
+ * so every method is synchronized and the renderer works on a {@link #copy()}.
+ */
+public class Viewport {
+
+    /** Available zoom levels, in pixels per cell. */
+    static final double[] ZOOM_LEVELS = { 0.0625, 0.125, 0.25, 0.5, 1, 2, 3, 4, 6, 8, 12, 16, 24, 35, 48, 64 };
+    /** Smallest scale drawn cell by cell; smaller scales use the one-pixel-per-cell raster. */
+    public static final int TILE_MIN_SCALE = 4;
+    /** Screen position of cell (0, 0) in the default view. */
+    public static final int DEFAULT_ORIGIN = 15;
+    /** Cell size of the default view. */
+    public static final int DEFAULT_CELL_SIZE = 35;
+
+    private static final int DEFAULT_LEVEL = 13;
+
+    private int originX;
+    private int originY;
+    private int level;
+
+    /**
+     * Constructs the default view.
+     */
+    public Viewport() {
+        reset();
+    }
+
+    private Viewport(int originX, int originY, int level) {
+        this.originX = originX;
+        this.originY = originY;
+        this.level = level;
+    }
+
+    /**
+     * Goes back to the default position and zoom.
+     */
+    public synchronized void reset() {
+        originX = DEFAULT_ORIGIN;
+        originY = DEFAULT_ORIGIN;
+        level = DEFAULT_LEVEL;
+    }
+
+    /**
+     * Gets a copy of the current view.
+     *
+     * @return A copy that does not follow later changes
+     */
+    public synchronized Viewport copy() {
+        return new Viewport(originX, originY, level);
+    }
+
+    /**
+     * Moves the maze on screen.
+     *
+     * @param dx The horizontal offset, in pixels
+     * @param dy The vertical offset, in pixels
+     */
+    public synchronized void scroll(int dx, int dy) {
+        originX += dx;
+        originY += dy;
+    }
+
+    /**
+     * Zooms in or out by whole levels, keeping the point under the anchor in place.
+     *
+     * @param steps   The number of levels; positive zooms in, negative zooms out
+     * @param anchorX The horizontal screen position that stays fixed
+     * @param anchorY The vertical screen position that stays fixed
+     * @return true if the zoom changed, false if it was already at the limit
+     */
+    public synchronized boolean zoom(int steps, int anchorX, int anchorY) {
+        int next = Math.max(0, Math.min(ZOOM_LEVELS.length - 1, level + steps));
+        if (next == level) {
+            return false;
+        }
+        double ratio = ZOOM_LEVELS[next] / ZOOM_LEVELS[level];
+        originX = (int) Math.round(anchorX - (anchorX - originX) * ratio);
+        originY = (int) Math.round(anchorY - (anchorY - originY) * ratio);
+        level = next;
+        return true;
+    }
+
+    /**
+     * Picks the largest zoom level at which a whole maze fits in an area and
+     * centers the maze in it.
+     *
+     * @param columns The number of columns of the maze
+     * @param rows    The number of rows of the maze
+     * @param width   The width of the area, in pixels
+     * @param height  The height of the area, in pixels
+     */
+    public synchronized void fit(int columns, int rows, int width, int height) {
+        level = 0;
+        while (level < ZOOM_LEVELS.length - 1 && columns * ZOOM_LEVELS[level + 1] <= width
+                && rows * ZOOM_LEVELS[level + 1] <= height) {
+            level++;
+        }
+        originX = (int) Math.round((width - columns * ZOOM_LEVELS[level]) / 2);
+        originY = (int) Math.round((height - rows * ZOOM_LEVELS[level]) / 2);
+    }
+
+    /**
+     * Gets the number of pixels per cell.
+     *
+     * @return The scale
+     */
+    public synchronized double getScale() {
+        return ZOOM_LEVELS[level];
+    }
+
+    /**
+     * Checks whether the current scale is drawn cell by cell through the tile cache.
+     *
+     * @return true for tiles, false for the one-pixel-per-cell raster
+     */
+    public synchronized boolean isTiled() {
+        return ZOOM_LEVELS[level] >= TILE_MIN_SCALE;
+    }
+
+    /**
+     * Gets the screen position of the left edge of cell column 0.
+     *
+     * @return The horizontal origin, in pixels
+     */
+    public synchronized int getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Gets the screen position of the top edge of cell row 0.
+     *
+     * @return The vertical origin, in pixels
+     */
+    public synchronized int getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Gets the cell column under a screen position.
+     *
+     * @param px The horizontal screen position
+     * @return The column, possibly outside the grid
+     */
+    public synchronized int cellX(int px) {
+        return (int) Math.floor((px - originX) / ZOOM_LEVELS[level]);
+    }
+
+    /**
+     * Gets the cell row under a screen position.
+     *
+     * @param py The vertical screen position
+     * @return The row, possibly outside the grid
+     */
+    public synchronized int cellY(int py) {
+        return (int) Math.floor((py - originY) / ZOOM_LEVELS[level]);
+    }
+
+    /**
+     * Gets the screen position of the left edge of a cell column.
+     *
+     * @param x The column
+     * @return The horizontal screen position
+     */
+    public synchronized int screenX(int x) {
+        return originX + (int) Math.floor(x * ZOOM_LEVELS[level]);
+    }
+
+    /**
+     * Gets the screen position of the top edge of a cell row.
+     *
+     * @param y The row
+     * @return The vertical screen position
+     */
+    public synchronized int screenY(int y) {
+        return originY + (int) Math.floor(y * ZOOM_LEVELS[level]);
+    }
+}
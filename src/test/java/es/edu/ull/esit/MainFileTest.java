@@ -1,14 +1,19 @@
 package es.edu.ull.esit;
 
 import es.edu.ull.esit.algorithm.*;
+import es.edu.ull.esit.io.MazeBinaryFormat;
+import es.edu.ull.esit.io.MazeIndexFile;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseEvent;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -63,6 +68,145 @@ public class MainFileTest {
         assertEquals(Color.BLACK, nodes[2][2].getColor());
     }
 
+    @Test
+    void testReopenedMazeReusesStoredIndex() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field nodeListField = Main.class.getDeclaredField("nodeList");
+        nodeListField.setAccessible(true);
+        nodeListField.set(mainApp, new Node[28][19]);
+        Path file = tempDir.resolve("plain.maze");
+        Files.write(file, "2001\n1111\n0003\n".getBytes(StandardCharsets.US_ASCII));
+
+        mainApp.openMazeFromFile(file.toFile());
+        assertFalse(Files.exists(MazeIndexFile.sidecarOf(file)), "Opening alone writes nothing");
+        assertFalse(mainApp.getMazeIndex().isCached());
+        assertFalse(mainApp.isGoalReachable());
+        assertTrue(Files.exists(MazeIndexFile.sidecarOf(file)));
+
+        mainApp.openMazeFromFile(file.toFile());
+        MazeIndex reopened = mainApp.getMazeIndex();
+        assertTrue(reopened.isCached());
+        assertEquals(2, reopened.getComponentCount());
+    }
+
+    @Test
+    void testEditedMazeKeepsStoredIndex() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field nodeListField = Main.class.getDeclaredField("nodeList");
+        nodeListField.setAccessible(true);
+        nodeListField.set(mainApp, new Node[28][19]);
+        Path file = tempDir.resolve("edited.maze");
+        Files.write(file, "2001\n1111\n0003\n".getBytes(StandardCharsets.US_ASCII));
+        mainApp.openMazeFromFile(file.toFile());
+        mainApp.getMazeIndex();
+        byte[] stored = Files.readAllBytes(MazeIndexFile.sidecarOf(file));
+
+        // Node at 50,15 is the wall at 1,0
+        mainApp.mousePressed(new MouseEvent(new JPanel(), MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), 0, 50, 15, 1, false, MouseEvent.BUTTON1));
+        assertEquals(1, mainApp.getMazeIndex().getComponentCount());
+        assertArrayEquals(stored, Files.readAllBytes(MazeIndexFile.sidecarOf(file)));
+    }
+
+    @Test
+    void testOpenMazeWithSeveralTargets() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field nodeListField = Main.class.getDeclaredField("nodeList");
+        nodeListField.setAccessible(true);
+        Node[][] nodes = new Node[28][19];
+        for (int i = 0; i < 28; i++) {
+            for (int j = 0; j < 19; j++) {
+                nodes[i][j] = new Node(i, j);
+            }
+        }
+        nodeListField.set(mainApp, nodes);
+
+        nodes[0][0].setColor(Color.GREEN);
+        nodes[3][4].setColor(Color.RED);
+        nodes[10][10].setColor(Color.RED);
+        nodes[27][18].setColor(Color.RED);
+        File saveFile = tempDir.resolve("goals.maze").toFile();
+        mainApp.saveMazeToFile(saveFile);
+
+        mainApp.createNodes(true);
+        mainApp.openMazeFromFile(saveFile);
+
+        assertEquals(3, mainApp.getTargets().size());
+        assertTrue(mainApp.getTargets().contains(nodes[10][10]));
+        for (Node goal : mainApp.getTargets()) {
+            assertTrue(goal.isEnd());
+        }
+    }
+
+    @Test
+    void testSaveAndOpenBinaryMaze() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field nodeListField = Main.class.getDeclaredField("nodeList");
+        nodeListField.setAccessible(true);
+        Node[][] nodes = new Node[28][19];
+        for (int i = 0; i < 28; i++) {
+            for (int j = 0; j < 19; j++) {
+                nodes[i][j] = new Node(i, j);
+            }
+        }
+        nodeListField.set(mainApp, nodes);
+
+        nodes[0][0].setColor(Color.GREEN);
+        nodes[1][1].setColor(Color.RED);
+        nodes[2][2].setColor(Color.BLACK);
+        File saveFile = tempDir.resolve("saved.mzb").toFile();
+        mainApp.saveMazeToFile(saveFile);
+
+        assertTrue(saveFile.exists());
+        assertTrue(saveFile.length() < 28 * 19);
+
+        mainApp.createNodes(true);
+        mainApp.openMazeFromFile(saveFile);
+
+        assertEquals(Color.GREEN, nodes[0][0].getColor());
+        assertEquals(Color.RED, nodes[1][1].getColor());
+        assertEquals(Color.BLACK, nodes[2][2].getColor());
+        assertEquals(Color.LIGHT_GRAY, nodes[3][3].getColor());
+    }
+
+    @Test
+    void testOpenMazeOfAnotherSize() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        File file = tempDir.resolve("small.maze").toFile();
+        Files.write(file.toPath(), "MAZE 3 2\n20\n11\n03\n".getBytes(StandardCharsets.US_ASCII));
+
+        mainApp.openMazeFromFile(file);
+
+        Field nodeListField = Main.class.getDeclaredField("nodeList");
+        nodeListField.setAccessible(true);
+        Node[][] nodes = (Node[][]) nodeListField.get(mainApp);
+        assertEquals(3, nodes.length);
+        assertEquals(2, nodes[0].length);
+        assertTrue(nodes[0][0].isStart());
+        assertTrue(nodes[1][1].isWall());
+        assertEquals(1, mainApp.getTargets().size());
+        assertSame(nodes[2][1], mainApp.getTargets().get(0));
+        assertEquals(nodes[0][1], nodes[0][0].getNeighbours().get(0));
+    }
+
+    @Test
+    void testOpenEmptyMazeFails() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field nodeListField = Main.class.getDeclaredField("nodeList");
+        nodeListField.setAccessible(true);
+        Node[][] nodes = new Node[28][19];
+        nodeListField.set(mainApp, nodes);
+
+        File text = tempDir.resolve("empty.maze").toFile();
+        Files.write(text.toPath(), "MAZE 0 0\n".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IOException.class, () -> mainApp.openMazeFromFile(text));
+
+        // Other formats can hold an empty grid too
+        File binary = tempDir.resolve("empty.mzb").toFile();
+        MazeBinaryFormat.write(new MazeGrid(0, 4), binary.toPath());
+        assertThrows(IOException.class, () -> mainApp.openMazeFromFile(binary));
+        assertSame(nodes, nodeListField.get(mainApp));
+    }
+
     @Test
     void testRunAlgorithms() throws NoSuchFieldException, IllegalAccessException {
         Main mainApp = new Main();
@@ -113,10 +257,77 @@ public class MainFileTest {
         
         mainApp.runBidirectional();
         assertTrue(getAlgorithmStrategy() instanceof BidirectionalSearchAlgorithm);
+
+        // The nodes are not linked, so no goal can be reached
+        assertNull(mainApp.runNearestGoal());
+        assertTrue(getAlgorithmStrategy() instanceof NearestGoalAlgorithm);
+        assertEquals("no goal reachable", mainApp.getSearchResult());
+
+        StrategySelector.Choice choice = mainApp.runAuto();
+        assertEquals("auto selected " + choice, mainApp.getSearchResult());
+        assertTrue(getAlgorithmStrategy() instanceof NearestGoalAlgorithm, "The automatic choice must not be kept");
         
         mainApp.generateMazeLogic();
     }
     
+    @Test
+    void testRecordSaveAndReplaySearchTrace() throws IOException, InterruptedException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field algorithmField = Main.class.getDeclaredField("algorithm");
+        algorithmField.setAccessible(true);
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithmField.set(null, algorithm);
+        MazeGrid grid = new MazeGrid(6, 5);
+        grid.set(0, 0, MazeGrid.START);
+        grid.set(5, 4, MazeGrid.END);
+        grid.set(2, 1, MazeGrid.WALL);
+        mainApp.loadGrid(grid);
+        mainApp.setRecordTrace(true);
+
+        assertTrue(mainApp.startSearch("BFS", mainApp::runBfs));
+        assertTrue(mainApp.getSearchRunner().await(10000));
+        SearchTrace trace = mainApp.getLastTrace();
+        assertNotNull(trace);
+        assertTrue(trace.size() > 0);
+
+        File saveFile = tempDir.resolve("search").toFile();
+        mainApp.saveTraceToFile(saveFile);
+        File traceFile = tempDir.resolve("search.mzt").toFile();
+        assertTrue(traceFile.exists());
+
+        mainApp.clearSearchResults();
+        mainApp.replayTraceFromFile(traceFile);
+        assertTrue(mainApp.handleReplayKey(java.awt.event.KeyEvent.VK_PERIOD));
+        assertFalse(mainApp.handleReplayKey(java.awt.event.KeyEvent.VK_LEFT));
+        mainApp.stopReplay();
+        assertFalse(mainApp.handleReplayKey(java.awt.event.KeyEvent.VK_PERIOD));
+    }
+
+    @Test
+    void testExportHeatmap() throws IOException, NoSuchFieldException, IllegalAccessException {
+        Main mainApp = new Main();
+        Field algorithmField = Main.class.getDeclaredField("algorithm");
+        algorithmField.setAccessible(true);
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithmField.set(null, algorithm);
+        MazeGrid grid = new MazeGrid(6, 5);
+        grid.set(0, 0, MazeGrid.START);
+        grid.set(5, 4, MazeGrid.END);
+        mainApp.loadGrid(grid);
+        mainApp.setRecordHeatmap(true);
+        mainApp.runBfs();
+        mainApp.setRecordHeatmap(false);
+
+        mainApp.exportHeatmapToFile(tempDir.resolve("heat.png").toFile());
+        assertTrue(Files.exists(tempDir.resolve("heat.png")));
+        assertTrue(Files.exists(tempDir.resolve("heat-frontier.png")));
+
+        mainApp.exportHeatmapToFile(tempDir.resolve("heat.csv").toFile());
+        assertTrue(Files.readAllLines(tempDir.resolve("heat.csv")).size() > 1);
+    }
+
     private Object getAlgorithmStrategy() throws NoSuchFieldException, IllegalAccessException {
         Field algorithmField = Main.class.getDeclaredField("algorithm");
         algorithmField.setAccessible(true);
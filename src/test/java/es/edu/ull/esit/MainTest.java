@@ -10,6 +10,8 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
 import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -192,6 +194,26 @@ class MainTest {
         g2d.dispose();
     }
 
+    @Test
+    void testRenderWithTelemetry() {
+        BufferedImage image = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        mainApp.render(g2d);
+        int plain = image.getRGB(8, 8);
+
+        assertFalse(mainApp.isShowTelemetry());
+        mainApp.setShowTelemetry(true);
+        assertTrue(mainApp.isShowTelemetry());
+        mainApp.render(g2d);
+        assertNotEquals(plain, image.getRGB(8, 8));
+        assertTrue(mainApp.getTelemetryOverlay().getFrameNanos() > 0);
+
+        mainApp.setShowTelemetry(false);
+        mainApp.render(g2d);
+        assertEquals(plain, image.getRGB(8, 8));
+        g2d.dispose();
+    }
+
     @Test
     void testUnusedMouseEvents() {
         MouseEvent e = new MouseEvent(mainApp, MouseEvent.MOUSE_CLICKED, System.currentTimeMillis(), 0, 0, 0, 1, false);
@@ -300,7 +322,33 @@ class MainTest {
     }
 
     @Test
-    void testMenuActions() throws NoSuchFieldException, IllegalAccessException {
+    void testCtrlClickAddsTargets() throws NoSuchFieldException, IllegalAccessException {
+        Field targetField = Main.class.getDeclaredField("target");
+        targetField.setAccessible(true);
+        targetField.set(null, null);
+        Field targetsField = Main.class.getDeclaredField("targets");
+        targetsField.setAccessible(true);
+        ((java.util.List<?>) targetsField.get(null)).clear();
+
+        MouseEvent first = new MouseEvent(mainApp, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), 0, 85, 15, 1, false, MouseEvent.BUTTON3);
+        mainApp.mousePressed(first);
+        MouseEvent extra = new MouseEvent(mainApp, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), MouseEvent.CTRL_DOWN_MASK, 120, 15, 1, false, MouseEvent.BUTTON3);
+        mainApp.mousePressed(extra);
+
+        assertEquals(2, mainApp.getTargets().size());
+        assertTrue(mainApp.getNodeAt(85, 15).isEnd());
+        assertTrue(mainApp.getNodeAt(120, 15).isEnd());
+
+        // A plain right click replaces every goal
+        MouseEvent move = new MouseEvent(mainApp, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), 0, 155, 15, 1, false, MouseEvent.BUTTON3);
+        mainApp.mousePressed(move);
+        assertEquals(1, mainApp.getTargets().size());
+        assertFalse(mainApp.getNodeAt(85, 15).isEnd());
+        assertFalse(mainApp.getNodeAt(120, 15).isEnd());
+    }
+
+    @Test
+    void testMenuActions() throws NoSuchFieldException, IllegalAccessException, InterruptedException {
         // Use JPanel as a container to avoid HeadlessException
         JPanel panel = new JPanel();
         Main.SetupMenu(panel);
@@ -325,14 +373,15 @@ class MainTest {
         
         // Verify Menu Items in "Board"
         JMenu boardMenu = menuBar.getMenu(1);
-        assertEquals(3, boardMenu.getItemCount());
+        assertEquals(4, boardMenu.getItemCount());
         assertEquals("New Board", boardMenu.getItem(0).getText());
         assertEquals("Generate Maze", boardMenu.getItem(1).getText());
         assertEquals("Clear Search Results", boardMenu.getItem(2).getText());
+        assertEquals("Show Telemetry", boardMenu.getItem(3).getText());
         
         // Verify Menu Items in "Algorithms"
         JMenu algoMenu = menuBar.getMenu(2);
-        assertEquals(7, algoMenu.getItemCount()); // BFS, DFS, A*, Dijkstra, Greedy, Bidirectional, SearchTime
+        assertEquals(16, algoMenu.getItemCount()); // BFS, DFS, A*, Dijkstra, Greedy, Bidirectional, Weighted A*, Focal, Nearest Goal, Auto, SearchTime, Bound, Cancel, Record, Race, Heatmap
         
         // --- Test Board Menu Actions ---
         
@@ -408,6 +457,7 @@ class MainTest {
         }
         assertNotNull(bfsItem);
         bfsItem.doClick();
+        assertTrue(mainApp.getSearchRunner().await(5000));
         assertEquals(Color.MAGENTA, nodes[1].getColor(), "BFS should find path");
         
         // Test DFS
@@ -421,6 +471,7 @@ class MainTest {
         }
         assertNotNull(dfsItem);
         dfsItem.doClick();
+        assertTrue(mainApp.getSearchRunner().await(5000));
         assertEquals(Color.MAGENTA, nodes[1].getColor(), "DFS should find path");
         
         // Test A*
@@ -434,6 +485,7 @@ class MainTest {
         }
         assertNotNull(astarItem);
         astarItem.doClick();
+        assertTrue(mainApp.getSearchRunner().await(5000));
         assertEquals(Color.MAGENTA, nodes[1].getColor(), "A* should find path");
         
         // Test Dijkstra
@@ -447,6 +499,7 @@ class MainTest {
         }
         assertNotNull(dijkstraItem);
         dijkstraItem.doClick();
+        assertTrue(mainApp.getSearchRunner().await(5000));
         assertEquals(Color.MAGENTA, nodes[1].getColor(), "Dijkstra should find path");
         
         // Test Greedy
@@ -460,6 +513,7 @@ class MainTest {
         }
         assertNotNull(greedyItem);
         greedyItem.doClick();
+        assertTrue(mainApp.getSearchRunner().await(5000));
         assertEquals(Color.MAGENTA, nodes[1].getColor(), "Greedy should find path");
         
         // Test Bidirectional
@@ -473,6 +527,7 @@ class MainTest {
         }
         assertNotNull(biItem);
         biItem.doClick();
+        assertTrue(mainApp.getSearchRunner().await(5000));
         assertEquals(Color.MAGENTA, nodes[1].getColor(), "Bidirectional should find path");
     }
 
@@ -609,6 +664,58 @@ class MainTest {
         }
     }
 
+    @Test
+    void testStartSearchRejectsInvalidMaze() throws NoSuchFieldException, IllegalAccessException {
+        Field startField = Main.class.getDeclaredField("start");
+        startField.setAccessible(true);
+        startField.set(null, null);
+
+        assertFalse(mainApp.startSearch("BFS", mainApp::runBfs));
+        assertFalse(mainApp.getSearchRunner().isRunning());
+    }
+
+    @Test
+    void testStartSearchSkipsUnreachableTarget() throws NoSuchFieldException, IllegalAccessException {
+        // Walls at 1,0 and 0,1 shut the start in its corner
+        mainApp.getNodeAt(50, 15).setColor(Color.BLACK);
+        mainApp.getNodeAt(15, 50).setColor(Color.BLACK);
+        Field targetField = Main.class.getDeclaredField("target");
+        targetField.setAccessible(true);
+        targetField.set(null, mainApp.getNodeAt(85, 15)); // 2,0
+
+        assertFalse(mainApp.isGoalReachable());
+        assertFalse(mainApp.startSearch("BFS", mainApp::runBfs));
+        assertFalse(mainApp.getSearchRunner().isRunning());
+
+        // Clearing the grid discards the index along with the walls
+        mainApp.createNodes(true);
+        assertTrue(mainApp.isGoalReachable());
+    }
+
+    @Test
+    void testEditsWaitForRunningSearch() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        assertTrue(mainApp.startSearch("Blocking", () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // Node at 85,15 is 2,0
+        MouseEvent wall = new MouseEvent(mainApp, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), 0, 85, 15, 1, false, MouseEvent.BUTTON1);
+        mainApp.mousePressed(wall);
+        assertFalse(mainApp.getNodeAt(85, 15).isWall(), "Clicks are ignored while a search runs");
+
+        assertTrue(mainApp.cancelSearch());
+        assertFalse(mainApp.getSearchRunner().isRunning());
+        mainApp.mousePressed(wall);
+        assertTrue(mainApp.getNodeAt(85, 15).isWall());
+    }
+
     @Test
     void testGenerateMazeLogic() throws NoSuchFieldException, IllegalAccessException {
         mainApp.generateMazeLogic();
@@ -0,0 +1,122 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.Heuristic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MazeFeatures and StrategySelector.
+ * Checks the single-pass features and the automatic strategy selection.
+ */
+class MazeFeaturesTest {
+
+    private Node[][] grid;
+    private final int WIDTH = 10;
+    private final int HEIGHT = 10;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Node[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                Node up = null, down = null, left = null, right = null;
+                if (j > 0) up = grid[i][j - 1];
+                if (j < HEIGHT - 1) down = grid[i][j + 1];
+                if (i > 0) left = grid[i - 1][j];
+                if (i < WIDTH - 1) right = grid[i + 1][j];
+                grid[i][j].setDirections(left, right, up, down);
+            }
+        }
+    }
+
+    @Test
+    void testOpenGridFeatures() {
+        MazeFeatures features = MazeFeatures.compute(grid, grid[0][0], grid[9][9]);
+
+        assertEquals(0.0, features.getWallDensity());
+        assertEquals(100, features.getOpenCells());
+        assertEquals(1, features.getComponents());
+        assertEquals(81, features.getCycles());
+        assertFalse(features.isPerfect());
+        assertEquals(18, features.getStartTargetDistance());
+    }
+
+    @Test
+    void testGeneratedMazeIsPerfect() {
+        new MazeGenerator(WIDTH, HEIGHT, grid).generate();
+        MazeFeatures features = MazeFeatures.compute(grid, null, null);
+
+        assertTrue(features.isPerfect(), "Backtracker mazes have no loops");
+        assertTrue(features.getWallDensity() > 0);
+        assertTrue(features.getCorridorRatio() > 0);
+        assertEquals(-1, features.getStartTargetDistance());
+    }
+
+    @Test
+    void testDisconnectedRegions() {
+        for (int j = 0; j < HEIGHT; j++) {
+            grid[5][j].setAsWall();
+        }
+        MazeFeatures features = MazeFeatures.compute(grid, null, null);
+
+        assertEquals(2, features.getComponents());
+        assertFalse(features.isPerfect());
+        assertEquals(0.1, features.getWallDensity(), 1e-9);
+    }
+
+    @Test
+    void testDefaultSelection() {
+        StrategySelector selector = new StrategySelector();
+        MazeFeatures open = MazeFeatures.compute(grid, grid[0][0], grid[9][9]);
+        assertEquals(StrategySelector.Strategy.ASTAR, selector.select(open).getStrategy());
+        assertEquals(Heuristic.MANHATTAN, selector.select(open).getHeuristic());
+    }
+
+    @Test
+    void testRetuneFromRecordedResults() {
+        StrategySelector selector = new StrategySelector();
+        MazeFeatures open = MazeFeatures.compute(grid, grid[0][0], grid[9][9]);
+        StrategySelector.Choice bfs = new StrategySelector.Choice(StrategySelector.Strategy.BFS, Heuristic.ZERO);
+        StrategySelector.Choice astar = new StrategySelector.Choice(StrategySelector.Strategy.ASTAR, Heuristic.EUCLIDEAN);
+
+        selector.record(open, astar, 500);
+        selector.record(open, bfs, 300);
+        selector.record(open, bfs, 100);
+        selector.retune();
+        assertEquals(bfs, selector.select(open));
+
+        Properties table = new Properties();
+        selector.store(table);
+        assertEquals("BFS:ZERO", table.getProperty(StrategySelector.bucket(open)));
+
+        StrategySelector loaded = new StrategySelector();
+        loaded.load(table);
+        assertEquals(bfs, loaded.select(open));
+    }
+
+    @Test
+    void testPerformAutoSearch() {
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        Node start = grid[0][0];
+        Node end = grid[9][9];
+        start.setColor(Color.GREEN);
+        end.setColor(Color.RED);
+
+        StrategySelector.Choice choice = algorithm.performAutoSearch(grid, start, end);
+
+        assertNotNull(choice);
+        assertNotNull(algorithm.getLastFeatures());
+        assertEquals(Color.MAGENTA, end.getColor());
+    }
+}
@@ -57,6 +57,37 @@ class MazeGeneratorTest {
         assertTrue(pathCount > 0, "Maze should contain paths");
     }
 
+    @Test
+    void testSeededGenerationIsReproducible() {
+        mazeGenerator.generate(1234L);
+        boolean[][] walls = new boolean[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                walls[i][j] = grid[i][j].isWall();
+            }
+        }
+
+        mazeGenerator.generate();
+        mazeGenerator.generate(1234L);
+
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                assertEquals(walls[i][j], grid[i][j].isWall());
+            }
+        }
+    }
+
+    @Test
+    void testTiledGenerationCarvesOddCells() {
+        mazeGenerator.generateTiled(42L);
+        for (int i = 1; i < WIDTH - 1; i += 2) {
+            for (int j = 1; j < HEIGHT - 1; j += 2) {
+                assertFalse(grid[i][j].isWall());
+            }
+        }
+        assertTrue(grid[0][0].isWall());
+    }
+
     @Test
     void testMazeIsSolvable() {
         mazeGenerator.generate();
@@ -0,0 +1,85 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.io.MazeIndexFile;
+import es.edu.ull.esit.io.MazeTextFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeMaze(String content) throws IOException {
+        Path file = tempDir.resolve("index.maze");
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    void testComponentsAreStoredAndReused() throws IOException {
+        Path file = writeMaze("2001\n1111\n0003\n");
+        MazeGrid grid = MazeTextFormat.read(file);
+
+        MazeIndex computed = MazeIndex.load(file, grid);
+        assertFalse(computed.isCached());
+        assertTrue(Files.exists(MazeIndexFile.sidecarOf(file)));
+        assertEquals(2, computed.getComponentCount());
+        assertEquals(-1, computed.getComponent(1, 0));
+        assertEquals(computed.getComponent(0, 0), computed.getComponent(0, 2));
+        assertNotEquals(computed.getComponent(0, 0), computed.getComponent(2, 3));
+
+        MazeIndex cached = MazeIndex.load(file, grid);
+        assertTrue(cached.isCached());
+        assertEquals(2, cached.getComponentCount());
+        for (int x = 0; x < 3; x++) {
+            for (int y = 0; y < 4; y++) {
+                assertEquals(computed.getComponent(x, y), cached.getComponent(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testStaleOrDamagedSidecarIsRebuilt() throws IOException {
+        Path file = writeMaze("2001\n1111\n0003\n");
+        MazeIndex.load(file, MazeTextFormat.read(file));
+
+        // Opening a wall joins both halves, so the stored labels no longer apply
+        Files.write(file, "2001\n1011\n0003\n".getBytes(StandardCharsets.US_ASCII));
+        MazeIndex rebuilt = MazeIndex.load(file, MazeTextFormat.read(file));
+        assertFalse(rebuilt.isCached());
+        assertEquals(1, rebuilt.getComponentCount());
+
+        Path sidecar = MazeIndexFile.sidecarOf(file);
+        byte[] bytes = Files.readAllBytes(sidecar);
+        Files.write(sidecar, Arrays.copyOf(bytes, 30));
+        assertFalse(MazeIndex.load(file, MazeTextFormat.read(file)).isCached());
+        assertTrue(MazeIndex.load(file, MazeTextFormat.read(file)).isCached());
+    }
+
+    @Test
+    void testConnectedNodes() {
+        Node[][] nodes = new Node[4][3];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                nodes[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        for (int j = 0; j < 3; j++) {
+            nodes[2][j].setColor(Color.BLACK);
+        }
+        MazeIndex index = MazeIndex.compute(MazeGrid.fromNodes(nodes));
+        assertTrue(index.isConnected(nodes[0][0], nodes[1][2]));
+        assertFalse(index.isConnected(nodes[0][0], nodes[3][1]));
+        assertFalse(index.isConnected(nodes[2][0], nodes[2][1]));
+    }
+}
@@ -221,4 +221,30 @@ public class NodeTest {
         // pero aseguramos que no lance excepciones.
     }
 
-}
\ No newline at end of file
+    /**
+     * Verifica que el listener solo se notifica cuando el color cambia.
+     */
+    @Test
+    public void testListenerNotifiedOnColorChange() {
+        Node n = new Node(15, 15);
+        int[] changes = new int[1];
+        n.setListener(node -> {
+            assertSame(n, node);
+            changes[0]++;
+        });
+
+        n.setColor(Color.LIGHT_GRAY);
+        assertEquals(0, changes[0]);
+        n.setAsWall();
+        n.setAsWall();
+        assertEquals(1, changes[0]);
+        n.Clicked(2);
+        n.clearNode();
+        assertEquals(3, changes[0]);
+
+        n.setListener(null);
+        n.setColor(Color.BLUE);
+        assertEquals(3, changes[0]);
+    }
+
+}
@@ -0,0 +1,99 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.BfsAlgorithm;
+import es.edu.ull.esit.algorithm.DfsAlgorithm;
+import es.edu.ull.esit.algorithm.SearchAlgorithm;
+import es.edu.ull.esit.algorithm.SearchStats;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchRaceTest {
+
+    private static MazeGrid maze() {
+        MazeGrid maze = new MazeGrid(12, 9);
+        for (int j = 0; j < 7; j++) {
+            maze.set(4, j, MazeGrid.WALL);
+        }
+        maze.set(0, 0, MazeGrid.START);
+        maze.set(11, 8, MazeGrid.END);
+        return maze;
+    }
+
+    @Test
+    void testEveryStrategyRacesOnItsOwnCopy() throws InterruptedException {
+        MazeGrid maze = maze();
+        SearchRace race = new SearchRace(maze, SearchRace.strategies(), 0, 1.5);
+        assertEquals(SearchRace.strategies().size(), race.getLanes().size());
+        assertFalse(race.isRunning());
+
+        race.start();
+        assertTrue(race.await(10000));
+        assertFalse(race.isRunning());
+
+        for (SearchRace.Lane lane : race.getLanes()) {
+            SearchStats stats = lane.getStats();
+            assertTrue(stats.getExpanded() > 0, lane.getName());
+            assertTrue(stats.getGenerated() > 0, lane.getName());
+            assertTrue(stats.getPathLength() > 0, lane.getName());
+            assertTrue(stats.getPeakFrontier() >= stats.getFrontier(), lane.getName());
+            assertFalse(stats.isRunning(), lane.getName());
+            // Walls are shared by every copy, searched cells are not
+            assertTrue(lane.getNodes()[4][0].isWall());
+        }
+        Node[][] bfs = race.getLanes().get(0).getNodes();
+        Node[][] dfs = race.getLanes().get(1).getNodes();
+        assertNotSame(bfs, dfs);
+        assertEquals(19, race.getLanes().get(0).getStats().getPathLength());
+        assertEquals(MazeGrid.PATH, maze.get(1, 0));
+        assertThrows(IllegalStateException.class, race::start);
+    }
+
+    @Test
+    void testCancelStopsEveryLane() throws InterruptedException {
+        Map<String, Supplier<SearchAlgorithm>> strategies = new LinkedHashMap<>();
+        strategies.put("BFS", BfsAlgorithm::new);
+        strategies.put("DFS", DfsAlgorithm::new);
+        SearchRace race = new SearchRace(maze(), strategies, 1000, 1.5);
+
+        race.start();
+        race.cancel();
+        assertTrue(race.await(5000));
+        for (SearchRace.Lane lane : race.getLanes()) {
+            assertEquals(0, lane.getStats().getPathLength());
+        }
+    }
+
+    @Test
+    void testRaceNeedsStartEndAndStrategies() {
+        MazeGrid noEnd = new MazeGrid(3, 3);
+        noEnd.set(0, 0, MazeGrid.START);
+        assertThrows(IllegalArgumentException.class, () -> new SearchRace(noEnd, SearchRace.strategies(), 0, 1.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SearchRace(maze(), new LinkedHashMap<String, Supplier<SearchAlgorithm>>(), 0, 1.5));
+        assertThrows(IllegalStateException.class, () -> new SearchRace(maze(), SearchRace.strategies(), 0, 1.5).await(1));
+    }
+
+    @Test
+    void testPanelShowsLiveCounters() throws InterruptedException {
+        Map<String, Supplier<SearchAlgorithm>> strategies = new LinkedHashMap<>();
+        strategies.put("BFS", BfsAlgorithm::new);
+        SearchRace race = new SearchRace(maze(), strategies, 0, 1.5);
+        RacePanel panel = new RacePanel(race);
+        assertTrue(panel.getCountersText(0).startsWith("Expanded 0 "));
+
+        panel.start();
+        assertTrue(race.await(10000));
+        panel.refresh();
+        SearchStats stats = race.getLanes().get(0).getStats();
+        assertTrue(panel.getCountersText(0).startsWith("Expanded " + stats.getExpanded() + " "));
+        assertTrue(panel.getCountersText(0).contains("Path 19"));
+        assertEquals(Color.MAGENTA, race.getLanes().get(0).getNodes()[11][8].getColor());
+        panel.stop();
+    }
+}
@@ -0,0 +1,81 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.BfsAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchRunnerTest {
+
+    private final SearchRunner runner = new SearchRunner();
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    private static Node[][] openGrid(int width, int height) {
+        Node[][] grid = new Node[width][height];
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                grid[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                grid[i][j].setDirections(i > 0 ? grid[i - 1][j] : null, i < width - 1 ? grid[i + 1][j] : null,
+                        j > 0 ? grid[i][j - 1] : null, j < height - 1 ? grid[i][j + 1] : null);
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    void testOverlappingRunIsRejected() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(runner.submit("first", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(runner.isRunning());
+        assertFalse(runner.submit("second", () -> fail("Must not run")));
+        assertEquals("first", runner.getName());
+
+        release.countDown();
+        assertTrue(runner.await(2000));
+        assertFalse(runner.isRunning());
+        assertFalse(runner.isCancelled());
+        assertTrue(runner.submit("third", () -> { }));
+        assertTrue(runner.await(2000));
+    }
+
+    @Test
+    void testCancelStopsSearch() throws InterruptedException {
+        Node[][] grid = openGrid(10, 10);
+        Node start = grid[0][0];
+        Node end = grid[9][9];
+        start.setColor(Color.GREEN);
+        end.setColor(Color.RED);
+        CountDownLatch started = new CountDownLatch(1);
+
+        assertTrue(runner.submit("BFS", () -> {
+            started.countDown();
+            new BfsAlgorithm().search(start, end, 10, 10, 1000);
+        }));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        assertTrue(runner.cancel());
+        assertTrue(runner.await(2000));
+        assertTrue(runner.isCancelled());
+        assertTrue(runner.getElapsedMillis() < 2000);
+        assertEquals(Color.RED, end.getColor());
+        assertFalse(runner.cancel());
+    }
+}
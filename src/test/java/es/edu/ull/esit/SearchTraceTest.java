@@ -0,0 +1,144 @@
+package es.edu.ull.esit;
+
+import es.edu.ull.esit.algorithm.BfsAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTraceTest {
+
+    private static final int WIDTH = 8;
+    private static final int HEIGHT = 6;
+
+    private Node[][] grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Node[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j] = new Node(15 + i * 35, 15 + j * 35);
+            }
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j].setDirections(i > 0 ? grid[i - 1][j] : null, i < WIDTH - 1 ? grid[i + 1][j] : null,
+                        j > 0 ? grid[i][j - 1] : null, j < HEIGHT - 1 ? grid[i][j + 1] : null);
+            }
+        }
+        for (int j = 0; j < HEIGHT - 1; j++) {
+            grid[3][j].setAsWall();
+        }
+        grid[0][0].setColor(Color.GREEN);
+        grid[WIDTH - 1][HEIGHT - 1].setColor(Color.RED);
+    }
+
+    private SearchTrace recordBfs() {
+        SearchTrace trace = new SearchTrace(MazeGrid.fromNodes(grid));
+        Node.Listener recorder = trace.recorder(null);
+        for (Node[] column : grid) {
+            for (Node node : column) {
+                node.setListener(recorder);
+            }
+        }
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setStrategy(new BfsAlgorithm());
+        algorithm.performSearch(grid[0][0], grid[WIDTH - 1][HEIGHT - 1], WIDTH, HEIGHT);
+        return trace;
+    }
+
+    private Color[][] colors() {
+        Color[][] colors = new Color[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                colors[i][j] = grid[i][j].getColor();
+            }
+        }
+        return colors;
+    }
+
+    private void resetGrid(MazeGrid maze) {
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j].setListener(null);
+                grid[i][j].setColor(MazeGrid.colorOf(maze.get(i, j)));
+            }
+        }
+    }
+
+    @Test
+    void testRecorderCapturesSearchColoursOnly() {
+        SearchTrace trace = recordBfs();
+
+        assertTrue(trace.size() > 0);
+        boolean sawPath = false;
+        for (int i = 0; i < trace.size(); i++) {
+            int cell = trace.getCell(i);
+            assertNotEquals(MazeGrid.WALL, trace.getMaze().getCells()[cell]);
+            sawPath |= trace.getType(i) == SearchTrace.PATH;
+        }
+        assertTrue(sawPath);
+        assertEquals(MazeGrid.START, trace.getMaze().get(0, 0));
+    }
+
+    @Test
+    void testAddRejectsInvalidEvents() {
+        SearchTrace trace = new SearchTrace(new MazeGrid(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> trace.add(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> trace.add(SearchTrace.OPENED, 4));
+        for (int i = 0; i < 1000; i++) {
+            trace.add(i % 4, i % 4);
+        }
+        assertEquals(1000, trace.size());
+        assertEquals(3, trace.getType(999));
+    }
+
+    @Test
+    void testSeekForwardAndBackRestoresColours() {
+        SearchTrace trace = recordBfs();
+        Color[][] searched = colors();
+        resetGrid(trace.getMaze());
+        Color[][] initial = colors();
+
+        TracePlayer player = new TracePlayer(trace, grid);
+        player.seek(trace.size());
+        assertArrayEquals(searched, colors());
+        player.seek(trace.size() / 2);
+        player.seek(Integer.MAX_VALUE);
+        assertArrayEquals(searched, colors());
+        player.step(-trace.size() - 10);
+        assertEquals(0, player.getPosition());
+        assertArrayEquals(initial, colors());
+    }
+
+    @Test
+    void testAdvanceFollowsSpeedAndPause() {
+        SearchTrace trace = recordBfs();
+        resetGrid(trace.getMaze());
+        TracePlayer player = new TracePlayer(trace, grid);
+
+        player.setSpeed(10);
+        assertTrue(player.advance(500_000_000L));
+        assertEquals(5, player.getPosition());
+        assertFalse(player.advance(50_000_000L));
+        assertTrue(player.advance(50_000_000L));
+        assertEquals(6, player.getPosition());
+
+        player.setPaused(true);
+        assertFalse(player.advance(1_000_000_000L));
+        player.setPaused(false);
+        player.setSpeed(-4);
+        player.advance(1_000_000_000L);
+        assertEquals(2, player.getPosition());
+    }
+
+    @Test
+    void testPlayerRejectsAnotherGridSize() {
+        SearchTrace trace = new SearchTrace(new MazeGrid(3, 3));
+        assertThrows(IllegalArgumentException.class, () -> new TracePlayer(trace, grid));
+    }
+}
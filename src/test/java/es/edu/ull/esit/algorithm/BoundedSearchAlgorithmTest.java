@@ -0,0 +1,134 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Algorithm;
+import es.edu.ull.esit.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded-suboptimal strategies (Weighted A* and Focal Search).
+ */
+class BoundedSearchAlgorithmTest {
+
+    private Node[][] grid;
+    private final int WIDTH = 20;
+    private final int HEIGHT = 20;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Node[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                Node up = null, down = null, left = null, right = null;
+                if (j > 0) up = grid[i][j - 1];
+                if (j < HEIGHT - 1) down = grid[i][j + 1];
+                if (i > 0) left = grid[i - 1][j];
+                if (i < WIDTH - 1) right = grid[i + 1][j];
+                grid[i][j].setDirections(left, right, up, down);
+            }
+        }
+        // A wall with a gap at the bottom forces a detour
+        for (int j = 0; j < HEIGHT - 3; j++) {
+            grid[10][j].setAsWall();
+        }
+        grid[0][0].setColor(Color.GREEN);
+        grid[WIDTH - 1][0].setColor(Color.RED);
+    }
+
+    private void reset() {
+        for (Node[] column : grid) {
+            for (Node n : column) {
+                if (n.isSearched()) {
+                    n.clearNode();
+                }
+                n.setgCost(Double.MAX_VALUE);
+            }
+        }
+        grid[0][0].setColor(Color.GREEN);
+        grid[WIDTH - 1][0].setColor(Color.RED);
+    }
+
+    private int count(Color color) {
+        int total = 0;
+        for (Node[] column : grid) {
+            for (Node n : column) {
+                if (n.getColor() == color) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    private int[] run(SearchAlgorithm strategy, double bound) {
+        reset();
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setSuboptimalityBound(bound);
+        algorithm.setStrategy(strategy);
+        algorithm.performSearch(grid[0][0], grid[WIDTH - 1][0], WIDTH, HEIGHT);
+        assertEquals(Color.MAGENTA, grid[WIDTH - 1][0].getColor(), "Target should be reached");
+        // Path cells (including the target) and expanded cells
+        return new int[] { count(Color.MAGENTA), count(Color.BLUE) + count(Color.MAGENTA) };
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 1.0, 1.5, 3.0 })
+    void testPathWithinBound(double bound) {
+        AstarAlgorithm astar = new AstarAlgorithm();
+        astar.setHeuristic(Heuristic.MANHATTAN);
+        int optimal = run(astar, 1.0)[0];
+
+        WeightedAstarAlgorithm weighted = new WeightedAstarAlgorithm();
+        weighted.setHeuristic(Heuristic.MANHATTAN);
+        assertTrue(run(weighted, bound)[0] <= bound * optimal);
+        assertEquals(bound, weighted.getSuboptimalityBound());
+
+        FocalSearchAlgorithm focal = new FocalSearchAlgorithm();
+        focal.setHeuristic(Heuristic.MANHATTAN);
+        assertTrue(run(focal, bound)[0] <= bound * optimal);
+        assertEquals(bound, focal.getSuboptimalityBound());
+    }
+
+    @Test
+    void testExpandsFewerNodesThanAstar() {
+        int astarExpanded = run(new AstarAlgorithm(), 1.0)[1];
+        assertTrue(run(new WeightedAstarAlgorithm(), 3.0)[1] < astarExpanded);
+        assertTrue(run(new FocalSearchAlgorithm(), 3.0)[1] < astarExpanded);
+    }
+
+    @Test
+    void testNoPath() {
+        for (int j = 0; j < HEIGHT; j++) {
+            grid[10][j].setAsWall();
+        }
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setStrategy(new FocalSearchAlgorithm());
+        algorithm.performSearch(grid[0][0], grid[WIDTH - 1][0], WIDTH, HEIGHT);
+        assertEquals(Color.RED, grid[WIDTH - 1][0].getColor());
+
+        algorithm.setStrategy(new WeightedAstarAlgorithm());
+        algorithm.performSearch(grid[0][0], grid[WIDTH - 1][0], WIDTH, HEIGHT);
+        assertEquals(Color.RED, grid[WIDTH - 1][0].getColor());
+    }
+
+    @Test
+    void testInvalidBound() {
+        Algorithm algorithm = new Algorithm();
+        assertThrows(IllegalArgumentException.class, () -> algorithm.setSuboptimalityBound(0.5));
+        assertThrows(IllegalArgumentException.class, () -> algorithm.setSuboptimalityBound(Double.NaN));
+        assertEquals(1.5, algorithm.getSuboptimalityBound());
+    }
+}
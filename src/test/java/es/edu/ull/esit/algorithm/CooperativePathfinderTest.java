@@ -0,0 +1,232 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooperativePathfinderTest {
+
+    private Node[][] grid;
+    private final int WIDTH = 10;
+    private final int HEIGHT = 10;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Node[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+    }
+
+    /**
+     * Checks that paths end on their goals and never share a cell or swap
+     * cells at any time step. Agents stay on their last cell after their path ends.
+     */
+    private void assertCollisionFree(List<List<Node>> paths, List<Node> goals) {
+        int length = 0;
+        for (List<Node> path : paths) {
+            length = Math.max(length, path.size());
+        }
+        for (int a = 0; a < paths.size(); a++) {
+            List<Node> path = paths.get(a);
+            assertFalse(path.isEmpty(), "Agent " + a + " should have a path");
+            assertSame(goals.get(a), path.get(path.size() - 1), "Agent " + a + " should reach its goal");
+            for (int t = 1; t < path.size(); t++) {
+                Node from = path.get(t - 1);
+                Node to = path.get(t);
+                assertTrue(Math.abs(from.getX() - to.getX()) + Math.abs(from.getY() - to.getY()) <= 1);
+                assertFalse(to.isWall());
+            }
+        }
+        List<Node> starts = new ArrayList<>();
+        for (List<Node> path : paths) {
+            starts.add(path.get(0));
+        }
+        assertNoConflicts(paths, starts);
+    }
+
+    /**
+     * Checks that no two agents share a cell or swap cells at any time step.
+     * An agent with an empty path stays on its start cell.
+     */
+    private void assertNoConflicts(List<List<Node>> paths, List<Node> starts) {
+        int length = 1;
+        for (List<Node> path : paths) {
+            length = Math.max(length, path.size());
+        }
+        for (int t = 0; t < length; t++) {
+            for (int a = 0; a < paths.size(); a++) {
+                for (int b = a + 1; b < paths.size(); b++) {
+                    Node nowA = at(paths.get(a), starts.get(a), t);
+                    Node nowB = at(paths.get(b), starts.get(b), t);
+                    assertNotSame(nowA, nowB, "Vertex conflict of agents " + a + " and " + b + " at t=" + t);
+                    if (t > 0) {
+                        boolean swap = nowA == at(paths.get(b), starts.get(b), t - 1)
+                                && nowB == at(paths.get(a), starts.get(a), t - 1);
+                        assertFalse(swap, "Swap conflict of agents " + a + " and " + b + " at t=" + t);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Node at(List<Node> path, Node start, int t) {
+        return path.isEmpty() ? start : path.get(Math.min(t, path.size() - 1));
+    }
+
+    @Test
+    void testAgentsPassInCorridorUsingPocket() {
+        // Only row 0 is open, plus a pocket at (6, 1) the second agent can reach in time
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 1; j < HEIGHT; j++) {
+                if (!(i == 6 && j == 1)) {
+                    grid[i][j].setAsWall();
+                }
+            }
+        }
+        List<Node> starts = Arrays.asList(grid[0][0], grid[9][0]);
+        List<Node> goals = Arrays.asList(grid[9][0], grid[0][0]);
+
+        CooperativePathfinder planner = new CooperativePathfinder(grid);
+        List<List<Node>> paths = planner.plan(starts, goals);
+        assertCollisionFree(paths, goals);
+
+        List<List<Node>> windowed = planner.planWindowed(starts, goals, 16, 200);
+        assertCollisionFree(windowed, goals);
+    }
+
+    @Test
+    void testManyAgentsInOpenGrid() {
+        List<Node> starts = new ArrayList<>();
+        List<Node> goals = new ArrayList<>();
+        // Top row crosses to the bottom row, left column crosses to the right column
+        for (int k = 0; k < WIDTH; k++) {
+            starts.add(grid[k][0]);
+            goals.add(grid[WIDTH - 1 - k][HEIGHT - 1]);
+        }
+        for (int k = 1; k < HEIGHT - 1; k++) {
+            starts.add(grid[0][k]);
+            goals.add(grid[WIDTH - 1][HEIGHT - 1 - k]);
+        }
+
+        CooperativePathfinder planner = new CooperativePathfinder(grid);
+        assertCollisionFree(planner.plan(starts, goals), goals);
+        assertCollisionFree(planner.planWindowed(starts, goals, 8, 500), goals);
+    }
+
+    @Test
+    void testUnreachableGoal() {
+        for (int j = 0; j < HEIGHT; j++) {
+            grid[5][j].setAsWall();
+        }
+        CooperativePathfinder planner = new CooperativePathfinder(grid);
+        List<List<Node>> paths = planner.plan(Arrays.asList(grid[0][0]), Arrays.asList(grid[9][9]));
+        assertTrue(paths.get(0).isEmpty());
+    }
+
+    @Test
+    void testBlockedAgentKeepsItsStartCell() {
+        // Corridor (0,0)-(1,0)-(2,0): agent 0 wants to cross, agent 1 stays in the middle
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                if (j > 0 || i > 2) {
+                    grid[i][j].setAsWall();
+                }
+            }
+        }
+        List<Node> starts = Arrays.asList(grid[0][0], grid[1][0]);
+        List<Node> goals = Arrays.asList(grid[2][0], grid[1][0]);
+
+        CooperativePathfinder planner = new CooperativePathfinder(grid);
+        List<List<Node>> paths = planner.plan(starts, goals);
+        assertNoConflicts(paths, starts);
+        assertTrue(paths.get(0).isEmpty());
+        assertSame(grid[1][0], paths.get(1).get(paths.get(1).size() - 1));
+
+        assertNoConflicts(planner.planWindowed(starts, goals, 4, 20), starts);
+    }
+
+    @Test
+    void testCrowdedMazeHasNoConflicts() {
+        Random random = new Random(3);
+        List<Node> free = new ArrayList<>();
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                if (random.nextInt(10) < 3) {
+                    grid[i][j].setAsWall();
+                } else {
+                    free.add(grid[i][j]);
+                }
+            }
+        }
+        Collections.shuffle(free, random);
+        // The first goals are the start cells of the last agents
+        List<Node> starts = free.subList(0, 15);
+        List<Node> goals = free.subList(10, 25);
+
+        CooperativePathfinder planner = new CooperativePathfinder(grid);
+        assertNoConflicts(planner.plan(starts, goals), starts);
+        assertNoConflicts(planner.planWindowed(starts, goals, 6, 100), starts);
+    }
+
+    @Test
+    void testGoalTakenForGoodFailsQuickly() {
+        int size = 300;
+        Node[][] large = new Node[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                large[i][j] = new Node(i, j);
+            }
+        }
+        // Agent 0 parks on the goal of agent 1, which then searches every cell once
+        List<Node> starts = Arrays.asList(large[size / 2][size / 2], large[0][0]);
+        List<Node> goals = Arrays.asList(large[size / 2][size / 2], large[size / 2][size / 2]);
+
+        CooperativePathfinder planner = new CooperativePathfinder(large);
+        List<List<Node>> paths = assertTimeout(Duration.ofSeconds(5), () -> planner.plan(starts, goals));
+        assertTrue(paths.get(1).isEmpty());
+        assertNoConflicts(paths, starts);
+    }
+
+    @Test
+    void testReservationTableRefusesTakenSlots() {
+        ReservationTable table = new ReservationTable(10);
+        assertTrue(table.reserve(4, 2, 0));
+        assertTrue(table.reserve(4, 2, 0));
+        assertFalse(table.reserve(4, 2, 1));
+        assertEquals(0, table.owner(4, 2));
+
+        table.park(7, 5, 2);
+        assertFalse(table.reserve(7, 9, 1));
+        assertTrue(table.reserve(7, 4, 1));
+        assertEquals(5, table.getLastTime());
+    }
+
+    @Test
+    void testReservationTable() {
+        ReservationTable table = new ReservationTable(100);
+        assertEquals(-1, table.owner(5, 3));
+        for (int t = 0; t < 200; t++) {
+            table.reserve(t % 100, t, t % 7);
+        }
+        assertEquals(3 % 7, table.owner(3, 3));
+        assertEquals(103 % 7, table.owner(3, 103));
+        assertFalse(table.canPark(3, 50));
+        assertTrue(table.canPark(3, 104));
+
+        table.park(42, 10, 9);
+        assertEquals(9, table.owner(42, 500));
+        assertFalse(table.canPark(42, 600));
+    }
+}
@@ -0,0 +1,107 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.io.MappedMazeFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalMemoryBfsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeMaze(String... lines) throws IOException {
+        Path file = tempDir.resolve("grid.maze");
+        Files.write(file, Arrays.asList(lines), StandardCharsets.US_ASCII);
+        return file;
+    }
+
+    @Test
+    void testShortestDistance() throws IOException {
+        Path file = writeMaze(
+                "00000",
+                "11110",
+                "00000",
+                "01111",
+                "00000");
+        try (MappedMazeFile grid = new MappedMazeFile(file)) {
+            assertEquals(5, grid.getWidth());
+            assertEquals(5, grid.getHeight());
+
+            ExternalMemoryBfs bfs = new ExternalMemoryBfs(grid, tempDir, 2);
+            ExternalMemoryBfs.Result result = bfs.search(0, 4 * 5 + 4);
+            assertEquals(16, result.getDistance());
+            assertEquals(17, bfs.countReachable(0));
+        }
+    }
+
+    @Test
+    void testUnreachableTarget() throws IOException {
+        Path file = writeMaze("010", "010", "010");
+        try (MappedMazeFile grid = new MappedMazeFile(file)) {
+            ExternalMemoryBfs bfs = new ExternalMemoryBfs(grid, tempDir, 16);
+            assertEquals(-1, bfs.search(0, 2).getDistance());
+            assertEquals(3, bfs.countReachable(0));
+            assertEquals(0, bfs.countReachable(1), "A wall reaches nothing");
+        }
+    }
+
+    @Test
+    void testMatchesInMemoryBfsOnSample() throws IOException {
+        Path file = tempDir.resolve("sample.maze");
+        Files.copy(getClass().getResourceAsStream("/sample/sample1.maze"), file);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+        int width = lines.size();
+        int height = lines.get(0).length();
+
+        // Reference distances from a plain in-memory BFS
+        int start = -1;
+        for (int i = 0; i < width * height && start < 0; i++) {
+            if (lines.get(i / height).charAt(i % height) != '1') {
+                start = i;
+            }
+        }
+        int[] dist = new int[width * height];
+        Arrays.fill(dist, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        dist[start] = 0;
+        queue.add(start);
+        int farthest = start;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            farthest = cell;
+            int x = cell / height;
+            int y = cell % height;
+            int[][] moves = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+            for (int[] m : moves) {
+                int nx = x + m[0];
+                int ny = y + m[1];
+                if (nx >= 0 && ny >= 0 && nx < width && ny < height
+                        && lines.get(nx).charAt(ny) != '1' && dist[nx * height + ny] < 0) {
+                    dist[nx * height + ny] = dist[cell] + 1;
+                    queue.add(nx * height + ny);
+                }
+            }
+        }
+        long reachable = Arrays.stream(dist).filter(d -> d >= 0).count();
+
+        try (MappedMazeFile grid = new MappedMazeFile(file)) {
+            // A one-cell buffer forces a run per neighbour and multi-pass merges
+            ExternalMemoryBfs bfs = new ExternalMemoryBfs(grid, tempDir, 1);
+            assertEquals(dist[farthest], bfs.search(start, farthest).getDistance());
+            assertEquals(reachable, bfs.countReachable(start));
+        }
+        try (java.util.stream.Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "Level and run files should be cleaned up");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearestGoalAlgorithmTest {
+
+    private Node[][] grid;
+    private final int WIDTH = 10;
+    private final int HEIGHT = 10;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Node[WIDTH][HEIGHT];
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                grid[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                Node up = null, down = null, left = null, right = null;
+                if (j > 0) up = grid[i][j - 1];
+                if (j < HEIGHT - 1) down = grid[i][j + 1];
+                if (i > 0) left = grid[i - 1][j];
+                if (i < WIDTH - 1) right = grid[i + 1][j];
+                grid[i][j].setDirections(left, right, up, down);
+            }
+        }
+        grid[0][0].setColor(Color.GREEN);
+        grid[9][9].setColor(Color.RED);
+        grid[3][0].setColor(Color.RED);
+        grid[0][5].setColor(Color.RED);
+    }
+
+    @Test
+    void testRankGoals() {
+        NearestGoalAlgorithm algorithm = new NearestGoalAlgorithm();
+        List<NearestGoalAlgorithm.GoalDistance> ranked =
+                algorithm.rankGoals(Collections.singletonList(grid[0][0]), WIDTH, HEIGHT, 0);
+
+        assertEquals(3, ranked.size());
+        assertSame(grid[3][0], ranked.get(0).getGoal());
+        assertEquals(3, ranked.get(0).getDistance());
+        assertSame(grid[0][5], ranked.get(1).getGoal());
+        assertEquals(5, ranked.get(1).getDistance());
+        assertSame(grid[9][9], ranked.get(2).getGoal());
+        assertEquals(18, ranked.get(2).getDistance());
+        assertEquals(Color.RED, grid[9][9].getColor(), "Ranking must not change colours");
+
+        assertEquals(1, algorithm.rankGoals(Collections.singletonList(grid[0][0]), WIDTH, HEIGHT, 1).size());
+    }
+
+    @Test
+    void testMultiSourceRanking() {
+        NearestGoalAlgorithm algorithm = new NearestGoalAlgorithm();
+        List<NearestGoalAlgorithm.GoalDistance> ranked =
+                algorithm.rankGoals(Arrays.asList(grid[0][0], grid[9][8]), WIDTH, HEIGHT, 0);
+
+        assertSame(grid[9][9], ranked.get(0).getGoal());
+        assertSame(grid[9][8], ranked.get(0).getSource());
+        assertEquals(1, ranked.get(0).getDistance());
+    }
+
+    @Test
+    void testSearchStopsAtNearestGoal() {
+        NearestGoalAlgorithm algorithm = new NearestGoalAlgorithm();
+        algorithm.search(grid[0][0], grid[9][9], WIDTH, HEIGHT, 0);
+
+        assertSame(grid[3][0], algorithm.getNearestGoal());
+        assertEquals(Color.MAGENTA, grid[3][0].getColor());
+        assertEquals(Color.RED, grid[9][9].getColor(), "Farther goals are not reached");
+    }
+
+    @Test
+    void testNoReachableGoal() {
+        grid[1][0].setAsWall();
+        grid[0][1].setAsWall();
+        NearestGoalAlgorithm algorithm = new NearestGoalAlgorithm();
+        algorithm.search(grid[0][0], grid[9][9], WIDTH, HEIGHT, 0);
+
+        assertNull(algorithm.getNearestGoal());
+        assertTrue(algorithm.rankGoals(Collections.singletonList(grid[0][0]), WIDTH, HEIGHT, 0).isEmpty());
+    }
+
+    static Stream<SearchAlgorithm> singleTargetStrategies() {
+        return Stream.of(new BfsAlgorithm(), new DfsAlgorithm(), new AstarAlgorithm(), new DijkstraAlgorithm(),
+                new GreedyBestFirstAlgorithm(), new WeightedAstarAlgorithm(), new FocalSearchAlgorithm());
+    }
+
+    @ParameterizedTest
+    @MethodSource("singleTargetStrategies")
+    void testPathLeadsToTheGoalReached(SearchAlgorithm strategy) {
+        for (Node[] column : grid) {
+            for (Node node : column) {
+                node.setgCost(Double.MAX_VALUE);
+            }
+        }
+        strategy.search(grid[0][0], grid[9][9], WIDTH, HEIGHT, 0);
+
+        Node reached = null;
+        for (Node goal : Arrays.asList(grid[9][9], grid[3][0], grid[0][5])) {
+            if (goal.getColor() == Color.MAGENTA) {
+                assertNull(reached, "Only one goal is reached");
+                reached = goal;
+            }
+        }
+        assertNotNull(reached);
+        // The magenta cells must link the goal reached back to the start
+        Set<Node> seen = new HashSet<>(Collections.singleton(reached));
+        ArrayDeque<Node> queue = new ArrayDeque<>(seen);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            int[][] moves = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+            for (int[] move : moves) {
+                int x = node.getX() + move[0];
+                int y = node.getY() + move[1];
+                if (x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT && grid[x][y].getColor() == Color.MAGENTA
+                        && seen.add(grid[x][y])) {
+                    queue.add(grid[x][y]);
+                }
+            }
+        }
+        assertTrue(seen.contains(grid[0][0]), "The path must end at the goal reached");
+    }
+}
@@ -0,0 +1,120 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Algorithm;
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.Node;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchHeatmapTest {
+
+    private static Node[][] openGrid(int width, int height) {
+        MazeGrid maze = new MazeGrid(width, height);
+        maze.set(0, 0, MazeGrid.START);
+        maze.set(width - 1, height - 1, MazeGrid.END);
+        return maze.toNodes();
+    }
+
+    private static SearchHeatmap search(SearchAlgorithm strategy, Node[][] nodes) {
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setRecordHeatmap(true);
+        algorithm.setStrategy(strategy);
+        algorithm.performSearch(nodes[0][0], nodes[nodes.length - 1][nodes[0].length - 1], nodes.length,
+                nodes[0].length);
+        return algorithm.getLastHeatmap();
+    }
+
+    @Test
+    void testBfsShowsDuplicateFrontierEntries() {
+        Node[][] nodes = openGrid(6, 6);
+        SearchHeatmap heatmap = search(new BfsAlgorithm(), nodes);
+
+        assertEquals(6, heatmap.getWidth());
+        assertEquals(6, heatmap.getHeight());
+        assertEquals(1, heatmap.getExpanded(0, 0));
+        assertEquals(0, heatmap.getTotalReexpanded());
+        // Inner cells are reached from two expanded neighbours, and both enqueue them
+        assertEquals(2, heatmap.getGenerated(1, 1));
+        assertTrue(heatmap.getTotalDuplicates() > 0);
+    }
+
+    @Test
+    void testCountsMatchTheSearchStats() {
+        Node[][] nodes = openGrid(7, 5);
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setRecordHeatmap(true);
+        algorithm.setStrategy(new AstarAlgorithm());
+        algorithm.performSearch(nodes[0][0], nodes[6][4], 7, 5);
+
+        SearchHeatmap heatmap = algorithm.getLastHeatmap();
+        long expanded = 0;
+        long generated = 0;
+        for (int cell = 0; cell < 7 * 5; cell++) {
+            expanded += heatmap.getCounts(SearchHeatmap.Count.EXPANDED)[cell];
+            generated += heatmap.getCounts(SearchHeatmap.Count.GENERATED)[cell];
+        }
+        assertEquals(algorithm.getStats().getExpanded(), expanded);
+        assertEquals(algorithm.getStats().getGenerated(), generated);
+    }
+
+    @Test
+    void testNothingIsRecordedWhenDisabled() {
+        Node[][] nodes = openGrid(4, 4);
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        BfsAlgorithm strategy = new BfsAlgorithm();
+        strategy.setHeatmap(new SearchHeatmap(4, 4));
+        algorithm.setStrategy(strategy);
+        assertFalse(algorithm.isRecordHeatmap());
+
+        algorithm.performSearch(nodes[0][0], nodes[3][3], 4, 4);
+
+        assertNull(algorithm.getLastHeatmap());
+        assertNull(strategy.getHeatmap());
+    }
+
+    @Test
+    void testHeatmapIsPublishedWhenTheSearchEnds() {
+        Node[][] nodes = openGrid(5, 5);
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setRecordHeatmap(true);
+        SearchHeatmap[] seen = new SearchHeatmap[1];
+        algorithm.setStrategy(new BfsAlgorithm() {
+            @Override
+            protected void expanded(Node node, int frontierSize) {
+                super.expanded(node, frontierSize);
+                seen[0] = algorithm.getLastHeatmap();
+            }
+        });
+
+        algorithm.performSearch(nodes[0][0], nodes[4][4], 5, 5);
+        assertNull(seen[0], "The heatmap of a running search is not visible yet");
+        SearchHeatmap first = algorithm.getLastHeatmap();
+        assertNotNull(first);
+
+        Node[][] fresh = openGrid(5, 5);
+        algorithm.performSearch(fresh[0][0], fresh[4][4], 5, 5);
+        assertSame(first, seen[0], "The previous heatmap stays visible during the next search");
+        assertNotSame(first, algorithm.getLastHeatmap());
+    }
+
+    @Test
+    void testClearAndReexpansions() {
+        SearchHeatmap heatmap = new SearchHeatmap(2, 3);
+        Node node = new Node(15 + 35, 15 + 2 * 35);
+        heatmap.expanded(node);
+        heatmap.expanded(node);
+        heatmap.expanded(node);
+        assertEquals(2, heatmap.getReexpanded(1, 2));
+        assertEquals(2, heatmap.getTotalReexpanded());
+        assertEquals(3, heatmap.getCounts(SearchHeatmap.Count.EXPANDED)[1 * 3 + 2]);
+
+        heatmap.clear();
+        assertEquals(0, heatmap.getExpanded(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new SearchHeatmap(-1, 2));
+    }
+}
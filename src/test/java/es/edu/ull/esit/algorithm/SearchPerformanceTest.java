@@ -0,0 +1,191 @@
+package es.edu.ull.esit.algorithm;
+
+import es.edu.ull.esit.Algorithm;
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.Node;
+import es.edu.ull.esit.SearchRace;
+import es.edu.ull.esit.generator.BacktrackerMazeGenerator;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance regression gates: every strategy searches the same seeded
+ * mazes, and the work it does must stay within its baseline.
+ * <p>
+ * The baselines are the nodes expanded and generated when the gates were
+ * set, and a search may do up to {@link #SLACK_PERCENT} more before it
+ * fails. A change that makes a strategy cheaper passes; lower its baseline
+ * so the gain is kept. The counts do not depend on the machine, so only the
+ * wall-time budget is coarse.
+ */
+class SearchPerformanceTest {
+
+    // Extra work allowed over the baselines
+    private static final int SLACK_PERCENT = 25;
+    // Time allowed for all the strategies on the large maze, headless
+    private static final Duration LARGE_MAZE_BUDGET = Duration.ofSeconds(10);
+
+    private static final String BFS = "Breadth-First Search";
+    private static final String DFS = "Depth-First Search";
+    private static final String ASTAR = "A-star Search";
+    private static final String DIJKSTRA = "Dijkstra's Algorithm";
+    private static final String GREEDY = "Greedy Best-First Search";
+    private static final String BIDIRECTIONAL = "Bidirectional Search";
+    private static final String WEIGHTED_ASTAR = "Weighted A-star Search";
+    private static final String FOCAL = "Focal Search (A-star epsilon)";
+    private static final String NEAREST_GOAL = "Nearest Goal Search";
+
+    /** Empty 40x40 grid, from corner to corner. */
+    private static MazeGrid openMaze() {
+        return withEnds(new MazeGrid(40, 40), 0, 40 * 40 - 1);
+    }
+
+    /** Square grid with a quarter of the cells walled at random, from corner to corner. */
+    private static MazeGrid randomWallsMaze(int size) {
+        MazeGrid maze = new MazeGrid(size, size);
+        SplittableRandom random = new SplittableRandom(7);
+        byte[] cells = maze.getCells();
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = random.nextDouble() < 0.25 ? MazeGrid.WALL : MazeGrid.PATH;
+        }
+        return withEnds(maze, 0, cells.length - 1);
+    }
+
+    /** 41x41 perfect maze, from its first open cell to its last. */
+    private static MazeGrid perfectMaze() {
+        MazeGrid maze = new MazeGrid(41, 41);
+        new BacktrackerMazeGenerator().generate(maze, 42);
+        byte[] cells = maze.getCells();
+        int first = 0;
+        while (cells[first] == MazeGrid.WALL) {
+            first++;
+        }
+        int last = cells.length - 1;
+        while (cells[last] == MazeGrid.WALL) {
+            last--;
+        }
+        return withEnds(maze, first, last);
+    }
+
+    private static MazeGrid withEnds(MazeGrid maze, int start, int end) {
+        maze.getCells()[start] = MazeGrid.START;
+        maze.getCells()[end] = MazeGrid.END;
+        return maze;
+    }
+
+    private static Algorithm search(MazeGrid maze, SearchAlgorithm strategy) {
+        Node[][] nodes = maze.toNodes();
+        byte[] cells = maze.getCells();
+        int height = maze.getHeight();
+        Node start = null;
+        Node end = null;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == MazeGrid.START) {
+                start = nodes[cell / height][cell % height];
+            } else if (cells[cell] == MazeGrid.END) {
+                end = nodes[cell / height][cell % height];
+            }
+        }
+        Algorithm algorithm = new Algorithm();
+        algorithm.setSearchTime(0);
+        algorithm.setStrategy(strategy);
+        algorithm.performSearch(start, end, maze.getWidth(), height);
+        return algorithm;
+    }
+
+    static Stream<Arguments> baselines() {
+        return Stream.of(
+                // Maze, strategy, expanded, generated
+                Arguments.of("open", BFS, 1599, 3120),
+                Arguments.of("open", DFS, 78, 155),
+                Arguments.of("open", ASTAR, 1599, 1599),
+                Arguments.of("open", DIJKSTRA, 1599, 1599),
+                Arguments.of("open", GREEDY, 1599, 1599),
+                Arguments.of("open", BIDIRECTIONAL, 1484, 1561),
+                Arguments.of("open", WEIGHTED_ASTAR, 80, 159),
+                Arguments.of("open", FOCAL, 78, 155),
+                Arguments.of("open", NEAREST_GOAL, 1599, 1599),
+                Arguments.of("walls", BFS, 3001, 4457),
+                Arguments.of("walls", DFS, 918, 1456),
+                Arguments.of("walls", ASTAR, 2652, 2702),
+                Arguments.of("walls", DIJKSTRA, 3001, 3001),
+                Arguments.of("walls", GREEDY, 3001, 3001),
+                Arguments.of("walls", BIDIRECTIONAL, 2443, 2523),
+                Arguments.of("walls", WEIGHTED_ASTAR, 306, 498),
+                Arguments.of("walls", FOCAL, 1834, 2105),
+                Arguments.of("walls", NEAREST_GOAL, 3001, 3001),
+                Arguments.of("perfect", BFS, 526, 526),
+                Arguments.of("perfect", DFS, 440, 449),
+                Arguments.of("perfect", ASTAR, 495, 498),
+                Arguments.of("perfect", DIJKSTRA, 526, 526),
+                Arguments.of("perfect", GREEDY, 526, 526),
+                Arguments.of("perfect", BIDIRECTIONAL, 703, 707),
+                Arguments.of("perfect", WEIGHTED_ASTAR, 468, 471),
+                Arguments.of("perfect", FOCAL, 462, 465),
+                Arguments.of("perfect", NEAREST_GOAL, 526, 526));
+    }
+
+    private static MazeGrid maze(String name) {
+        switch (name) {
+            case "open":
+                return openMaze();
+            case "walls":
+                return randomWallsMaze(64);
+            default:
+                return perfectMaze();
+        }
+    }
+
+    @ParameterizedTest(name = "{1} on the {0} maze")
+    @MethodSource("baselines")
+    void testWorkStaysWithinBaseline(String mazeName, String strategy, long expanded, long generated) {
+        SearchStats stats = search(maze(mazeName), SearchRace.strategies().get(strategy).get()).getStats();
+
+        assertTrue(stats.getPathLength() > 0, strategy + " found no path");
+        long maxExpanded = expanded * (100 + SLACK_PERCENT) / 100;
+        long maxGenerated = generated * (100 + SLACK_PERCENT) / 100;
+        assertTrue(stats.getExpanded() <= maxExpanded,
+                strategy + " expanded " + stats.getExpanded() + " nodes, baseline " + expanded);
+        assertTrue(stats.getGenerated() <= maxGenerated,
+                strategy + " generated " + stats.getGenerated() + " nodes, baseline " + generated);
+    }
+
+    @Test
+    void testEveryStrategyHasBaselines() {
+        for (String strategy : SearchRace.strategies().keySet()) {
+            assertEquals(3, baselines().filter(arguments -> strategy.equals(arguments.get()[1])).count(),
+                    strategy + " has no baseline on some maze");
+        }
+    }
+
+    @Test
+    void testCountsAreDeterministic() {
+        MazeGrid maze = randomWallsMaze(64);
+        SearchStats first = search(maze, new AstarAlgorithm()).getStats();
+        SearchStats second = search(maze, new AstarAlgorithm()).getStats();
+
+        assertEquals(first.getExpanded(), second.getExpanded());
+        assertEquals(first.getGenerated(), second.getGenerated());
+        assertEquals(first.getPathLength(), second.getPathLength());
+    }
+
+    @Test
+    void testLargeMazeWithinTimeBudget() {
+        MazeGrid maze = randomWallsMaze(256);
+        assertTimeout(LARGE_MAZE_BUDGET, () -> {
+            for (Map.Entry<String, Supplier<SearchAlgorithm>> entry : SearchRace.strategies().entrySet()) {
+                SearchStats stats = search(maze, entry.getValue().get()).getStats();
+                assertTrue(stats.getExpanded() > 0, entry.getKey() + " did not search");
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktrackerMazeGeneratorTest {
+
+    @Test
+    void testGeneratesPerfectMazes() {
+        BacktrackerMazeGenerator generator = new BacktrackerMazeGenerator();
+        for (int size = 1; size < 12; size++) {
+            MazeGrid grid = new MazeGrid(size + 3, size);
+            generator.generate(grid, size);
+            EllerMazeGeneratorTest.assertPerfect(grid);
+        }
+        MazeGrid large = new MazeGrid(301, 199);
+        generator.generate(large, 99);
+        EllerMazeGeneratorTest.assertPerfect(large);
+    }
+
+    @Test
+    void testSeedIsReproducible() {
+        BacktrackerMazeGenerator generator = new BacktrackerMazeGenerator();
+        MazeGrid a = new MazeGrid(28, 19);
+        MazeGrid b = new MazeGrid(28, 19);
+        MazeGrid c = new MazeGrid(28, 19);
+        generator.generate(a, 5);
+        generator.generate(b, 5);
+        generator.generate(c, 6);
+        assertArrayEquals(a.getCells(), b.getCells());
+        assertFalse(Arrays.equals(a.getCells(), c.getCells()));
+    }
+}
@@ -0,0 +1,102 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.MazeIndex;
+import es.edu.ull.esit.io.MazeTextFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EllerMazeGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Checks that the open cells form a single tree: connected, with one
+     * edge fewer than cells.
+     */
+    static void assertPerfect(MazeGrid grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        long open = 0;
+        long edges = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (grid.get(x, y) == MazeGrid.WALL) {
+                    continue;
+                }
+                open++;
+                if (x + 1 < width && grid.get(x + 1, y) != MazeGrid.WALL) {
+                    edges++;
+                }
+                if (y + 1 < height && grid.get(x, y + 1) != MazeGrid.WALL) {
+                    edges++;
+                }
+            }
+        }
+        assertTrue(open > 0);
+        assertEquals(1, MazeIndex.compute(grid).getComponentCount(), "maze should be connected");
+        assertEquals(open - 1, edges, "maze should have no loops");
+    }
+
+    @Test
+    void testGeneratesPerfectMazeFile() throws IOException {
+        Path file = tempDir.resolve("eller.maze");
+        new EllerMazeGenerator(81, 60, 42).generate(file);
+
+        MazeGrid grid = MazeTextFormat.read(file);
+        assertEquals(81, grid.getWidth());
+        assertEquals(60, grid.getHeight());
+        assertEquals(MazeGrid.START, grid.get(1, 1));
+        assertEquals(MazeGrid.END, grid.get(79, 57));
+        assertPerfect(grid);
+    }
+
+    @Test
+    void testSeedIsReproducible() throws IOException {
+        Path a = tempDir.resolve("a.maze");
+        Path b = tempDir.resolve("b.maze");
+        Path c = tempDir.resolve("c.maze");
+        new EllerMazeGenerator(40, 41, 7).generate(a);
+        new EllerMazeGenerator(40, 41, 7).generate(b);
+        new EllerMazeGenerator(40, 41, 8).generate(c);
+        assertArrayEquals(Files.readAllBytes(a), Files.readAllBytes(b));
+        assertFalse(Arrays.equals(Files.readAllBytes(a), Files.readAllBytes(c)));
+    }
+
+    @Test
+    void testStreamsLinesWithoutHoldingTheMaze() throws IOException {
+        long[] lines = new long[1];
+        long[] open = new long[1];
+        new EllerMazeGenerator(200_001, 9, 3).generate(row -> {
+            lines[0]++;
+            for (byte cell : row) {
+                if (cell != MazeGrid.WALL) {
+                    open[0]++;
+                }
+            }
+        });
+        assertEquals(200_001, lines[0]);
+        // 100000 lines of 4 cells, joined by one passage less than cells
+        assertEquals(2 * 100_000 * 4 - 1, open[0]);
+    }
+
+    @Test
+    void testSmallAndOddSizes() throws IOException {
+        for (int width = 3; width < 9; width++) {
+            for (int height = 3; height < 9; height++) {
+                EllerMazeGenerator generator = new EllerMazeGenerator(width, height, width * 31 + height);
+                generator.setMarkEndpoints(false);
+                assertPerfect(generator.generateGrid());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new EllerMazeGenerator(2, 10, 0));
+    }
+}
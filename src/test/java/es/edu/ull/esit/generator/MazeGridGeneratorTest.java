@@ -0,0 +1,84 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeGridGeneratorTest {
+
+    static Stream<Arguments> generators() {
+        return Stream.of(
+                Arguments.of(new BacktrackerMazeGenerator()),
+                Arguments.of(new KruskalMazeGenerator()),
+                Arguments.of(new PrimMazeGenerator()),
+                Arguments.of(new WilsonMazeGenerator()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generators")
+    void testGeneratesPerfectMazes(MazeGridGenerator generator) {
+        for (int width = 3; width < 14; width += 3) {
+            for (int height = 3; height < 14; height += 2) {
+                MazeGrid grid = new MazeGrid(width, height);
+                generator.generate(grid, width * 100 + height);
+                EllerMazeGeneratorTest.assertPerfect(grid);
+            }
+        }
+        MazeGrid large = new MazeGrid(201, 150);
+        generator.generate(large, 1);
+        EllerMazeGeneratorTest.assertPerfect(large);
+    }
+
+    @ParameterizedTest
+    @MethodSource("generators")
+    void testSeedIsReproducible(MazeGridGenerator generator) {
+        MazeGrid a = new MazeGrid(41, 31);
+        MazeGrid b = new MazeGrid(41, 31);
+        MazeGrid c = new MazeGrid(41, 31);
+        generator.generate(a, 3);
+        generator.generate(b, 3);
+        generator.generate(c, 4);
+        assertArrayEquals(a.getCells(), b.getCells());
+        assertFalse(Arrays.equals(a.getCells(), c.getCells()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generators")
+    void testBranchingDiffersFromBacktracker(MazeGridGenerator generator) {
+        MazeGrid grid = new MazeGrid(101, 101);
+        generator.generate(grid, 9);
+        int deadEnds = deadEnds(grid);
+        // 2500 cells; backtracker mazes have about 10% dead ends, the others about 30%
+        if (generator instanceof BacktrackerMazeGenerator) {
+            assertTrue(deadEnds < 400, "dead ends: " + deadEnds);
+        } else {
+            assertTrue(deadEnds > 500, "dead ends: " + deadEnds);
+        }
+    }
+
+    private static int deadEnds(MazeGrid grid) {
+        int count = 0;
+        for (int x = 1; x < grid.getWidth() - 1; x++) {
+            for (int y = 1; y < grid.getHeight() - 1; y++) {
+                if (grid.get(x, y) == MazeGrid.WALL) {
+                    continue;
+                }
+                int open = 0;
+                open += grid.get(x - 1, y) != MazeGrid.WALL ? 1 : 0;
+                open += grid.get(x + 1, y) != MazeGrid.WALL ? 1 : 0;
+                open += grid.get(x, y - 1) != MazeGrid.WALL ? 1 : 0;
+                open += grid.get(x, y + 1) != MazeGrid.WALL ? 1 : 0;
+                if (open == 1) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
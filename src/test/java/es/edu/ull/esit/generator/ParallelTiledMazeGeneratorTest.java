@@ -0,0 +1,45 @@
+package es.edu.ull.esit.generator;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTiledMazeGeneratorTest {
+
+    @Test
+    void testTiledMazesArePerfect() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int tileSize : new int[] { 1, 2, 3, 7, 64 }) {
+                ParallelTiledMazeGenerator generator = new ParallelTiledMazeGenerator(pool, tileSize);
+                for (int size = 3; size < 40; size += 6) {
+                    MazeGrid grid = new MazeGrid(size + 2, size);
+                    generator.generate(grid, size * 17L + tileSize);
+                    EllerMazeGeneratorTest.assertPerfect(grid);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testResultDoesNotDependOnThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            MazeGrid a = new MazeGrid(401, 301);
+            MazeGrid b = new MazeGrid(401, 301);
+            new ParallelTiledMazeGenerator(single, 16).generate(a, 11);
+            new ParallelTiledMazeGenerator(several, 16).generate(b, 11);
+            assertArrayEquals(a.getCells(), b.getCells());
+            EllerMazeGeneratorTest.assertPerfect(a);
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeBinaryFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MazeGrid randomGrid(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        Random random = new Random(seed);
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                grid.set(i, j, random.nextInt(3) == 0 ? MazeGrid.WALL : MazeGrid.PATH);
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    void testOneBitRoundTrip() throws IOException {
+        MazeGrid grid = randomGrid(37, 23, 1);
+        grid.set(0, 0, MazeGrid.START);
+        grid.set(36, 22, MazeGrid.END);
+        Path file = tempDir.resolve("grid.mzb");
+
+        MazeBinaryFormat.write(grid, file);
+
+        assertEquals(MazeBinaryFormat.HEADER_SIZE + (37 * 23 + 7) / 8, Files.size(file));
+        assertTrue(MazeBinaryFormat.isBinary(file));
+        MazeGrid read = MazeFiles.read(file);
+        assertEquals(37, read.getWidth());
+        assertEquals(23, read.getHeight());
+        assertArrayEquals(grid.getCells(), read.getCells());
+    }
+
+    @Test
+    void testTypedRoundTripWithSeveralTargets() throws IOException {
+        MazeGrid grid = randomGrid(10, 7, 2);
+        grid.set(1, 1, MazeGrid.START);
+        grid.set(2, 3, MazeGrid.END);
+        grid.set(9, 6, MazeGrid.END);
+        Path file = tempDir.resolve("typed.mzb");
+
+        MazeBinaryFormat.write(grid, file);
+
+        assertEquals(MazeBinaryFormat.HEADER_SIZE + (10 * 7 * 2 + 7) / 8, Files.size(file));
+        assertArrayEquals(grid.getCells(), MazeBinaryFormat.read(file).getCells());
+    }
+
+    @Test
+    void testRejectsBadFiles() throws IOException {
+        Path text = tempDir.resolve("text.maze");
+        Files.write(text, "0101\n".getBytes(StandardCharsets.US_ASCII));
+        assertFalse(MazeBinaryFormat.isBinary(text));
+        assertThrows(IOException.class, () -> MazeBinaryFormat.read(text));
+
+        Path truncated = tempDir.resolve("truncated.mzb");
+        MazeBinaryFormat.write(randomGrid(20, 20, 3), truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> MazeBinaryFormat.read(truncated));
+
+        Path version = tempDir.resolve("version.mzb");
+        bytes[4] = 9;
+        Files.write(version, bytes);
+        assertThrows(IOException.class, () -> MazeBinaryFormat.read(version));
+
+        // A bare header claiming a huge maze fails before the maze is allocated
+        Path huge = tempDir.resolve("huge.mzb");
+        byte[] header = Arrays.copyOf(Files.readAllBytes(truncated), MazeBinaryFormat.HEADER_SIZE);
+        header[4] = MazeBinaryFormat.VERSION;
+        ByteBuffer.wrap(header, 8, 8).putInt(46340).putInt(46340);
+        Files.write(huge, header);
+        IOException e = assertThrows(IOException.class, () -> MazeBinaryFormat.read(huge));
+        assertTrue(e.getMessage().contains("bytes of cells"), e.getMessage());
+    }
+}
@@ -0,0 +1,77 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeCompressedFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRepetitiveMazeCompressesWell() throws IOException {
+        int width = 400;
+        int height = 300;
+        MazeGrid grid = new MazeGrid(width, height);
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                grid.set(i, j, i % 2 == 0 || j % 2 == 0 ? MazeGrid.WALL : MazeGrid.PATH);
+            }
+        }
+        grid.set(1, 1, MazeGrid.START);
+        grid.set(width - 3, height - 3, MazeGrid.END);
+        Path file = tempDir.resolve("grid.mzz");
+
+        MazeCompressedFormat.Codec codec = MazeCompressedFormat.write(grid, file);
+
+        assertTrue(Files.size(file) < width * height / 80, "size " + Files.size(file) + " with " + codec);
+        MazeGrid read = MazeFiles.read(file);
+        assertEquals(width, read.getWidth());
+        assertEquals(height, read.getHeight());
+        assertArrayEquals(grid.getCells(), read.getCells());
+    }
+
+    @Test
+    void testEveryCodecRoundTrips() throws IOException {
+        MazeGrid grid = new MazeGrid(50, 40);
+        Random random = new Random(7);
+        for (int i = 0; i < grid.getCells().length; i++) {
+            grid.getCells()[i] = (byte) random.nextInt(4);
+        }
+        assertEquals(MazeCompressedFormat.Codec.DEFLATE, MazeCompressedFormat.write(grid, tempDir.resolve("noise.mzz")));
+        assertArrayEquals(grid.getCells(), MazeCompressedFormat.read(tempDir.resolve("noise.mzz")).getCells());
+
+        MazeGrid runs = new MazeGrid(3, 200);
+        Arrays.fill(runs.getCells(), 200, 400, MazeGrid.WALL);
+        assertEquals(MazeCompressedFormat.Codec.RLE, MazeCompressedFormat.write(runs, tempDir.resolve("runs.mzz")));
+        assertArrayEquals(runs.getCells(), MazeCompressedFormat.read(tempDir.resolve("runs.mzz")).getCells());
+    }
+
+    @Test
+    void testRejectsCorruptFiles() throws IOException {
+        MazeGrid grid = new MazeGrid(30, 30);
+        grid.set(3, 3, MazeGrid.WALL);
+        Path file = tempDir.resolve("grid.mzz");
+        MazeCompressedFormat.write(grid, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = tempDir.resolve("truncated.mzz");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 2));
+        assertThrows(IOException.class, () -> MazeCompressedFormat.read(truncated));
+
+        Path codec = tempDir.resolve("codec.mzz");
+        byte[] badCodec = bytes.clone();
+        badCodec[5] = 42;
+        Files.write(codec, badCodec);
+        assertThrows(IOException.class, () -> MazeCompressedFormat.read(codec));
+    }
+}
@@ -0,0 +1,69 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeImageFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPngRoundTrip() throws IOException {
+        MazeGrid grid = new MazeGrid(31, 17);
+        for (int i = 0; i < grid.getCells().length; i++) {
+            grid.getCells()[i] = i % 5 == 0 ? MazeGrid.WALL : MazeGrid.PATH;
+        }
+        grid.set(0, 1, MazeGrid.START);
+        grid.set(30, 16, MazeGrid.END);
+        Path file = tempDir.resolve("maze.png");
+
+        MazeImageFormat.write(grid, file);
+
+        BufferedImage image = ImageIO.read(file.toFile());
+        assertEquals(31, image.getWidth());
+        assertEquals(17, image.getHeight());
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(0, 1));
+        MazeGrid read = MazeFiles.read(file);
+        assertEquals(31, read.getWidth());
+        assertEquals(17, read.getHeight());
+        assertArrayEquals(grid.getCells(), read.getCells());
+    }
+
+    @Test
+    void testImportOfOtherImageTypes() {
+        for (int type : new int[] { BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_4BYTE_ABGR,
+                BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_GRAY }) {
+            BufferedImage image = new BufferedImage(3, 2, type);
+            image.setRGB(0, 0, Color.WHITE.getRGB());
+            image.setRGB(1, 0, Color.BLACK.getRGB());
+            image.setRGB(2, 0, Color.DARK_GRAY.getRGB());
+            image.setRGB(0, 1, Color.LIGHT_GRAY.getRGB());
+            image.setRGB(1, 1, Color.WHITE.getRGB());
+            image.setRGB(2, 1, Color.BLACK.getRGB());
+
+            MazeGrid grid = MazeImageFormat.fromImage(image);
+
+            assertEquals(MazeGrid.PATH, grid.get(0, 0), "type " + type);
+            assertEquals(MazeGrid.WALL, grid.get(1, 0), "type " + type);
+            assertEquals(MazeGrid.WALL, grid.get(2, 0), "type " + type);
+            assertEquals(MazeGrid.PATH, grid.get(0, 1), "type " + type);
+            assertEquals(MazeGrid.WALL, grid.get(2, 1), "type " + type);
+        }
+        BufferedImage colours = new BufferedImage(2, 1, BufferedImage.TYPE_4BYTE_ABGR);
+        colours.setRGB(0, 0, Color.GREEN.getRGB());
+        colours.setRGB(1, 0, Color.RED.getRGB());
+        MazeGrid grid = MazeImageFormat.fromImage(colours);
+        assertEquals(MazeGrid.START, grid.get(0, 0));
+        assertEquals(MazeGrid.END, grid.get(1, 0));
+    }
+}
@@ -0,0 +1,161 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MazeTextFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("test.maze");
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    void testInfersDimensions() throws IOException {
+        MazeGrid grid = MazeTextFormat.read(write("2010\n0110\n0003\n"));
+        assertEquals(3, grid.getWidth());
+        assertEquals(4, grid.getHeight());
+        assertEquals(MazeGrid.START, grid.get(0, 0));
+        assertEquals(MazeGrid.WALL, grid.get(0, 2));
+        assertEquals(MazeGrid.WALL, grid.get(1, 1));
+        assertEquals(MazeGrid.END, grid.get(2, 3));
+        assertEquals(MazeGrid.PATH, grid.get(2, 0));
+    }
+
+    @Test
+    void testHeaderAndLineEndings() throws IOException {
+        MazeGrid header = MazeTextFormat.read(write("MAZE 2 3\n012\n300\n"));
+        assertEquals(2, header.getWidth());
+        assertEquals(3, header.getHeight());
+        assertEquals(MazeGrid.END, header.get(1, 0));
+
+        MazeGrid crlf = MazeTextFormat.read(write("012\r\n300"));
+        assertEquals(2, crlf.getWidth());
+        assertEquals(3, crlf.getHeight());
+        assertArrayEquals(header.getCells(), crlf.getCells());
+    }
+
+    @Test
+    void testLargeMazeSpansSeveralBuffers() throws IOException {
+        int width = 500;
+        int height = 301;
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                content.append((i + j) % 3 == 0 ? '1' : '0');
+            }
+            content.append('\n');
+        }
+        MazeGrid grid = MazeTextFormat.read(write(content.toString()));
+        assertEquals(width, grid.getWidth());
+        assertEquals(height, grid.getHeight());
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                assertEquals((i + j) % 3 == 0 ? MazeGrid.WALL : MazeGrid.PATH, grid.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsMalformedFiles() throws IOException {
+        for (String content : Arrays.asList("", "010\n01\n", "010\n0x0\n", "MAZE 2 3\n010\n", "MAZE two 3\n010\n", "MAZE 0 0\n", "MAZE 0 3\n", "MAZE 2 -1\n")) {
+            Path file = write(content);
+            assertThrows(IOException.class, () -> MazeTextFormat.read(file), content);
+        }
+
+        // A header claiming a huge maze fails before the maze is allocated
+        Path huge = write("MAZE 46340 46340\n0\n");
+        IOException e = assertThrows(IOException.class, () -> MazeTextFormat.read(huge));
+        assertTrue(e.getMessage().contains("too short"), e.getMessage());
+    }
+
+    @Test
+    void testWriteRoundTrip() throws IOException {
+        MazeGrid grid = new MazeGrid(700, 120);
+        for (int i = 0; i < grid.getCells().length; i++) {
+            grid.getCells()[i] = (byte) (i * 7 % 4);
+        }
+        Path file = tempDir.resolve("written.maze");
+
+        MazeTextFormat.write(grid, file);
+
+        assertEquals(700L * 121, Files.size(file));
+        assertEquals("0321", new String(Files.readAllBytes(file), 0, 4, StandardCharsets.US_ASCII));
+        assertArrayEquals(grid.getCells(), MazeTextFormat.read(file).getCells());
+    }
+
+    @Test
+    void testRoundTripWithColumnsLongerThanBuffer() throws IOException {
+        // Each line of the file holds more cells than one 64 KB read
+        MazeGrid grid = new MazeGrid(3, 70000);
+        for (int i = 0; i < grid.getCells().length; i++) {
+            grid.getCells()[i] = (byte) (i * 5 % 4);
+        }
+        Path file = tempDir.resolve("tall.maze");
+
+        MazeTextFormat.write(grid, file);
+        MazeGrid read = MazeTextFormat.read(file);
+
+        assertEquals(3, read.getWidth());
+        assertEquals(70000, read.getHeight());
+        assertArrayEquals(grid.getCells(), read.getCells());
+
+        String crlf = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).replace("\n", "\r\n");
+        Files.write(file, crlf.getBytes(StandardCharsets.US_ASCII));
+        assertArrayEquals(grid.getCells(), MazeTextFormat.read(file).getCells());
+    }
+
+    @Test
+    void testFailedWriteKeepsPreviousFile() throws IOException {
+        Path file = write("0000\n");
+        try {
+            MazeFiles.writeAtomically(file, channel -> {
+                channel.write(ByteBuffer.wrap(new byte[] { '1' }));
+                throw new IOException("disk full");
+            });
+            fail("The write should have failed");
+        } catch (IOException e) {
+            assertEquals("disk full", e.getMessage());
+        }
+        assertEquals("0000\n", new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testWriteKeepsFilePermissions() throws IOException {
+        assumeTrue(tempDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        MazeGrid grid = MazeTextFormat.read(write("2003\n"));
+
+        // A new file gets the same permissions as any file created here
+        Path created = Files.createFile(tempDir.resolve("plain.maze"));
+        Path fresh = tempDir.resolve("fresh.maze");
+        MazeTextFormat.write(grid, fresh);
+        assertEquals(Files.getPosixFilePermissions(created), Files.getPosixFilePermissions(fresh));
+
+        Set<PosixFilePermission> shared = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(fresh, shared);
+        MazeTextFormat.write(grid, fresh);
+        assertEquals(shared, Files.getPosixFilePermissions(fresh));
+    }
+}
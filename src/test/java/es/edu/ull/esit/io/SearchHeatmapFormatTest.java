@@ -0,0 +1,96 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.Node;
+import es.edu.ull.esit.algorithm.SearchHeatmap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchHeatmapFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Node node(int x, int y) {
+        return new Node(15 + x * 35, 15 + y * 35);
+    }
+
+    private static SearchHeatmap heatmap() {
+        SearchHeatmap heatmap = new SearchHeatmap(4, 3);
+        heatmap.expanded(node(0, 0));
+        heatmap.generated(node(0, 0));
+        for (int i = 0; i < 9; i++) {
+            heatmap.expanded(node(2, 1));
+        }
+        heatmap.generated(node(3, 2));
+        return heatmap;
+    }
+
+    @Test
+    void testImageShowsCountsOverTheMaze() {
+        MazeGrid maze = new MazeGrid(4, 3);
+        maze.set(1, 1, MazeGrid.WALL);
+
+        BufferedImage image = SearchHeatmapFormat.toImage(heatmap(), SearchHeatmap.Count.EXPANDED, maze);
+
+        assertEquals(4, image.getWidth());
+        assertEquals(3, image.getHeight());
+        assertEquals(0xFFFF00, image.getRGB(0, 0) & 0xFFFFFF);
+        assertEquals(0x800000, image.getRGB(2, 1) & 0xFFFFFF);
+        assertEquals(0, image.getRGB(1, 1) & 0xFFFFFF);
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, image.getRGB(3, 2) & 0xFFFFFF);
+        assertThrows(IllegalArgumentException.class,
+                () -> SearchHeatmapFormat.toImage(heatmap(), SearchHeatmap.Count.EXPANDED, new MazeGrid(3, 3)));
+    }
+
+    @Test
+    void testWritePng() throws IOException {
+        Path file = tempDir.resolve("heat.png");
+        SearchHeatmapFormat.writePng(heatmap(), SearchHeatmap.Count.GENERATED, null, file);
+
+        BufferedImage image = ImageIO.read(file.toFile());
+        assertEquals(4, image.getWidth());
+        assertNotEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, image.getRGB(3, 2) & 0xFFFFFF);
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, image.getRGB(2, 1) & 0xFFFFFF);
+    }
+
+    @Test
+    void testWriteCsvListsCountedCells() throws IOException {
+        Path file = tempDir.resolve("heat.csv");
+        SearchHeatmapFormat.writeCsv(heatmap(), file);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+        assertEquals(4, lines.size());
+        assertEquals(SearchHeatmapFormat.CSV_HEADER, lines.get(0));
+        assertEquals("0,0,1,1,0", lines.get(1));
+        assertEquals("2,1,9,0,8", lines.get(2));
+        assertEquals("3,2,0,1,0", lines.get(3));
+    }
+
+    @Test
+    void testWriteLargeCsv() throws IOException {
+        SearchHeatmap heatmap = new SearchHeatmap(200, 100);
+        for (int x = 0; x < 200; x++) {
+            for (int y = 0; y < 100; y++) {
+                heatmap.generated(node(x, y));
+            }
+        }
+        Path file = tempDir.resolve("large.csv");
+        SearchHeatmapFormat.writeCsv(heatmap, file);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+        assertEquals(1 + 200 * 100, lines.size());
+        assertEquals("199,99,0,1,0", lines.get(lines.size() - 1));
+    }
+}
@@ -0,0 +1,96 @@
+package es.edu.ull.esit.io;
+
+import es.edu.ull.esit.MazeGrid;
+import es.edu.ull.esit.SearchTrace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTraceFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SearchTrace sampleTrace() {
+        MazeGrid maze = new MazeGrid(40, 30);
+        maze.set(0, 0, MazeGrid.START);
+        maze.set(39, 29, MazeGrid.END);
+        maze.set(5, 5, MazeGrid.WALL);
+        SearchTrace trace = new SearchTrace(maze);
+        // A frontier sweeping row by row, as breadth-first searches do
+        for (int cell = 0; cell < 40 * 30; cell++) {
+            trace.add(SearchTrace.OPENED, cell);
+            trace.add(SearchTrace.CLOSED, cell);
+        }
+        trace.add(SearchTrace.PATH, 40 * 30 - 1);
+        trace.add(SearchTrace.MEETING, 0);
+        return trace;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        SearchTrace trace = sampleTrace();
+        Path file = tempDir.resolve("search" + SearchTraceFormat.EXTENSION);
+
+        SearchTraceFormat.write(trace, file);
+        SearchTrace read = SearchTraceFormat.read(file);
+
+        assertEquals(40, read.getMaze().getWidth());
+        assertEquals(30, read.getMaze().getHeight());
+        assertArrayEquals(trace.getMaze().getCells(), read.getMaze().getCells());
+        assertEquals(trace.size(), read.size());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(trace.getCell(i), read.getCell(i));
+            assertEquals(trace.getType(i), read.getType(i));
+        }
+    }
+
+    @Test
+    void testEventsTakeAboutOneBytePerStep() throws IOException {
+        SearchTrace trace = sampleTrace();
+        Path file = tempDir.resolve("compact.mzt");
+
+        SearchTraceFormat.write(trace, file);
+
+        long events = Files.size(file) - SearchTraceFormat.HEADER_SIZE - (40 * 30 + 3) / 4;
+        assertTrue(events < trace.size() + 8, "events take " + events + " bytes");
+    }
+
+    @Test
+    void testRejectsInvalidFiles() throws IOException {
+        Path file = tempDir.resolve("bad.mzt");
+        SearchTraceFormat.write(sampleTrace(), file);
+        byte[] data = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(data, data.length - 1));
+        assertThrows(IOException.class, () -> SearchTraceFormat.read(file));
+
+        Files.write(file, Arrays.copyOf(data, data.length + 1));
+        assertThrows(IOException.class, () -> SearchTraceFormat.read(file));
+
+        byte[] badMagic = data.clone();
+        badMagic[0] = 'X';
+        Files.write(file, badMagic);
+        assertThrows(IOException.class, () -> SearchTraceFormat.read(file));
+
+        // The first event jumps outside the maze
+        byte[] badCell = data.clone();
+        badCell[SearchTraceFormat.HEADER_SIZE + (40 * 30 + 3) / 4] = 0x7C;
+        Files.write(file, badCell);
+        assertThrows(IOException.class, () -> SearchTraceFormat.read(file));
+
+        // A huge maze size in a small file fails before the maze is allocated
+        byte[] hugeMaze = data.clone();
+        ByteBuffer.wrap(hugeMaze, 8, 8).putInt(46340).putInt(46340);
+        Files.write(file, hugeMaze);
+        IOException e = assertThrows(IOException.class, () -> SearchTraceFormat.read(file));
+        assertTrue(e.getMessage().startsWith("Unexpected end"), e.getMessage());
+    }
+}
@@ -0,0 +1,180 @@
+package es.edu.ull.esit.render;
+
+import es.edu.ull.esit.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridRendererTest {
+
+    private Node[][] nodes;
+    private GridRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        nodes = new Node[4][3];
+        for (int i = 0; i < nodes.length; i++) {
+            for (int j = 0; j < nodes[i].length; j++) {
+                nodes[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        renderer = new GridRenderer(200, 150);
+        renderer.setMaxFps(0);
+        renderer.attach(nodes);
+    }
+
+    private static int rgbAt(BufferedImage image, Node node) {
+        return image.getRGB(15 + node.getX() * 35 + 17, 15 + node.getY() * 35 + 17) & 0xFFFFFF;
+    }
+
+    @Test
+    void testFirstFramePaintsEveryNode() {
+        assertNull(renderer.getFrame());
+        assertEquals(12, renderer.paint(nodes));
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, rgbAt(renderer.getFrame(), nodes[2][1]));
+        assertEquals(0xFFFFFF, renderer.getFrame().getRGB(5, 5) & 0xFFFFFF);
+    }
+
+    @Test
+    void testOnlyDirtyNodesAreRepainted() {
+        renderer.paint(nodes);
+        assertEquals(0, renderer.paint(nodes));
+
+        nodes[1][2].setAsWall();
+        nodes[3][0].setColor(Color.BLUE);
+        nodes[3][0].setColor(Color.ORANGE);
+        assertEquals(2, renderer.paint(nodes));
+        assertEquals(2, renderer.getLastPainted());
+        assertEquals(0, rgbAt(renderer.getFrame(), nodes[1][2]));
+        assertEquals(Color.ORANGE.getRGB() & 0xFFFFFF, rgbAt(renderer.getFrame(), nodes[3][0]));
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, rgbAt(renderer.getFrame(), nodes[0][0]));
+
+        renderer.invalidate();
+        assertEquals(12, renderer.paint(nodes));
+    }
+
+    @Test
+    void testAwaitFrameIdlesUntilSomethingChanges() throws InterruptedException {
+        assertTrue(renderer.awaitFrame(10));
+        renderer.paint(nodes);
+        assertFalse(renderer.awaitFrame(10));
+
+        nodes[0][1].setAsWall();
+        assertTrue(renderer.awaitFrame(10));
+        renderer.requestFrame();
+        assertTrue(renderer.awaitFrame(10));
+        assertFalse(renderer.awaitFrame(10));
+    }
+
+    @Test
+    void testFrameCapSpacesFrames() throws InterruptedException {
+        renderer.setMaxFps(20);
+        assertEquals(20, renderer.getMaxFps());
+        renderer.awaitFrame(0);
+        long begin = System.nanoTime();
+        nodes[0][0].setAsWall();
+        renderer.awaitFrame(0);
+        assertTrue(System.nanoTime() - begin >= 40_000_000L);
+
+        renderer.setMaxFps(0);
+        assertEquals(0, renderer.getMaxFps());
+    }
+
+    @Test
+    void testOnlyVisibleCellsAreComposed() {
+        renderer.scroll(-70, 0);
+        assertEquals(9, renderer.paint(nodes));
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, renderer.getFrame().getRGB(15 + 17, 15 + 17) & 0xFFFFFF);
+
+        // A change outside the view does not touch the frame
+        nodes[0][0].setAsWall();
+        assertEquals(0, renderer.paint(nodes));
+        nodes[3][0].setAsWall();
+        assertEquals(1, renderer.paint(nodes));
+        assertEquals(0, renderer.getFrame().getRGB(15 + 35 + 17, 15 + 17) & 0xFFFFFF);
+    }
+
+    @Test
+    void testCachedTilesFollowChanges() {
+        renderer.paint(nodes);
+        assertEquals(1, renderer.getCachedTiles());
+        nodes[1][1].setAsWall();
+        renderer.paint(nodes);
+
+        // Composing again reuses the cached tile, which already has the wall
+        renderer.scroll(0, 0);
+        renderer.paint(nodes);
+        assertEquals(1, renderer.getCachedTiles());
+        assertEquals(0, rgbAt(renderer.getFrame(), nodes[1][1]));
+
+        // New nodes drop the cache
+        renderer.attach(nodes);
+        renderer.paint(nodes);
+        assertEquals(1, renderer.getCachedTiles());
+    }
+
+    @Test
+    void testZoomedOutFrameUsesOnePixelPerCell() {
+        Node[][] large = new Node[300][200];
+        for (int i = 0; i < large.length; i++) {
+            for (int j = 0; j < large[i].length; j++) {
+                large[i][j] = new Node(i, j).setX(15 + i * 35).setY(15 + j * 35);
+            }
+        }
+        renderer.attach(large);
+        renderer.zoom(-9, 0, 0);
+        assertFalse(renderer.getViewport().isTiled());
+        assertEquals(1, renderer.getViewport().getScale());
+        Viewport view = renderer.getViewport();
+        renderer.paint(large);
+        assertEquals(0, renderer.getCachedTiles());
+
+        int x = view.cellX(100);
+        int y = view.cellY(100);
+        large[x][y].setAsWall();
+        assertEquals(1, renderer.paint(large));
+        assertEquals(0, renderer.getFrame().getRGB(view.screenX(x), view.screenY(y)) & 0xFFFFFF);
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF,
+                renderer.getFrame().getRGB(view.screenX(x + 1), view.screenY(y)) & 0xFFFFFF);
+    }
+
+    @Test
+    void testFrameOnlyChangesWhenPainted() {
+        renderer.paint(nodes);
+        nodes[0][0].setAsWall();
+        assertEquals(Color.LIGHT_GRAY.getRGB() & 0xFFFFFF, rgbAt(renderer.getFrame(), nodes[0][0]));
+        renderer.paint(nodes);
+        assertEquals(0, rgbAt(renderer.getFrame(), nodes[0][0]));
+    }
+
+    @Test
+    void testChangesFromAnotherThreadReachTheFrame() throws InterruptedException {
+        renderer.paint(nodes);
+        Thread search = new Thread(() -> {
+            for (int round = 0; round < 2000; round++) {
+                for (Node[] column : nodes) {
+                    for (Node node : column) {
+                        node.setColor(round % 2 == 0 ? Color.ORANGE : Color.BLUE);
+                    }
+                }
+            }
+            nodes[2][2].setAsWall();
+        });
+        search.start();
+        while (search.isAlive()) {
+            renderer.paint(nodes);
+        }
+        search.join();
+
+        renderer.paint(nodes);
+        for (Node[] column : nodes) {
+            for (Node node : column) {
+                assertEquals(node.getColor().getRGB() & 0xFFFFFF, rgbAt(renderer.getFrame(), node));
+            }
+        }
+    }
+}
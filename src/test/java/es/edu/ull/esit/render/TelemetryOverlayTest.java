@@ -0,0 +1,56 @@
+package es.edu.ull.esit.render;
+
+import es.edu.ull.esit.algorithm.SearchStats;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryOverlayTest {
+
+    @Test
+    void testRatesAreMeasuredOverWindows() {
+        TelemetryOverlay overlay = new TelemetryOverlay();
+        SearchStats stats = new SearchStats();
+        stats.begin();
+        long now = 1_000_000_000L;
+
+        overlay.frameRendered(stats, 2_000_000, now);
+        for (int frame = 1; frame <= 30; frame++) {
+            for (int i = 0; i < 10; i++) {
+                stats.expanded(5);
+            }
+            overlay.frameRendered(stats, 2_000_000, now + frame * TelemetryOverlay.SAMPLE_NANOS / 30);
+        }
+
+        // 300 expansions and 30 frames in half a second
+        assertEquals(600, overlay.getExpandedPerSecond(), 1e-6);
+        assertEquals(60, overlay.getFramesPerSecond(), 1e-6);
+        assertEquals(2_000_000, overlay.getFrameNanos());
+
+        // A new search starts a new window
+        stats.begin();
+        overlay.frameRendered(stats, 1_000_000, now + 2 * TelemetryOverlay.SAMPLE_NANOS);
+        assertEquals(600, overlay.getExpandedPerSecond(), 1e-6);
+        overlay.reset();
+        assertEquals(0, overlay.getExpandedPerSecond());
+        assertEquals(0, overlay.getFramesPerSecond());
+    }
+
+    @Test
+    void testDrawsInTheTopLeftCorner() {
+        BufferedImage image = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(java.awt.Color.WHITE);
+        g.fillRect(0, 0, 300, 200);
+        TelemetryOverlay overlay = new TelemetryOverlay();
+        overlay.frameRendered(new SearchStats(), 0, 1);
+        overlay.draw(g);
+        g.dispose();
+
+        assertNotEquals(0xFFFFFF, image.getRGB(6, 6) & 0xFFFFFF);
+        assertEquals(0xFFFFFF, image.getRGB(299, 199) & 0xFFFFFF);
+    }
+}
@@ -0,0 +1,62 @@
+package es.edu.ull.esit.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewportTest {
+
+    @Test
+    void testDefaultViewMatchesNodePositions() {
+        Viewport view = new Viewport();
+        assertEquals(35, view.getScale());
+        assertTrue(view.isTiled());
+        assertEquals(0, view.cellX(15));
+        assertEquals(1, view.cellX(50));
+        assertEquals(-1, view.cellX(14));
+        assertEquals(15 + 3 * 35, view.screenX(3));
+        assertEquals(15 + 2 * 35, view.screenY(2));
+    }
+
+    @Test
+    void testFitCentersTheWholeMaze() {
+        Viewport view = new Viewport();
+        view.fit(28, 19, 300, 200);
+        assertEquals(8, view.getScale());
+        assertEquals((300 - 28 * 8) / 2, view.getOriginX());
+        assertEquals((200 - 19 * 8) / 2, view.getOriginY());
+        assertEquals(27, view.cellX(view.screenX(27)));
+
+        view.fit(1000, 1000, 300, 200);
+        assertEquals(0.125, view.getScale());
+    }
+
+    @Test
+    void testZoomKeepsAnchorInPlace() {
+        Viewport view = new Viewport();
+        int cell = view.cellX(500);
+        assertTrue(view.zoom(-3, 500, 300));
+        assertEquals(12, view.getScale());
+        assertEquals(cell, view.cellX(500));
+
+        while (view.zoom(-1, 500, 300)) {
+            // Zoom out to the last level
+        }
+        assertFalse(view.isTiled());
+        assertEquals(Viewport.ZOOM_LEVELS[0], view.getScale());
+
+        view.reset();
+        assertEquals(Viewport.DEFAULT_CELL_SIZE, view.getScale());
+        assertEquals(Viewport.DEFAULT_ORIGIN, view.getOriginX());
+    }
+
+    @Test
+    void testScrollAndCopy() {
+        Viewport view = new Viewport();
+        Viewport copy = view.copy();
+        view.scroll(-70, 35);
+        assertEquals(2, view.cellX(15));
+        assertEquals(-1, view.cellY(15));
+        assertEquals(0, copy.cellX(15));
+    }
+}